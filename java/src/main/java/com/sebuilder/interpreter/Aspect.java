@@ -1,9 +1,12 @@
 package com.sebuilder.interpreter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -37,6 +40,10 @@ public record Aspect(Iterable<Interceptor> interceptors) implements Iterable<Int
                 .toList());
     }
 
+    public Dispatcher compile() {
+        return new Dispatcher(this);
+    }
+
     public boolean contains(final Interceptor target) {
         return this.getStream().anyMatch(interceptor -> interceptor.equals(target));
     }
@@ -107,6 +114,65 @@ public record Aspect(Iterable<Interceptor> interceptors) implements Iterable<Int
         }
     }
 
+    /**
+     * Resolves the advice of an Aspect for the steps of one TestCase.
+     * The interceptors whose pointcut can be judged from the step alone are sorted out once per step index,
+     * and only the remaining ones are asked with the TestRun and variables each time the advice is requested.
+     */
+    public static class Dispatcher {
+
+        private final Aspect aspect;
+        private final Map<Integer, StepDispatch> dispatches = new HashMap<>();
+
+        public Dispatcher(final Aspect aspect) {
+            this.aspect = aspect;
+        }
+
+        public Aspect aspect() {
+            return this.aspect;
+        }
+
+        public Advice advice(final TestRun testRun, final int stepIndex, final Step step, final InputData vars) {
+            StepDispatch dispatch = this.dispatches.get(stepIndex);
+            if (dispatch == null || dispatch.step() != step) {
+                dispatch = StepDispatch.of(this.aspect, step);
+                this.dispatches.put(stepIndex, dispatch);
+            }
+            return dispatch.advice(testRun, step, vars);
+        }
+
+        record StepDispatch(Step step, List<Interceptor> candidates, List<Boolean> dynamic, Advice fixed) {
+
+            static StepDispatch of(final Aspect aspect, final Step step) {
+                final List<Interceptor> candidates = new ArrayList<>();
+                final List<Boolean> dynamic = new ArrayList<>();
+                for (final Interceptor interceptor : aspect) {
+                    final Optional<Boolean> pointcut = interceptor.isPointcut(step);
+                    if (pointcut.orElse(true)) {
+                        candidates.add(interceptor);
+                        dynamic.add(pointcut.isEmpty());
+                    }
+                }
+                final Advice fixed = dynamic.contains(Boolean.TRUE) ? null : new Advice(List.copyOf(candidates));
+                return new StepDispatch(step, candidates, dynamic, fixed);
+            }
+
+            Advice advice(final TestRun testRun, final Step step, final InputData vars) {
+                if (this.fixed != null) {
+                    return this.fixed;
+                }
+                final List<Interceptor> result = new ArrayList<>();
+                for (int i = 0; i < this.candidates.size(); i++) {
+                    final Interceptor candidate = this.candidates.get(i);
+                    if (!this.dynamic.get(i) || candidate.isPointcut(testRun, step, vars)) {
+                        result.add(candidate);
+                    }
+                }
+                return new Advice(result);
+            }
+        }
+    }
+
     public static class Builder {
 
         private LinkedHashSet<Interceptor> interceptors;
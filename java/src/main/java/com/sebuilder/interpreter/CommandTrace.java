@@ -0,0 +1,186 @@
+package com.sebuilder.interpreter;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the WebDriver commands of a driver and attributes them to the step running when they are sent.
+ * Steps nest when an aspect runs its advice in the middle of a step, and the time of the nested steps
+ * counts as neither remote nor interpreter time of the outer one.
+ */
+public class CommandTrace implements CommandExecutor {
+
+    private static final Json JSON = new Json();
+    private final CommandExecutor delegate;
+    private final Deque<Window> windows = new ArrayDeque<>();
+
+    CommandTrace(final CommandExecutor delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Wraps the command executor of the driver, or returns the trace already wrapping it when the driver is reused.
+     */
+    public static Optional<CommandTrace> install(final RemoteWebDriver driver) {
+        if (driver.getCommandExecutor() instanceof CommandTrace trace) {
+            return Optional.of(trace);
+        }
+        try {
+            final CommandTrace result = new CommandTrace(driver.getCommandExecutor());
+            final Method setCommandExecutor = RemoteWebDriver.class.getDeclaredMethod("setCommandExecutor", CommandExecutor.class);
+            setCommandExecutor.setAccessible(true);
+            setCommandExecutor.invoke(driver, result);
+            return Optional.of(result);
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static Optional<CommandTrace> of(final RemoteWebDriver driver) {
+        if (driver != null && driver.getCommandExecutor() instanceof CommandTrace trace) {
+            return Optional.of(trace);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Response execute(final Command command) throws IOException {
+        final long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = this.delegate.execute(command);
+            return response;
+        } finally {
+            this.record(command, response, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * @return The depth of the window opened for the step, to end it with.
+     */
+    public synchronized int startStep(final int stepIndex, final String stepType) {
+        this.windows.push(new Window(stepIndex, stepType, System.nanoTime()));
+        return this.windows.size();
+    }
+
+    /**
+     * Ends the window opened at the depth, and drops the windows that nested steps left open above it.
+     * A window that is already closed isn't ended again, so that the window of the enclosing step stays open.
+     */
+    public synchronized Optional<StepTotal> endStep(final int depth) {
+        if (depth < 1 || this.windows.size() < depth) {
+            return Optional.empty();
+        }
+        while (this.windows.size() > depth) {
+            this.windows.pop();
+        }
+        final Window window = this.windows.pop();
+        final long elapsed = System.nanoTime() - window.start;
+        if (!this.windows.isEmpty()) {
+            this.windows.peek().nestedNanos += elapsed;
+        }
+        final long remoteNanos = window.commands.values().stream().mapToLong(Stats::nanos).sum();
+        return Optional.of(new StepTotal(window.stepIndex
+                , window.stepType
+                , Collections.unmodifiableMap(window.commands)
+                , remoteNanos
+                , Math.max(0, elapsed - remoteNanos - window.nestedNanos)));
+    }
+
+    private synchronized void record(final Command command, final Response response, final long nanos) {
+        if (this.windows.isEmpty()) {
+            return;
+        }
+        final long bytes = this.length(command.getParameters()) + (response == null ? 0 : this.length(response.getValue()));
+        this.windows.peek().commands.merge(command.getName(), new Stats(1, bytes, nanos), Stats::plus);
+    }
+
+    private long length(final Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof String s) {
+            return s.length();
+        }
+        try {
+            return JSON.toJson(value).length();
+        } catch (final RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static final class Window {
+        private final int stepIndex;
+        private final String stepType;
+        private final long start;
+        private final Map<String, Stats> commands = new LinkedHashMap<>();
+        private long nestedNanos;
+
+        private Window(final int stepIndex, final String stepType, final long start) {
+            this.stepIndex = stepIndex;
+            this.stepType = stepType;
+            this.start = start;
+        }
+    }
+
+    /**
+     * Commands sent under one name. The bytes are the JSON length of the parameters and the returned value.
+     */
+    public record Stats(int count, long bytes, long nanos) {
+        public Stats plus(final Stats other) {
+            return new Stats(this.count + other.count, this.bytes + other.bytes, this.nanos + other.nanos);
+        }
+    }
+
+    public record StepTotal(int stepIndex, String stepType, Map<String, Stats> commands, long remoteNanos,
+                            long interpreterNanos) {
+
+        /**
+         * @return The totals of both windows of a step, e.g. of the iterations of a retry reported as one test.
+         */
+        public StepTotal plus(final StepTotal other) {
+            final Map<String, Stats> merged = new LinkedHashMap<>(this.commands);
+            other.commands.forEach((name, stats) -> merged.merge(name, stats, Stats::plus));
+            return new StepTotal(this.stepIndex
+                    , this.stepType
+                    , Collections.unmodifiableMap(merged)
+                    , this.remoteNanos + other.remoteNanos
+                    , this.interpreterNanos + other.interpreterNanos);
+        }
+
+        public int count() {
+            return this.commands.values().stream().mapToInt(Stats::count).sum();
+        }
+
+        public long bytes() {
+            return this.commands.values().stream().mapToLong(Stats::bytes).sum();
+        }
+
+        @Override
+        public String toString() {
+            return "step %d %s commands:%d bytes:%d remote:%dms interpreter:%dms %s".formatted(this.stepIndex
+                    , this.stepType
+                    , this.count()
+                    , this.bytes()
+                    , this.remoteNanos / 1_000_000
+                    , this.interpreterNanos / 1_000_000
+                    , this.commands.entrySet()
+                            .stream()
+                            .map(it -> it.getKey() + "=" + it.getValue().count())
+                            .collect(Collectors.joining(",", "{", "}")));
+        }
+    }
+}
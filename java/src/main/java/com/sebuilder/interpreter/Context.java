@@ -3,6 +3,11 @@ package com.sebuilder.interpreter;
 import com.sebuilder.interpreter.browser.Edge;
 import com.sebuilder.interpreter.browser.InternetExplorer;
 import com.sebuilder.interpreter.pointcut.TypeFilter;
+import com.sebuilder.interpreter.screenshot.DiskRaster;
+import com.sebuilder.interpreter.screenshot.FullPageCapture;
+import com.sebuilder.interpreter.screenshot.ImageSink;
+import com.sebuilder.interpreter.screenshot.ImageStore;
+import com.sebuilder.interpreter.step.WaitStatistics;
 import com.sebuilder.interpreter.step.type.SaveScreenshot;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.manager.SeleniumManager;
@@ -20,6 +25,7 @@ import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -35,6 +41,7 @@ public enum Context {
     private String browserVersion;
     private final HashMap<String, String> driverConfig = new HashMap<>();
     private WebDriverFactory wdf;
+    private final WebDriverPool webDriverPool = new WebDriverPool();
     private Long implicitlyWaitTime;
     private Long pageLoadWaitTime;
     private DataSourceFactory dataSourceFactory;
@@ -46,6 +53,12 @@ public enum Context {
     private String downloadDirectory;
     private String screenShotOutputDirectory;
     private String expectScreenShotDirectory;
+    private FullPageCapture fullPageCapture = FullPageCapture.SCROLL;
+    private int screenshotStableMaxAttempts = 10;
+    private int screenshotStableMaxMs = 30000;
+    private final ImageSink imageSink = new ImageSink();
+    private final Map<File, ImageStore> imageStores = new ConcurrentHashMap<>();
+    private boolean screenshotStore;
     private String templateOutputDirectory;
     private String defaultScript = "sebuilder";
     private final Map<String, ScriptParser> scriptParsers = new HashMap<>();
@@ -65,6 +78,13 @@ public enum Context {
     private File localeConfDir;
     private int waitForMaxMs;
     private int waitForIntervalMs;
+    private boolean waitForAdaptive;
+    private WaitStatistics waitStatistics = new WaitStatistics();
+    private final Map<Locator.Type, Locator.Resolution> locatorResolution = new EnumMap<>(Locator.Type.class);
+    private int parallel = 1;
+    private boolean parallelChain;
+    private Shard shard = Shard.ALL;
+    private boolean traceCommands;
 
     Context() {
         try {
@@ -107,6 +127,34 @@ public enum Context {
         return getInstance().waitForIntervalMs;
     }
 
+    public static boolean isWaitForAdaptive() {
+        return getInstance().waitForAdaptive;
+    }
+
+    public static WaitStatistics getWaitStatistics() {
+        return getInstance().waitStatistics;
+    }
+
+    public static Locator.Resolution getLocatorResolution(final Locator.Type type) {
+        return getInstance().locatorResolution.getOrDefault(type, Locator.Resolution.FIND_ELEMENTS);
+    }
+
+    public static int getParallel() {
+        return getInstance().parallel;
+    }
+
+    public static boolean isParallelChain() {
+        return getInstance().parallelChain;
+    }
+
+    public static Shard getShard() {
+        return getInstance().shard;
+    }
+
+    public static boolean isTraceCommands() {
+        return getInstance().traceCommands;
+    }
+
     public static String getBrowser() {
         return getInstance().browser;
     }
@@ -138,6 +186,10 @@ public enum Context {
         return getInstance().wdf;
     }
 
+    public static WebDriverPool getWebDriverPool() {
+        return getInstance().webDriverPool;
+    }
+
     public static WebDriverFactory getWebDriverFactory(final String browser) {
         try {
             final String classname = browser.substring(0, 1).toUpperCase() + browser.substring(1);
@@ -232,6 +284,30 @@ public enum Context {
         return new File(getInstance().expectScreenShotDirectory);
     }
 
+    public static FullPageCapture getFullPageCapture() {
+        return getInstance().fullPageCapture;
+    }
+
+    public static int getScreenshotStableMaxAttempts() {
+        return getInstance().screenshotStableMaxAttempts;
+    }
+
+    public static int getScreenshotStableMaxMs() {
+        return getInstance().screenshotStableMaxMs;
+    }
+
+    public static ImageSink getImageSink() {
+        return getInstance().imageSink;
+    }
+
+    public static ImageStore getImageStore(final File root) {
+        return getInstance().imageStores.computeIfAbsent(root.getAbsoluteFile(), it -> new ImageStore(it, getImageSink()));
+    }
+
+    public static boolean isScreenshotStore() {
+        return getInstance().screenshotStore;
+    }
+
     public static String bindEnvironmentProperties(String variable) {
         for (final Map.Entry<Object, Object> v : getInstance().environmentProperties.entrySet()) {
             variable = variable.replace("${env." + v.getKey().toString() + "}", v.getValue().toString());
@@ -316,6 +392,52 @@ public enum Context {
         return this;
     }
 
+    public Context setWaitForAdaptive(final boolean waitForAdaptive) {
+        this.waitForAdaptive = waitForAdaptive;
+        return this;
+    }
+
+    public Context setWaitStatisticsFile(final String waitStatisticsFile) {
+        this.waitStatistics = new WaitStatistics(waitStatisticsFile == null ? null : new File(waitStatisticsFile));
+        return this;
+    }
+
+    /**
+     * @param locatorResolution Resolution names by locator type name. The empty key applies to every type.
+     */
+    public Context setLocatorResolution(final Map<String, String> locatorResolution) {
+        this.locatorResolution.clear();
+        if (locatorResolution.containsKey("")) {
+            final Locator.Resolution resolution = Locator.Resolution.fromName(locatorResolution.get(""));
+            Stream.of(Locator.Type.values()).forEach(type -> this.locatorResolution.put(type, resolution));
+        }
+        locatorResolution.entrySet()
+                .stream()
+                .filter(entry -> !entry.getKey().isEmpty())
+                .forEach(entry -> this.locatorResolution.put(Locator.Type.ofName(entry.getKey()), Locator.Resolution.fromName(entry.getValue())));
+        return this;
+    }
+
+    public Context setParallel(final int parallel) {
+        this.parallel = Math.max(1, parallel);
+        return this;
+    }
+
+    public Context setParallelChain(final boolean parallelChain) {
+        this.parallelChain = parallelChain;
+        return this;
+    }
+
+    public Context setShard(final Shard shard) {
+        this.shard = shard;
+        return this;
+    }
+
+    public Context setTraceCommands(final boolean traceCommands) {
+        this.traceCommands = traceCommands;
+        return this;
+    }
+
     public void setBrowser(final String browserName, final String browserVersion, final String driverPath, final String binaryPath) {
         this.wdf.setBinaryPath(binaryPath);
         this.setBrowser(browserName)
@@ -365,6 +487,11 @@ public enum Context {
         return this;
     }
 
+    public Context setDriverPoolMaxReuse(final int maxReuse) {
+        this.webDriverPool.setMaxReuse(maxReuse);
+        return this;
+    }
+
     public Context setDriverConfig(final Map<String, String> config) {
         this.driverConfig.clear();
         this.driverConfig.putAll(config);
@@ -437,6 +564,36 @@ public enum Context {
         return this;
     }
 
+    public Context setFullPageCapture(final FullPageCapture fullPageCapture) {
+        this.fullPageCapture = fullPageCapture;
+        return this;
+    }
+
+    public Context setScreenshotStableMaxAttempts(final int screenshotStableMaxAttempts) {
+        this.screenshotStableMaxAttempts = screenshotStableMaxAttempts;
+        return this;
+    }
+
+    public Context setScreenshotStableMaxMs(final int screenshotStableMaxMs) {
+        this.screenshotStableMaxMs = screenshotStableMaxMs;
+        return this;
+    }
+
+    public Context setScreenshotCompressionLevel(final int compressionLevel) {
+        this.imageSink.setCompressionLevel(compressionLevel);
+        return this;
+    }
+
+    public Context setScreenshotStore(final boolean screenshotStore) {
+        this.screenshotStore = screenshotStore;
+        return this;
+    }
+
+    public Context setScreenshotDiskRasterMinHeight(final int minHeight) {
+        DiskRaster.setMinHeight(minHeight);
+        return this;
+    }
+
     public Context setTemplateOutputDirectory(final String aTemplateOutputDirectory) {
         this.templateOutputDirectory = aTemplateOutputDirectory;
         return this;
@@ -20,10 +20,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * A method of acquiring data rows for data-driven playback. Implementing classes should be located
- * in com.sebuilder.interpreter.datasource .
+ * in com.sebuilder.interpreter.datasource , and implement getData; stream reads the whole list unless overridden.
  *
  * @author zarkonnen
  */
@@ -43,6 +44,14 @@ public interface DataSource {
 
     List<InputData> getData(Map<String, String> config, File relativeTo, InputData vars) throws IOException;
 
+    /**
+     * @return The rows read as the stream is consumed, the last one flagged by lastRow; close it to release the source.
+     * A row that can't be read is thrown as an UncheckedIOException.
+     */
+    default Stream<InputData> stream(final Map<String, String> config, final File relativeTo, final InputData vars) throws IOException {
+        return this.getData(config, relativeTo, vars).stream();
+    }
+
     default String name(final Map<String, String> dataSourceConfig, final InputData shareInput) {
         return this.name();
     }
@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 public record DataSourceLoader(DataSource dataSource, Map<String, String> dataSourceConfig, File relativePath,
                                InputData shareInput) {
@@ -32,6 +33,10 @@ public record DataSourceLoader(DataSource dataSource, Map<String, String> dataSo
         return this.dataSource.getData(this.dataSourceConfig, this.relativePath, this.shareInput);
     }
 
+    public Stream<InputData> streamData() throws IOException {
+        return this.dataSource.stream(this.dataSourceConfig, this.relativePath, this.shareInput);
+    }
+
     public String name() {
         return this.dataSource.name(this.dataSourceConfig, this.shareInput);
     }
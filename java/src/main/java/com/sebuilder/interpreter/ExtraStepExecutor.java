@@ -39,6 +39,14 @@ public record ExtraStepExecutor(Pointcut pointcut,
         return this.pointcut.isHandle(testRun, step, vars);
     }
 
+    @Override
+    public Optional<Boolean> isPointcut(final Step step) {
+        if (this.pointcut == Pointcut.NONE) {
+            return Optional.of(this.isPointcut(null, step, null));
+        }
+        return this.pointcut.isHandle(step);
+    }
+
     @Override
     public boolean invokeBefore(final TestRun testRun) {
         return this.invokeAdvise(testRun, this.beforeStep, "before");
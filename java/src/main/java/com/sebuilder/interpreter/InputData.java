@@ -1,33 +1,37 @@
 package com.sebuilder.interpreter;
 
 import org.apache.commons.jexl3.*;
-import org.openqa.selenium.Keys;
 
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-public record InputData(LinkedHashMap<String, String> row, boolean lastRow) {
+public record InputData(Map<String, String> row, boolean lastRow) {
 
     public static final String ROW_NUMBER = "_rowNumber";
-    private static final LinkedHashMap<String, String> EMPTY = new LinkedHashMap<>();
-    private static final String REGEX_EXPRESSION = ".*\\$\\{([^}]+)}.*";
+    private static final Pattern REGEX_EXPRESSION = Pattern.compile(".*\\$\\{([^}]+)}.*");
     private static final String STEP_INDEX = "_stepIndex";
+    private static final JexlEngine JEXL = new JexlBuilder().cache(512).create();
 
     private static String extractExpression(final String result) {
-        return result.replaceAll(REGEX_EXPRESSION, "$1");
+        return REGEX_EXPRESSION.matcher(result).replaceAll("$1");
     }
 
     public static boolean hasExpression(final String target) {
-        return target.matches(REGEX_EXPRESSION);
+        return REGEX_EXPRESSION.matcher(target).matches();
+    }
+
+    public InputData {
+        row = PersistentRow.of(row);
     }
 
     public InputData() {
-        this(EMPTY, true);
+        this(PersistentRow.EMPTY, true);
     }
 
-    public InputData(final LinkedHashMap<String, String> row) {
+    public InputData(final Map<String, String> row) {
         this(row, false);
     }
 
@@ -58,33 +62,23 @@ public record InputData(LinkedHashMap<String, String> row, boolean lastRow) {
     }
 
     public InputData clearRowNumber() {
-        final InputData result = this.copy();
-        result.row.remove(ROW_NUMBER);
-        return result;
+        return this.remove(ROW_NUMBER);
     }
 
     public InputData add(final InputData shareInput) {
-        final InputData result = this.copy();
-        result.row.putAll(shareInput.row);
-        return result;
+        return this.add(shareInput.row);
     }
 
     public InputData add(final Map<String, String> initialVars) {
-        final InputData result = this.copy();
-        result.row.putAll(initialVars);
-        return result;
+        return new InputData(this.persistentRow().withAll(initialVars), this.lastRow);
     }
 
     public InputData add(final String key, final String value) {
-        final InputData result = this.copy();
-        result.row.put(key, value);
-        return result;
+        return new InputData(this.persistentRow().with(key, value), this.lastRow);
     }
 
     public InputData remove(final String key) {
-        final InputData result = this.copy();
-        result.row.remove(key);
-        return result;
+        return new InputData(this.persistentRow().without(key), this.lastRow);
     }
 
     public InputData filter(final Predicate<Map.Entry<String, String>> predicate) {
@@ -115,9 +109,8 @@ public record InputData(LinkedHashMap<String, String> row, boolean lastRow) {
             return result;
         }
         try {
-            final JexlEngine jexl = new JexlBuilder().create();
-            final JexlExpression expression = jexl.createExpression(exp);
-            final JexlContext jc = new MapContext(new HashMap<>(this.row));
+            final JexlExpression expression = JEXL.createExpression(exp);
+            final JexlContext jc = new RowContext(this.row);
             return Optional.ofNullable(expression.evaluate(jc))
                     .map(it -> result.replace("${" + exp + "}", it.toString()))
                     .map(this::evaluateString)
@@ -128,14 +121,9 @@ public record InputData(LinkedHashMap<String, String> row, boolean lastRow) {
     }
 
     public String bind(final String s) {
-        // Sub special keys using the !{keyname} syntax.
-        String result = this.replaceKeys(s);
-        // This kind of variable substitution makes for short code, but it's inefficient.
-        result = this.replaceVars(result);
-        if (!Objects.equals(s, result)) {
-            return this.bind(result);
-        }
-        result = Context.bindEnvironmentProperties(result);
+        // Sub special keys using the !{keyname} syntax, variables and environment properties in one pass,
+        // and repeat while substituted values contain placeholders.
+        final String result = VariableTemplate.of(s).render(this);
         if (!Objects.equals(s, result)) {
             return this.bind(result);
         }
@@ -155,27 +143,50 @@ public record InputData(LinkedHashMap<String, String> row, boolean lastRow) {
     }
 
     public InputData copy() {
-        return new InputData(new LinkedHashMap<>(this.row), this.lastRow);
+        return new InputData(this.row, this.lastRow);
     }
 
-    private String replaceKeys(String s) {
-        for (final Keys k : Keys.values()) {
-            s = s.replace("!{" + k.name() + "}", k.toString());
-        }
-        return s;
+    private PersistentRow persistentRow() {
+        return (PersistentRow) this.row;
     }
 
-    private String replaceVars(String variable) {
-        for (final Map.Entry<String, String> v : this.row.entrySet()) {
-            variable = variable.replace("${" + v.getKey() + "}", v.getValue());
+    /**
+     * Exposes the row to JEXL without copying it. Assignments made by an expression are kept apart from the row.
+     */
+    private static final class RowContext implements JexlContext {
+        private final Map<String, String> row;
+        private Map<String, Object> assigned;
+
+        private RowContext(final Map<String, String> row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(final String name) {
+            if (this.assigned != null && this.assigned.containsKey(name)) {
+                return this.assigned.get(name);
+            }
+            return this.row.get(name);
+        }
+
+        @Override
+        public void set(final String name, final Object value) {
+            if (this.assigned == null) {
+                this.assigned = new HashMap<>();
+            }
+            this.assigned.put(name, value);
+        }
+
+        @Override
+        public boolean has(final String name) {
+            return (this.assigned != null && this.assigned.containsKey(name)) || this.row.containsKey(name);
         }
-        return variable;
     }
 
     public record Builder(LinkedHashMap<String, String> row, boolean lastRow) {
 
         public InputData build() {
-            return new InputData(new LinkedHashMap<>(this.row), this.lastRow);
+            return new InputData(this.row, this.lastRow);
         }
 
         public Builder add(final InputData shareInput) {
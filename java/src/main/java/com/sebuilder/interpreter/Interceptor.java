@@ -1,5 +1,6 @@
 package com.sebuilder.interpreter;
 
+import java.util.Optional;
 import java.util.stream.Stream;
 
 public interface Interceptor {
@@ -16,6 +17,13 @@ public interface Interceptor {
         return false;
     }
 
+    /**
+     * @see Pointcut#isHandle(Step)
+     */
+    default Optional<Boolean> isPointcut(final Step step) {
+        return Optional.empty();
+    }
+
     default boolean invokeBefore(final TestRun testRun) {
         return true;
     }
@@ -18,10 +18,16 @@ package com.sebuilder.interpreter;
 
 import com.google.common.base.Strings;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * A Selenium locator.
@@ -30,6 +36,30 @@ import java.util.List;
  */
 public record Locator(String type, String value) {
 
+    /**
+     * A JavaScript function that tells whether the element is displayed. It is the atom WebElement.isDisplayed
+     * runs on W3C drivers, or an approximation of it when the atom isn't on the classpath.
+     */
+    public static final String IS_DISPLAYED_SCRIPT = loadIsDisplayedScript();
+
+    private static String loadIsDisplayedScript() {
+        try (final InputStream atom = Locator.class.getResourceAsStream("/org/openqa/selenium/remote/isDisplayed.js")) {
+            if (atom != null) {
+                return new String(atom.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        } catch (final IOException e) {
+            // fall through
+        }
+        return """
+                function(element) {
+                    if (!(element.offsetWidth || element.offsetHeight || element.getClientRects().length)) {
+                        return false;
+                    }
+                    const style = window.getComputedStyle(element);
+                    return style.visibility !== 'hidden' && style.display !== 'none';
+                }""";
+    }
+
     static Locator of(final WebDriverWrapper driver, final WebElement element) {
         final String id = element.getDomAttribute("id");
         if (!Strings.isNullOrEmpty(id)) {
@@ -77,39 +107,83 @@ public record Locator(String type, String value) {
         return this.type + ":" + this.value;
     }
 
+    /**
+     * How Type.find chooses the first displayed element.
+     * FIND_ELEMENTS, the default, asks WebElement.isDisplayed of each candidate, one remote call per element.
+     * SCRIPT finds and checks the candidates in a single executeScript, and falls back to FIND_ELEMENTS
+     * when nothing is found, so that the implicit wait still applies. Its matching only approximates the driver's,
+     * so it is enabled with --locator.resolution.
+     */
+    public enum Resolution {
+        FIND_ELEMENTS,
+        SCRIPT;
+
+        public static Resolution fromName(final String name) {
+            return Resolution.valueOf(name.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT));
+        }
+    }
+
     public enum Type {
-        ID {
+        ID("Array.from(document.querySelectorAll('#' + CSS.escape(value)))") {
             @Override
             public List<WebElement> findElements(final String value, final WebDriver driver) {
                 return driver.findElements(By.id(value));
             }
         },
-        NAME {
+        NAME("Array.from(document.querySelectorAll('*[name=\"' + CSS.escape(value) + '\"]'))") {
             @Override
             public List<WebElement> findElements(final String value, final WebDriver driver) {
                 return driver.findElements(By.name(value));
             }
         },
-        LINK_TEXT {
+        LINK_TEXT("Array.from(document.querySelectorAll('a')).filter(a => a.innerText.trim() === value.trim())") {
             @Override
             public List<WebElement> findElements(final String value, final WebDriver driver) {
                 return driver.findElements(By.linkText(value));
             }
         },
-        CSS_SELECTOR {
+        CSS_SELECTOR("Array.from(document.querySelectorAll(value))") {
             @Override
             public List<WebElement> findElements(final String value, final WebDriver driver) {
                 return driver.findElements(By.cssSelector(value));
             }
         },
-        XPATH {
+        XPATH("""
+                (() => {
+                    const snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                    return Array.from({length: snapshot.snapshotLength}, (_, i) => snapshot.snapshotItem(i));
+                })()""") {
             @Override
             public List<WebElement> findElements(final String value, final WebDriver driver) {
                 return driver.findElements(By.xpath(value));
             }
         };
 
+        private final String script;
+        private volatile String findScript;
+
+        Type(final String script) {
+            this.script = script;
+        }
+
+        /**
+         * @return A JavaScript expression that evaluates to the array of elements matching the variable value.
+         * LINK_TEXT only approximates the matching of the driver.
+         */
+        public String script() {
+            return this.script;
+        }
+
         public WebElement find(final String value, final WebDriver driver) {
+            if (Context.getLocatorResolution(this) == Resolution.SCRIPT && driver instanceof JavascriptExecutor executor) {
+                try {
+                    if (executor.executeScript(this.findScript(), value) instanceof WebElement found) {
+                        return found;
+                    }
+                } catch (final WebDriverException e) {
+                    // e.g. an invalid selector, reported by findElements
+                }
+            }
             final List<WebElement> elements = this.findElements(value, driver);
             return elements.stream()
                     .filter(WebElement::isDisplayed)
@@ -119,6 +193,16 @@ public record Locator(String type, String value) {
 
         public abstract List<WebElement> findElements(String value, WebDriver driver);
 
+        private String findScript() {
+            if (this.findScript == null) {
+                this.findScript = "const value = arguments[0];\n"
+                        + "const isDisplayed = (" + IS_DISPLAYED_SCRIPT + ");\n"
+                        + "const elements = " + this.script + ";\n"
+                        + "return elements.find(element => isDisplayed(element)) || elements[0] || null;";
+            }
+            return this.findScript;
+        }
+
         @Override
         public String toString() {
             return this.name().toLowerCase().replace("_", " ");
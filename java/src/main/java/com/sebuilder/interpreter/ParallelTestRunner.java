@@ -0,0 +1,97 @@
+package com.sebuilder.interpreter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Runs the data rows of a TestCase on a bounded pool of workers.
+ * Each row is executed by the isolated runner with its own driver and a copy of the listener,
+ * so that only TestCases which don't share state with the previous run are fanned out.
+ * Anything else falls back to the serial runner.
+ */
+public class ParallelTestRunner implements TestRunner {
+
+    private final TestRunner serialRunner;
+    private final TestRunner isolatedRunner;
+    private final int parallel;
+
+    public ParallelTestRunner(final TestRunner serialRunner, final TestRunner isolatedRunner, final int parallel) {
+        this.serialRunner = serialRunner;
+        this.isolatedRunner = isolatedRunner;
+        this.parallel = parallel;
+    }
+
+    @Override
+    public STATUS execute(final TestRunBuilder testRunBuilder, final InputData data, final TestRunListener testRunListener) {
+        return this.serialRunner.execute(testRunBuilder, data, testRunListener);
+    }
+
+    @Override
+    public boolean executeAll(final TestCase testCase, final Stream<InputData> rows, final TestRunListener testRunListener) {
+        if (!this.isParallelizable(testCase)) {
+            return this.serialRunner.executeAll(testCase, rows, testRunListener);
+        }
+        final Iterator<InputData> iterator = rows.iterator();
+        if (!iterator.hasNext()) {
+            return true;
+        }
+        final InputData first = iterator.next();
+        if (!iterator.hasNext()) {
+            return this.serialRunner.executeAll(testCase, Stream.of(first), testRunListener);
+        }
+        try (final ExecutorService executor = Executors.newFixedThreadPool(this.parallel)) {
+            // rows are read at most two per worker ahead of the results, so that a large data source is not held at once
+            final Deque<Future<STATUS>> results = new ArrayDeque<>();
+            boolean success = true;
+            InputData data = first;
+            while (data != null) {
+                final TestRunListener workerListener = testRunListener.copy();
+                final InputData row = data;
+                results.add(executor.submit(() -> this.isolatedRunner.execute(new TestRunBuilder(testCase), row, workerListener)));
+                data = iterator.hasNext() ? iterator.next() : null;
+                while (!results.isEmpty() && (data == null || results.size() >= this.parallel * 2)) {
+                    final STATUS status = this.await(results.poll());
+                    if (status == STATUS.STOPPED) {
+                        results.forEach(it -> it.cancel(false));
+                        return false;
+                    }
+                    success = success && status == STATUS.SUCCESS;
+                }
+            }
+            return success;
+        }
+    }
+
+    public int getParallel() {
+        return this.parallel;
+    }
+
+    protected boolean isParallelizable(final TestCase testCase) {
+        return this.parallel > 1 && !testCase.shareState();
+    }
+
+    protected STATUS await(final Future<STATUS> result) {
+        try {
+            return result.get();
+        } catch (final CancellationException e) {
+            return STATUS.STOPPED;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return STATUS.STOPPED;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            } else if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.sebuilder.interpreter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable insertion-ordered map that shares its entries with the map it was derived from.
+ * Changes are kept in a small overlay on top of a frozen base, so replacing a variable such as _stepIndex
+ * copies only the overlay. The overlay is folded into a new base once it holds more than MAX_OVERLAY keys.
+ * Iteration order is the same as a LinkedHashMap that received the same puts and removes.
+ */
+final class PersistentRow extends AbstractMap<String, String> {
+
+    static final PersistentRow EMPTY = new PersistentRow(new LinkedHashMap<>(), new LinkedHashMap<>(), 0);
+    private static final int MAX_OVERLAY = 32;
+    private static final Object REMOVED = new Object();
+    private final Map<String, String> base;
+    private final Map<String, Object> overlay;
+    private final int size;
+    private Set<Map.Entry<String, String>> entrySet;
+
+    private PersistentRow(final Map<String, String> base, final Map<String, Object> overlay, final int size) {
+        this.base = base;
+        this.overlay = overlay;
+        this.size = size;
+    }
+
+    static PersistentRow of(final Map<String, String> row) {
+        if (row instanceof PersistentRow persistentRow) {
+            return persistentRow;
+        }
+        if (row.isEmpty()) {
+            return EMPTY;
+        }
+        final LinkedHashMap<String, String> base = new LinkedHashMap<>(row);
+        return new PersistentRow(base, new LinkedHashMap<>(), base.size());
+    }
+
+    PersistentRow with(final String key, final String value) {
+        final Object current = this.overlay.get(key);
+        if (current == REMOVED) {
+            // re-adding a key removed from the base moves it to the end, which the overlay can't express
+            final LinkedHashMap<String, String> flatten = this.flatten();
+            flatten.put(key, value);
+            return new PersistentRow(flatten, new LinkedHashMap<>(), flatten.size());
+        }
+        final boolean exists = this.overlay.containsKey(key) || this.base.containsKey(key);
+        return this.withOverlay(key, value, exists ? this.size : this.size + 1);
+    }
+
+    PersistentRow withAll(final Map<String, String> values) {
+        if (values.isEmpty()) {
+            return this;
+        } else if (this.overlay.size() + values.size() > MAX_OVERLAY) {
+            final LinkedHashMap<String, String> flatten = this.flatten();
+            flatten.putAll(values);
+            return new PersistentRow(flatten, new LinkedHashMap<>(), flatten.size());
+        }
+        PersistentRow result = this;
+        for (final Map.Entry<String, String> entry : values.entrySet()) {
+            result = result.with(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    PersistentRow without(final String key) {
+        if (!this.containsKey(key)) {
+            return this;
+        } else if (!this.base.containsKey(key)) {
+            final LinkedHashMap<String, Object> newOverlay = new LinkedHashMap<>(this.overlay);
+            newOverlay.remove(key);
+            return new PersistentRow(this.base, newOverlay, this.size - 1);
+        }
+        return this.withOverlay(key, REMOVED, this.size - 1);
+    }
+
+    @Override
+    public String get(final Object key) {
+        final Object value = this.overlay.get(key);
+        if (value != null || this.overlay.containsKey(key)) {
+            return value == REMOVED ? null : (String) value;
+        }
+        return this.base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        if (this.overlay.containsKey(key)) {
+            return this.overlay.get(key) != REMOVED;
+        }
+        return this.base.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        if (this.entrySet == null) {
+            this.entrySet = new EntrySet();
+        }
+        return this.entrySet;
+    }
+
+    private PersistentRow withOverlay(final String key, final Object value, final int newSize) {
+        final LinkedHashMap<String, Object> newOverlay = new LinkedHashMap<>(this.overlay);
+        newOverlay.put(key, value);
+        if (newOverlay.size() > MAX_OVERLAY) {
+            final LinkedHashMap<String, String> flatten = new PersistentRow(this.base, newOverlay, newSize).flatten();
+            return new PersistentRow(flatten, new LinkedHashMap<>(), flatten.size());
+        }
+        return new PersistentRow(this.base, newOverlay, newSize);
+    }
+
+    private LinkedHashMap<String, String> flatten() {
+        final LinkedHashMap<String, String> result = new LinkedHashMap<>(Math.max(16, this.size * 4 / 3 + 1));
+        for (final Map.Entry<String, String> entry : this.entrySet()) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return PersistentRow.this.size;
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+        private final Iterator<Map.Entry<String, String>> baseEntries = PersistentRow.this.base.entrySet().iterator();
+        private final Iterator<Map.Entry<String, Object>> overlayEntries = PersistentRow.this.overlay.entrySet().iterator();
+        private Map.Entry<String, String> next;
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null) {
+                this.next = this.advance();
+            }
+            return this.next != null;
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Map.Entry<String, String> result = this.next;
+            this.next = null;
+            return result;
+        }
+
+        private Map.Entry<String, String> advance() {
+            while (this.baseEntries.hasNext()) {
+                final Map.Entry<String, String> entry = this.baseEntries.next();
+                if (!PersistentRow.this.overlay.containsKey(entry.getKey())) {
+                    return new AbstractMap.SimpleImmutableEntry<>(entry);
+                }
+                final Object value = PersistentRow.this.overlay.get(entry.getKey());
+                if (value != REMOVED) {
+                    return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), (String) value);
+                }
+            }
+            while (this.overlayEntries.hasNext()) {
+                final Map.Entry<String, Object> entry = this.overlayEntries.next();
+                if (!PersistentRow.this.base.containsKey(entry.getKey())) {
+                    return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), (String) entry.getValue());
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.UnaryOperator;
 
@@ -32,6 +33,11 @@ public interface Pointcut {
             return false;
         }
 
+        @Override
+        public Optional<Boolean> isHandle(final Step step) {
+            return Optional.of(false);
+        }
+
         @Override
         public String toString() {
             return "NONE";
@@ -44,6 +50,11 @@ public interface Pointcut {
             return true;
         }
 
+        @Override
+        public Optional<Boolean> isHandle(final Step step) {
+            return Optional.of(true);
+        }
+
         @Override
         public String toString() {
             return "ANY";
@@ -52,6 +63,14 @@ public interface Pointcut {
 
     boolean isHandle(TestRun testRun, Step step, InputData var);
 
+    /**
+     * Judges the step from the step alone. Empty means the result depends on the TestRun or variables,
+     * so isHandle has to be asked every time the step is executed.
+     */
+    default Optional<Boolean> isHandle(final Step step) {
+        return Optional.empty();
+    }
+
     default Pointcut materialize(final InputData var) {
         return this;
     }
@@ -114,6 +133,18 @@ public interface Pointcut {
             return this.origin.isHandle(testRun, step, vars) || this.other.isHandle(testRun, step, vars);
         }
 
+        @Override
+        public Optional<Boolean> isHandle(final Step step) {
+            final Optional<Boolean> origin = this.origin.isHandle(step);
+            final Optional<Boolean> other = this.other.isHandle(step);
+            if (origin.orElse(false) || other.orElse(false)) {
+                return Optional.of(true);
+            } else if (origin.isPresent() && other.isPresent()) {
+                return Optional.of(false);
+            }
+            return Optional.empty();
+        }
+
         @Override
         public Pointcut materialize(final InputData var) {
             return new Or(this.origin.materialize(var), this.other.materialize(var));
@@ -157,6 +188,18 @@ public interface Pointcut {
             return this.origin.isHandle(testRun, step, vars) && this.other.isHandle(testRun, step, vars);
         }
 
+        @Override
+        public Optional<Boolean> isHandle(final Step step) {
+            final Optional<Boolean> origin = this.origin.isHandle(step);
+            final Optional<Boolean> other = this.other.isHandle(step);
+            if (!origin.orElse(true) || !other.orElse(true)) {
+                return Optional.of(false);
+            } else if (origin.isPresent() && other.isPresent()) {
+                return Optional.of(true);
+            }
+            return Optional.empty();
+        }
+
         @Override
         public Pointcut materialize(final InputData var) {
             return new And(this.origin.materialize(var), this.other.materialize(var));
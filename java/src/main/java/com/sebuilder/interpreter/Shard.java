@@ -0,0 +1,84 @@
+package com.sebuilder.interpreter;
+
+import com.google.common.base.Strings;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One of total deterministic partitions of a suite, numbered from 1.
+ * A unit of work is a pair of TestCase and data row. A TestCase that shares state is a single unit
+ * together with its chain, as its members run on one driver, and a TestCase that has a chain without sharing state
+ * leaves the decision to its members.
+ */
+public record Shard(int index, int total) {
+
+    public static final Shard ALL = new Shard(1, 1);
+
+    public Shard {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException("invalid shard:" + index + "/" + total);
+        }
+    }
+
+    public static Shard parse(final String value) {
+        final String[] indexAndTotal = value.split("/", 2);
+        if (indexAndTotal.length != 2) {
+            throw new IllegalArgumentException("invalid shard:" + value);
+        }
+        return new Shard(Integer.parseInt(indexAndTotal[0].trim()), Integer.parseInt(indexAndTotal[1].trim()));
+    }
+
+    public boolean isAll() {
+        return this.total == 1;
+    }
+
+    public boolean isDelegateToChain(final TestCase testCase) {
+        return testCase.hasChain() && !testCase.shareState();
+    }
+
+    public List<InputData> select(final TestCase testCase, final List<InputData> rows) {
+        return this.select(testCase, rows.stream()).toList();
+    }
+
+    public Stream<InputData> select(final TestCase testCase, final Stream<InputData> rows) {
+        if (this.isAll() || this.isDelegateToChain(testCase)) {
+            return rows;
+        } else if (testCase.shareState()) {
+            return this.contains(testCase, null) ? rows : Stream.empty();
+        }
+        return rows.filter(row -> this.contains(testCase, row));
+    }
+
+    public boolean contains(final TestCase testCase, final InputData row) {
+        if (this.isAll()) {
+            return true;
+        }
+        final int hash = Hashing.murmur3_32_fixed()
+                .hashString(this.unitKey(testCase, row), StandardCharsets.UTF_8)
+                .asInt();
+        return Math.floorMod(hash, this.total) == this.index - 1;
+    }
+
+    public String unitKey(final TestCase testCase, final InputData row) {
+        String testCaseKey = testCase.name();
+        if (!Strings.isNullOrEmpty(testCase.path())) {
+            testCaseKey = Context.getBaseDirectory().toPath()
+                    .relativize(Paths.get(testCase.path()).toAbsolutePath())
+                    .toString()
+                    .replace("\\", "/") + ":" + testCaseKey;
+        }
+        if (row == null || row.rowNumber() == null) {
+            return testCaseKey;
+        }
+        return testCaseKey + "#" + row.rowNumber();
+    }
+
+    @Override
+    public String toString() {
+        return this.index + "/" + this.total;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sebuilder.interpreter;
+
+import java.util.stream.Stream;
+
+public class ShardTestRunner implements TestRunner {
+
+    private final TestRunner delegate;
+    private final Shard shard;
+
+    public ShardTestRunner(final TestRunner delegate, final Shard shard) {
+        this.delegate = delegate;
+        this.shard = shard;
+    }
+
+    @Override
+    public STATUS execute(final TestRunBuilder testRunBuilder, final InputData data, final TestRunListener testRunListener) {
+        return this.delegate.execute(testRunBuilder, data, testRunListener);
+    }
+
+    @Override
+    public boolean executeAll(final TestCase testCase, final Stream<InputData> rows, final TestRunListener testRunListener) {
+        return this.delegate.executeAll(testCase, this.shard.select(testCase, rows), testRunListener);
+    }
+}
@@ -20,6 +20,7 @@ import com.google.common.collect.Lists;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -76,20 +77,15 @@ public record TestCase(ScriptFile scriptFile,
             return true;
         }
         final TestCase materialized = this.materialized();
-        boolean success = true;
-        try {
-            for (final InputData data : materialized.loadData()) {
-                final TestRunner.STATUS result = runner.execute(new TestRunBuilder(materialized), data, testRunListener);
-                if (result == TestRunner.STATUS.STOPPED) {
-                    return false;
-                }
-                success = success && result == TestRunner.STATUS.SUCCESS;
-            }
+        try (final Stream<InputData> rows = materialized.streamData()) {
+            return runner.executeAll(materialized, rows, testRunListener);
         } catch (final IOException e) {
             testRunListener.reportError(materialized.name(), e);
             throw new AssertionError(e);
+        } catch (final UncheckedIOException e) {
+            testRunListener.reportError(materialized.name(), e.getCause());
+            throw new AssertionError(e.getCause());
         }
-        return success;
     }
 
     public File relativePath() {
@@ -125,6 +121,10 @@ public record TestCase(ScriptFile scriptFile,
         return this.runtimeDataSet().loadData();
     }
 
+    public Stream<InputData> streamData() throws IOException {
+        return this.runtimeDataSet().streamData();
+    }
+
     public DataSourceLoader runtimeDataSet() {
         if (this.overrideDataSourceLoader().dataSource() != DataSource.NONE) {
             return this.overrideDataSourceLoader().shareInput(this.shareInput());
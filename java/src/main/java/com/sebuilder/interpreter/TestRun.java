@@ -21,9 +21,16 @@ import org.openqa.selenium.bidi.HasBiDi;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * A single finish of a test head.
@@ -40,10 +47,13 @@ public class TestRun implements WebDriverWrapper {
     private final Pointcut includeFilter;
     private final Pointcut excludeFilter;
     private final boolean preventContextAspect;
+    private Aspect.Dispatcher adviceDispatcher;
+    private Aspect dispatchedContextAspect;
     private InputData vars;
     private TestRunStatus testRunStatus;
     private ChainRunner chainRunner;
     private boolean closeDriver;
+    private int commandTraceDepth;
 
     public TestRun(
             final String testRunName,
@@ -72,6 +82,9 @@ public class TestRun implements WebDriverWrapper {
         this.excludeFilter = this.testCase.excludeTestRun();
         this.preventContextAspect = testRunBuilder.isPreventContextAspect();
         this.testRunStatus = TestRunStatus.of(this.testCase);
+        if (Context.isTraceCommands() && this.driver != null) {
+            CommandTrace.install(this.driver);
+        }
     }
 
     public File getRelativePath() {
@@ -242,6 +255,7 @@ public class TestRun implements WebDriverWrapper {
     }
 
     public boolean startTest() {
+        CommandTrace.of(this.driver).ifPresent(it -> this.commandTraceDepth = it.startStep(this.currentStepIndex(), this.currentStep().type().getStepTypeName()));
         final boolean aspectSuccess = this.getAdvice().invokeBefore(this);
         this.getListener().startTest(this.currentStepToString());
         return aspectSuccess;
@@ -262,6 +276,7 @@ public class TestRun implements WebDriverWrapper {
     }
 
     public boolean processTestSuccess(final boolean isAcceptAdvice) {
+        this.reportCommandTrace();
         this.getListener().endTest();
         if (!isAcceptAdvice) {
             return true;
@@ -273,6 +288,7 @@ public class TestRun implements WebDriverWrapper {
         if (!this.currentStep().type().isContinueAtFailure()) {
             throw new AssertionError(this.currentStepToString() + " failed.");
         }
+        this.reportCommandTrace();
         this.getListener().addFailure(this.currentStepToString() + " failed.");
         if (!isAcceptAdvice) {
             this.getAdvice().invokeFailure(this);
@@ -281,11 +297,19 @@ public class TestRun implements WebDriverWrapper {
     }
 
     public AssertionError processTestError(final Throwable e) {
+        this.reportCommandTrace();
         this.getListener().addError(e);
         this.getAdvice().invokeFailure(this);
         return new AssertionError(this.currentStepToString() + " failed.", e);
     }
 
+    private void reportCommandTrace() {
+        // flow steps end their window before their sub steps run, and Step.execute ends it again
+        final int depth = this.commandTraceDepth;
+        this.commandTraceDepth = 0;
+        CommandTrace.of(this.driver).flatMap(it -> it.endStep(depth)).ifPresent(this.getListener()::addCommandTrace);
+    }
+
     public String currentStepToString() {
         return this.bindRuntimeVariables(this.currentStep().toPrettyString());
     }
@@ -320,13 +344,23 @@ public class TestRun implements WebDriverWrapper {
     }
 
     protected Aspect.Advice getAdvice() {
-        Aspect weaver = this.aspect;
-        if (!this.preventContextAspect) {
-            weaver = this.aspect.builder()
-                    .add(Context.getAspect())
-                    .build();
+        return this.getAdviceDispatcher().advice(this, this.currentStepIndex(), this.currentStep(), this.vars());
+    }
+
+    protected Aspect.Dispatcher getAdviceDispatcher() {
+        if (this.preventContextAspect) {
+            if (this.adviceDispatcher == null) {
+                this.adviceDispatcher = this.aspect.compile();
+            }
+        } else if (this.adviceDispatcher == null || this.dispatchedContextAspect != Context.getAspect()) {
+            // the global aspect can be replaced from the replay settings while running
+            this.dispatchedContextAspect = Context.getAspect();
+            this.adviceDispatcher = this.aspect.builder()
+                    .add(this.dispatchedContextAspect)
+                    .build()
+                    .compile();
         }
-        return weaver.advice(this, this.currentStep(), this.vars());
+        return this.adviceDispatcher;
     }
 
     protected boolean chainRun() {
@@ -343,7 +377,7 @@ public class TestRun implements WebDriverWrapper {
         if (!this.testCase.shareState()) {
             this.log.debug("Quitting driver.");
             try {
-                this.driver.quit();
+                Context.getWebDriverPool().release(this.driver);
                 this.closeDriver = true;
             } catch (final Exception e2) {
                 //
@@ -355,6 +389,7 @@ public class TestRun implements WebDriverWrapper {
         private final TestRun parent;
         private final TestCaseChains chains;
         private final boolean takeOverLastRun;
+        private final Shard shard;
         private TestRun lastRun;
         private InputData lastRunVar;
         private int chainIndex;
@@ -363,21 +398,50 @@ public class TestRun implements WebDriverWrapper {
             this.parent = parent;
             this.chains = parent.testCase.chains();
             this.takeOverLastRun = this.chains.isTakeOverLastRun();
+            this.shard = Context.getShard().isDelegateToChain(parent.testCase) ? Context.getShard() : Shard.ALL;
         }
 
         public boolean run() {
             this.lastRunVar = this.parent.vars();
             this.chainIndex = 0;
+            if (this.isConcurrent()) {
+                return this.runConcurrent();
+            }
             boolean success = true;
             for (final TestCase nextChain : this.chains) {
-                success = nextChain.map(it -> it.addAspect(this.parent.getAspect(Interceptor::isTakeOverChain))
-                                .setShareInput(this.lastRunVar))
-                        .run(this, this.parent.getListener()) && success;
+                success = this.onParentDriver(this.prepare(nextChain)).run(this, this.parent.getListener()) && success;
                 this.chainIndex++;
             }
             return success;
         }
 
+        public boolean runConcurrent() {
+            try (final ExecutorService executor = Executors.newFixedThreadPool(Context.getParallel())) {
+                final List<Future<Boolean>> independents = new ArrayList<>();
+                boolean success = true;
+                for (final TestCase nextChain : this.chains) {
+                    final TestCase target = this.prepare(nextChain);
+                    if (this.isIndependent(nextChain)) {
+                        final TestRunner isolated = new IsolatedChainRunner(this.parent, this.chainIndex, this.shard);
+                        final TestRunListener listener = this.parent.getListener().copy();
+                        independents.add(executor.submit(() -> target.run(isolated, listener)));
+                    } else {
+                        success = this.onParentDriver(target).run(this, this.parent.getListener()) && success;
+                    }
+                    this.chainIndex++;
+                }
+                for (final Future<Boolean> independent : independents) {
+                    success = this.await(independent) && success;
+                }
+                return success;
+            }
+        }
+
+        @Override
+        public boolean executeAll(final TestCase testCase, final Stream<InputData> rows, final TestRunListener testRunListener) {
+            return TestRunner.super.executeAll(testCase, this.shard.select(testCase, rows), testRunListener);
+        }
+
         @Override
         public STATUS execute(final TestRunBuilder testRunBuilder, final InputData data, final TestRunListener testRunListener) {
             if (this.isStopped()) {
@@ -405,5 +469,83 @@ public class TestRun implements WebDriverWrapper {
                 this.lastRun.stop();
             }
         }
+
+        protected TestCase prepare(final TestCase nextChain) {
+            return nextChain.map(it -> it.addAspect(this.parent.getAspect(Interceptor::isTakeOverChain))
+                    .setShareInput(this.lastRunVar));
+        }
+
+        /**
+         * A member run by this runner works on the parent's driver, so it must not release the driver when it ends,
+         * even if the suite doesn't share state: only the members that IsolatedChainRunner runs get their own.
+         */
+        protected TestCase onParentDriver(final TestCase nextChain) {
+            return nextChain.map(it -> it.isShareState(true));
+        }
+
+        protected boolean isConcurrent() {
+            return Context.isParallelChain() && Context.getParallel() > 1 && !this.takeOverLastRun;
+        }
+
+        protected boolean isIndependent(final TestCase nextChain) {
+            return !this.takeOverLastRun && !nextChain.shareState() && !nextChain.nestedChain();
+        }
+
+        protected boolean await(final Future<Boolean> result) {
+            try {
+                return result.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (final ExecutionException e) {
+                throw new AssertionError(e.getCause());
+            }
+        }
+    }
+
+    protected static class IsolatedChainRunner implements TestRunner {
+        private final TestRun parent;
+        private final int chainIndex;
+        private final Shard shard;
+
+        public IsolatedChainRunner(final TestRun parent, final int chainIndex, final Shard shard) {
+            this.parent = parent;
+            this.chainIndex = chainIndex;
+            this.shard = shard;
+        }
+
+        @Override
+        public boolean executeAll(final TestCase testCase, final Stream<InputData> rows, final TestRunListener testRunListener) {
+            return TestRunner.super.executeAll(testCase, this.shard.select(testCase, rows), testRunListener);
+        }
+
+        @Override
+        public STATUS execute(final TestRunBuilder testRunBuilder, final InputData data, final TestRunListener testRunListener) {
+            if (this.parent.isStopped()) {
+                return STATUS.STOPPED;
+            }
+            final TestRun run = testRunBuilder
+                    .addTestRunNamePrefix(this.parent.getTestRunName() + "_" + this.chainIndex + "_")
+                    .createTestRun(this.parent.log()
+                            , Context.getWebDriverFactory()
+                            , Context.getDriverConfig()
+                            , Context.getImplicitlyWaitTime()
+                            , Context.getPageLoadWaitTime()
+                            , data
+                            , null
+                            , testRunListener);
+            boolean result = false;
+            try {
+                result = run.finish();
+            } catch (final AssertionError e) {
+                this.parent.log().info(run.getTestRunName() + " failed", e);
+            }
+            if (run.isStopped()) {
+                return STATUS.STOPPED;
+            } else if (!result) {
+                return STATUS.FAILED;
+            }
+            return STATUS.SUCCESS;
+        }
     }
 }
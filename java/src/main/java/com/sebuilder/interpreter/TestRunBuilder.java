@@ -134,7 +134,7 @@ public class TestRunBuilder {
     private RemoteWebDriver createDriver(final Logger log, final WebDriverFactory webDriverFactory, final Map<String, String> webDriverConfig) {
         log.debug("Initialising driver.");
         try {
-            return webDriverFactory.make(webDriverConfig);
+            return Context.getWebDriverPool().lease(webDriverFactory, webDriverConfig);
         } catch (final Exception e) {
             throw new RuntimeException("Test finish failed: unable to create driver.", e);
         }
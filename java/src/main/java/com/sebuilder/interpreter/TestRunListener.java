@@ -42,12 +42,19 @@ public interface TestRunListener {
 
     File saveExpectScreenshot(File file);
 
+    default File addExpectScreenshot(final String file) {
+        return new File(this.getScreenShotOutputDirectory(), file);
+    }
+
     File addDownloadFile(String file);
 
     void addError(Throwable throwable);
 
     void addFailure(String message);
 
+    default void addCommandTrace(final CommandTrace.StepTotal stepTotal) {
+    }
+
     void endTest();
 
     void closeTestSuite();
@@ -62,6 +69,17 @@ public interface TestRunListener {
 
     boolean isAspectRunning();
 
+    /**
+     * Parallel workers report through a copy each, so that a listener that keeps the suite and test being reported
+     * returns a new instance reporting to the same result directory. A wrapper returns itself around a copy of its
+     * delegate. The default shares this listener between workers, which only a stateless or thread-safe listener allows.
+     *
+     * @return The listener for a worker that runs at the same time as this one.
+     */
+    default TestRunListener copy() {
+        return this;
+    }
+
     interface Factory {
         TestRunListener create(Logger log);
     }
@@ -111,6 +111,11 @@ public class TestRunListenerWrapper implements TestRunListener {
         return this.delegate.saveExpectScreenshot(file);
     }
 
+    @Override
+    public File addExpectScreenshot(final String file) {
+        return this.delegate.addExpectScreenshot(file);
+    }
+
     @Override
     public File addDownloadFile(final String file) {
         return this.delegate.addDownloadFile(file);
@@ -126,6 +131,11 @@ public class TestRunListenerWrapper implements TestRunListener {
         this.delegate.addFailure(message);
     }
 
+    @Override
+    public void addCommandTrace(final CommandTrace.StepTotal stepTotal) {
+        this.delegate.addCommandTrace(stepTotal);
+    }
+
     @Override
     public void endTest() {
         this.delegate.endTest();
@@ -150,4 +160,9 @@ public class TestRunListenerWrapper implements TestRunListener {
     public void info(final String s) {
         this.delegate.info(s);
     }
+
+    @Override
+    public TestRunListener copy() {
+        return new TestRunListenerWrapper(this.delegate.copy());
+    }
 }
@@ -1,9 +1,25 @@
 package com.sebuilder.interpreter;
 
+import java.util.Iterator;
+import java.util.stream.Stream;
+
 public interface TestRunner {
 
     STATUS execute(TestRunBuilder testRunBuilder, InputData data, TestRunListener testRunListener);
 
+    default boolean executeAll(final TestCase testCase, final Stream<InputData> rows, final TestRunListener testRunListener) {
+        boolean success = true;
+        for (final Iterator<InputData> iterator = rows.iterator(); iterator.hasNext(); ) {
+            final InputData data = iterator.next();
+            final STATUS result = this.execute(new TestRunBuilder(testCase), data, testRunListener);
+            if (result == STATUS.STOPPED) {
+                return false;
+            }
+            success = success && result == STATUS.SUCCESS;
+        }
+        return success;
+    }
+
     enum STATUS {
         SUCCESS, FAILED, STOPPED
     }
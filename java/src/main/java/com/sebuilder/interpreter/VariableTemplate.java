@@ -0,0 +1,122 @@
+package com.sebuilder.interpreter;
+
+import org.openqa.selenium.Keys;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A string parsed once into literal, ${var}, ${env.x} and !{KEY} segments.
+ * A placeholder is closed by the nearest '}' and opened by the last '${' or '!{' before it,
+ * so "${a == '${b}'}" is parsed as literal "${a == '", variable b and literal "'}".
+ * {@link #render(InputData)} substitutes every resolvable placeholder in a single pass and
+ * leaves unresolvable ones as they were; InputData.bind repeats it until the result is stable.
+ */
+public record VariableTemplate(List<Segment> segments, boolean hasPlaceholder) {
+
+    private static final Map<String, String> KEYS = Stream.of(Keys.values())
+            .collect(Collectors.toMap(Keys::name, Keys::toString, (e1, e2) -> e1));
+    private static final String ENV_PREFIX = "env.";
+    static final int CACHE_SIZE = 10000;
+    private static final Map<String, VariableTemplate> CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, VariableTemplate> eldest) {
+            return this.size() > CACHE_SIZE;
+        }
+    });
+
+    public static VariableTemplate of(final String source) {
+        return CACHE.computeIfAbsent(source, VariableTemplate::parse);
+    }
+
+    public static VariableTemplate parse(final String source) {
+        final List<Segment> segments = new ArrayList<>();
+        int literalStart = 0;
+        int placeholderStart = -1;
+        boolean hasPlaceholder = false;
+        for (int i = 0; i < source.length(); i++) {
+            final char c = source.charAt(i);
+            if ((c == '$' || c == '!') && i + 1 < source.length() && source.charAt(i + 1) == '{') {
+                placeholderStart = i;
+                i++;
+            } else if (c == '}' && placeholderStart >= 0) {
+                if (literalStart < placeholderStart) {
+                    segments.add(new Literal(source.substring(literalStart, placeholderStart)));
+                }
+                final String raw = source.substring(placeholderStart, i + 1);
+                final String name = source.substring(placeholderStart + 2, i);
+                if (source.charAt(placeholderStart) == '$') {
+                    segments.add(new Variable(name, raw));
+                } else {
+                    segments.add(new Key(name, raw));
+                }
+                hasPlaceholder = true;
+                literalStart = i + 1;
+                placeholderStart = -1;
+            }
+        }
+        if (literalStart < source.length()) {
+            segments.add(new Literal(source.substring(literalStart)));
+        }
+        return new VariableTemplate(List.copyOf(segments), hasPlaceholder);
+    }
+
+    public String render(final InputData vars) {
+        return this.render(vars::get, Context.getEnvironmentProperties());
+    }
+
+    public String render(final Function<String, String> vars, final Properties environmentProperties) {
+        if (!this.hasPlaceholder) {
+            return this.segments.isEmpty() ? "" : this.segments.get(0).raw();
+        }
+        final StringBuilder result = new StringBuilder();
+        for (final Segment segment : this.segments) {
+            result.append(segment.resolve(vars, environmentProperties));
+        }
+        return result.toString();
+    }
+
+    public sealed interface Segment permits Literal, Variable, Key {
+        String raw();
+
+        String resolve(Function<String, String> vars, Properties environmentProperties);
+    }
+
+    public record Literal(String raw) implements Segment {
+        @Override
+        public String resolve(final Function<String, String> vars, final Properties environmentProperties) {
+            return this.raw;
+        }
+    }
+
+    public record Variable(String name, String raw) implements Segment {
+        @Override
+        public String resolve(final Function<String, String> vars, final Properties environmentProperties) {
+            final String value = vars.apply(this.name);
+            if (value != null) {
+                return value;
+            }
+            if (this.name.startsWith(ENV_PREFIX)) {
+                final Object env = environmentProperties.get(this.name.substring(ENV_PREFIX.length()));
+                if (env != null) {
+                    return env.toString();
+                }
+            }
+            return this.raw;
+        }
+    }
+
+    public record Key(String name, String raw) implements Segment {
+        @Override
+        public String resolve(final Function<String, String> vars, final Properties environmentProperties) {
+            return KEYS.getOrDefault(this.name, this.raw);
+        }
+    }
+}
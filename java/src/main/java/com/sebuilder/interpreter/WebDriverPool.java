@@ -0,0 +1,150 @@
+package com.sebuilder.interpreter;
+
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Keeps browser sessions alive between TestRuns that don't share state.
+ * Sessions are keyed by browser, browser version, binary and driver config, reset when returned, health-checked when leased
+ * and quit after serving maxReuse leases. A maxReuse of 0 or less disables pooling,
+ * so every lease creates a new driver and every release quits it.
+ */
+public class WebDriverPool {
+
+    private static final String CLEAR_STORAGE = """
+            try {
+                window.localStorage.clear();
+                window.sessionStorage.clear();
+            } catch (e) {
+            }
+            """;
+    private final Map<Key, Deque<PooledDriver>> idle = new ConcurrentHashMap<>();
+    private final Map<RemoteWebDriver, PooledDriver> leased = new ConcurrentHashMap<>();
+    private volatile int maxReuse;
+
+    public WebDriverPool() {
+        this(0);
+    }
+
+    public WebDriverPool(final int maxReuse) {
+        this.maxReuse = maxReuse;
+    }
+
+    public boolean isEnabled() {
+        return this.maxReuse > 0;
+    }
+
+    public int getMaxReuse() {
+        return this.maxReuse;
+    }
+
+    public WebDriverPool setMaxReuse(final int maxReuse) {
+        this.maxReuse = maxReuse;
+        if (!this.isEnabled()) {
+            this.close();
+        }
+        return this;
+    }
+
+    public RemoteWebDriver lease(final WebDriverFactory webDriverFactory, final Map<String, String> config) throws Exception {
+        if (!this.isEnabled()) {
+            return webDriverFactory.make(config);
+        }
+        final Key key = Key.of(webDriverFactory, config);
+        final Deque<PooledDriver> candidates = this.idle.computeIfAbsent(key, it -> new ConcurrentLinkedDeque<>());
+        PooledDriver candidate;
+        while ((candidate = candidates.pollFirst()) != null) {
+            if (candidate.isHealthy()) {
+                final PooledDriver reuse = candidate.nextLease();
+                this.leased.put(reuse.driver(), reuse);
+                return reuse.driver();
+            }
+            candidate.quit();
+        }
+        final RemoteWebDriver driver = webDriverFactory.make(config);
+        this.leased.put(driver, new PooledDriver(key, driver, 1));
+        return driver;
+    }
+
+    public void release(final RemoteWebDriver driver) {
+        final PooledDriver pooled = this.leased.remove(driver);
+        if (pooled == null || !this.isEnabled() || pooled.leaseCount() >= this.maxReuse || !pooled.reset()) {
+            driver.quit();
+            return;
+        }
+        this.idle.computeIfAbsent(pooled.key(), it -> new ConcurrentLinkedDeque<>()).offerFirst(pooled);
+    }
+
+    public void close() {
+        final List<PooledDriver> toQuit = new ArrayList<>();
+        this.idle.values().forEach(candidates -> {
+            PooledDriver candidate;
+            while ((candidate = candidates.pollFirst()) != null) {
+                toQuit.add(candidate);
+            }
+        });
+        toQuit.forEach(PooledDriver::quit);
+    }
+
+    record Key(String browser, String browserVersion, String binaryPath, Map<String, String> config) {
+
+        static Key of(final WebDriverFactory webDriverFactory, final Map<String, String> config) {
+            return new Key(webDriverFactory.targetBrowser()
+                    , Context.getBrowserVersion()
+                    , webDriverFactory.getBinaryPath()
+                    , new TreeMap<>(config));
+        }
+    }
+
+    record PooledDriver(Key key, RemoteWebDriver driver, int leaseCount) {
+
+        PooledDriver nextLease() {
+            return new PooledDriver(this.key, this.driver, this.leaseCount + 1);
+        }
+
+        boolean isHealthy() {
+            try {
+                return this.driver.getSessionId() != null && this.driver.getWindowHandle() != null;
+            } catch (final WebDriverException e) {
+                return false;
+            }
+        }
+
+        boolean reset() {
+            try {
+                final List<String> handles = new ArrayList<>(this.driver.getWindowHandles());
+                if (handles.isEmpty()) {
+                    return false;
+                }
+                for (final String handle : handles.subList(1, handles.size())) {
+                    this.driver.switchTo().window(handle);
+                    this.driver.close();
+                }
+                this.driver.switchTo().window(handles.get(0));
+                this.driver.switchTo().defaultContent();
+                this.driver.manage().deleteAllCookies();
+                this.driver.executeScript(CLEAR_STORAGE);
+                this.driver.get("about:blank");
+                return true;
+            } catch (final WebDriverException e) {
+                return false;
+            }
+        }
+
+        void quit() {
+            try {
+                this.driver.quit();
+            } catch (final WebDriverException e) {
+                //
+            }
+        }
+    }
+}
@@ -56,8 +56,12 @@ public interface WebDriverWrapper {
         return ((Number) this.executeScript("return Math.max(document.body.scrollWidth, document.body.offsetWidth,document.documentElement.clientWidth, document.documentElement.scrollWidth, document.documentElement.offsetWidth);", new Object[0])).intValue();
     }
 
+    default byte[] getScreenshotBytes() {
+        return this.driver().getScreenshotAs(OutputType.BYTES);
+    }
+
     default BufferedImage getScreenshot() {
-        try (final ByteArrayInputStream imageArrayStream = new ByteArrayInputStream(this.driver().getScreenshotAs(OutputType.BYTES))) {
+        try (final ByteArrayInputStream imageArrayStream = new ByteArrayInputStream(this.getScreenshotBytes())) {
             return ImageIO.read(imageArrayStream);
         } catch (final IOException var9) {
             throw new RuntimeException("Can not load screenshot data", var9);
@@ -6,10 +6,19 @@ public enum CommandLineArgument {
     PAGE_LOAD_TIMEOUT("--pageLoadTimeout"),
     WAIT_FOR_MAX_MS("--waitFor.maxMs"),
     WAIT_FOR_INTERVAL_MS("--waitFor.intervalMs"),
+    WAIT_FOR_ADAPTIVE("--waitFor.adaptive"),
+    WAIT_FOR_STATISTICS("--waitFor.statistics"),
+    LOCATOR_RESOLUTION("--locator.resolution"),
+    LOCATOR_RESOLUTION_PREFIX("--locator.resolution."),
+    PARALLEL("--parallel"),
+    PARALLEL_CHAIN("--parallel.chain"),
+    SHARD("--shard"),
+    TRACE_COMMANDS("--trace.commands"),
     DRIVER("--driver"),
     DRIVER_PATH("--driverPath"),
     DRIVER_CONFIG_PREFIX("--driver."),
     DRIVER_CONFIG_BROWSER_VERSION("--driver.browserVersion"),
+    DRIVER_POOL_MAX_REUSE("--driverPool.maxReuse"),
     DATASOURCE_ENCODING("--datasource.encoding"),
     DATASOURCE_DIRECTORY("--datasource.directory"),
     RESULT_OUTPUT("--resultoutput"),
@@ -19,6 +28,12 @@ public enum CommandLineArgument {
     SCREENSHOT_OUTPUT("--screenshotoutput"),
     TEMPLATE_OUTPUT("--templateoutput"),
     EXPECT_SCREENSHOT_DIRECTORY("--expectScreenshotDirectory"),
+    SCREENSHOT_FULL_PAGE("--screenshot.fullPage"),
+    SCREENSHOT_STABLE_MAX_ATTEMPTS("--screenshot.stableMaxAttempts"),
+    SCREENSHOT_STABLE_MAX_MS("--screenshot.stableMaxMs"),
+    SCREENSHOT_COMPRESSION_LEVEL("--screenshot.compressionLevel"),
+    SCREENSHOT_STORE("--screenshot.store"),
+    SCREENSHOT_DISK_RASTER_MIN_HEIGHT("--screenshot.diskRasterMinHeight"),
     ASPECT("--aspectFile"),
     ENVIRONMENT_PROPERTIES("--env"),
     ENVIRONMENT_PROPERTIES_PREFIX("--env."),
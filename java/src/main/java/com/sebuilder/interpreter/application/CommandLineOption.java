@@ -1,7 +1,9 @@
 package com.sebuilder.interpreter.application;
 
 import com.sebuilder.interpreter.Context;
+import com.sebuilder.interpreter.Shard;
 import com.sebuilder.interpreter.report.ReportFormat;
+import com.sebuilder.interpreter.screenshot.FullPageCapture;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineParser;
 
@@ -14,9 +16,17 @@ public class CommandLineOption {
     private Long pageLoadTimeout = (long) -1;
     private int waitForMaxMs = 30000;
     private int waitForIntervalMs = 500;
+    private boolean waitForAdaptive = false;
+    private String waitForStatistics;
+    private final Map<String, String> locatorResolution = new HashMap<>();
+    private int parallel = 1;
+    private boolean parallelChain = false;
+    private Shard shard = Shard.ALL;
+    private boolean traceCommands = false;
     private String driver = "Chrome";
     private String browserVersion;
     private String driverPath;
+    private int driverPoolMaxReuse = 0;
     private final Map<String, String> driverConfig = new HashMap<>();
     private String datasourceEncoding = "UTF-8";
     private String datasourceDirectory = "input";
@@ -26,6 +36,12 @@ public class CommandLineOption {
     private String screenshotoutput = "screenshot";
     private String templateoutput = "template";
     private String expectScreenshotDirectory;
+    private FullPageCapture fullPageCapture = FullPageCapture.SCROLL;
+    private int screenshotStableMaxAttempts = 10;
+    private int screenshotStableMaxMs = 30000;
+    private int screenshotCompressionLevel = 4;
+    private boolean screenshotStore = false;
+    private int screenshotDiskRasterMinHeight = 0;
     private ReportFormat reportFormat = ReportFormat.JUNIT;
     private String aspectFile;
     private String environmentProperties;
@@ -55,12 +71,30 @@ public class CommandLineOption {
                     this.waitForMaxMs = Integer.parseInt(kv[1]);
                 } else if (kv[0].equals(CommandLineArgument.WAIT_FOR_INTERVAL_MS.key())) {
                     this.waitForIntervalMs = Integer.parseInt(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.WAIT_FOR_ADAPTIVE.key())) {
+                    this.waitForAdaptive = Boolean.parseBoolean(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.WAIT_FOR_STATISTICS.key())) {
+                    this.waitForStatistics = kv[1];
+                } else if (kv[0].equals(CommandLineArgument.LOCATOR_RESOLUTION.key())) {
+                    this.locatorResolution.put("", kv[1]);
+                } else if (kv[0].startsWith(CommandLineArgument.LOCATOR_RESOLUTION_PREFIX.key())) {
+                    this.locatorResolution.put(kv[0].substring(CommandLineArgument.LOCATOR_RESOLUTION_PREFIX.key().length()), kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.PARALLEL.key())) {
+                    this.parallel = Integer.parseInt(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.PARALLEL_CHAIN.key())) {
+                    this.parallelChain = Boolean.parseBoolean(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.SHARD.key())) {
+                    this.shard = Shard.parse(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.TRACE_COMMANDS.key())) {
+                    this.traceCommands = Boolean.parseBoolean(kv[1]);
                 } else if (kv[0].startsWith(CommandLineArgument.DRIVER_CONFIG_PREFIX.key())) {
                     if (kv[0].equals(CommandLineArgument.DRIVER_CONFIG_BROWSER_VERSION.key())) {
                         this.browserVersion = kv[1];
                     } else {
                         this.driverConfig.put(kv[0].substring(CommandLineArgument.DRIVER_CONFIG_PREFIX.key().length()), kv[1]);
                     }
+                } else if (kv[0].equals(CommandLineArgument.DRIVER_POOL_MAX_REUSE.key())) {
+                    this.driverPoolMaxReuse = Integer.parseInt(kv[1]);
                 } else if (kv[0].equals(CommandLineArgument.DRIVER.key())) {
                     this.driver = kv[1];
                 } else if (kv[0].equals(CommandLineArgument.DRIVER_PATH.key())) {
@@ -77,6 +111,18 @@ public class CommandLineOption {
                     this.resultoutput = kv[1];
                 } else if (kv[0].equals(CommandLineArgument.EXPECT_SCREENSHOT_DIRECTORY.key())) {
                     this.expectScreenshotDirectory = kv[1];
+                } else if (kv[0].equals(CommandLineArgument.SCREENSHOT_FULL_PAGE.key())) {
+                    this.fullPageCapture = FullPageCapture.fromName(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.SCREENSHOT_STABLE_MAX_ATTEMPTS.key())) {
+                    this.screenshotStableMaxAttempts = Integer.parseInt(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.SCREENSHOT_STABLE_MAX_MS.key())) {
+                    this.screenshotStableMaxMs = Integer.parseInt(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.SCREENSHOT_COMPRESSION_LEVEL.key())) {
+                    this.screenshotCompressionLevel = Integer.parseInt(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.SCREENSHOT_STORE.key())) {
+                    this.screenshotStore = Boolean.parseBoolean(kv[1]);
+                } else if (kv[0].equals(CommandLineArgument.SCREENSHOT_DISK_RASTER_MIN_HEIGHT.key())) {
+                    this.screenshotDiskRasterMinHeight = Integer.parseInt(kv[1]);
                 } else if (kv[0].equals(CommandLineArgument.REPORT_PREFIX.key())) {
                     this.junitReportPrefix = Context.ReportPrefix.fromName(kv[1]);
                 } else if (kv[0].equals(CommandLineArgument.REPORT_FORMAT.key())) {
@@ -120,6 +166,34 @@ public class CommandLineOption {
         return this.waitForIntervalMs;
     }
 
+    public boolean isWaitForAdaptive() {
+        return this.waitForAdaptive;
+    }
+
+    public String getWaitForStatistics() {
+        return this.waitForStatistics;
+    }
+
+    public Map<String, String> getLocatorResolution() {
+        return this.locatorResolution;
+    }
+
+    public int getParallel() {
+        return this.parallel;
+    }
+
+    public boolean isParallelChain() {
+        return this.parallelChain;
+    }
+
+    public Shard getShard() {
+        return this.shard;
+    }
+
+    public boolean isTraceCommands() {
+        return this.traceCommands;
+    }
+
     public String getDriver() {
         return this.driver;
     }
@@ -132,6 +206,10 @@ public class CommandLineOption {
         return this.driverPath;
     }
 
+    public int getDriverPoolMaxReuse() {
+        return this.driverPoolMaxReuse;
+    }
+
     public Map<String, String> getDriverConfig() {
         return this.driverConfig;
     }
@@ -203,4 +281,28 @@ public class CommandLineOption {
     public String getExpectScreenshotDirectory() {
         return this.expectScreenshotDirectory;
     }
+
+    public FullPageCapture getFullPageCapture() {
+        return this.fullPageCapture;
+    }
+
+    public int getScreenshotStableMaxAttempts() {
+        return this.screenshotStableMaxAttempts;
+    }
+
+    public int getScreenshotStableMaxMs() {
+        return this.screenshotStableMaxMs;
+    }
+
+    public int getScreenshotCompressionLevel() {
+        return this.screenshotCompressionLevel;
+    }
+
+    public boolean isScreenshotStore() {
+        return this.screenshotStore;
+    }
+
+    public int getScreenshotDiskRasterMinHeight() {
+        return this.screenshotDiskRasterMinHeight;
+    }
 }
@@ -2,6 +2,7 @@ package com.sebuilder.interpreter.application;
 
 import com.sebuilder.interpreter.*;
 import com.sebuilder.interpreter.datasource.DataSourceFactoryImpl;
+import com.sebuilder.interpreter.screenshot.DiskRaster;
 import com.sebuilder.interpreter.script.Sebuilder;
 import com.sebuilder.interpreter.script.SebuilderToStringConverter;
 import com.sebuilder.interpreter.script.seleniumide.SeleniumIDE;
@@ -30,6 +31,8 @@ public abstract class CommandLineRunner {
             if (this.lastRun != null) {
                 this.lastRun.driver().quit();
             }
+            Context.getWebDriverPool().close();
+            DiskRaster.deleteTemporaryFiles();
         }));
         this.log = log;
         Context.getInstance()
@@ -53,7 +56,7 @@ public abstract class CommandLineRunner {
     public void setUp(final String[] args) {
         this.log.info("setUp start");
         if (!this.validateArgs(args)) {
-            this.log.info("Usage: [--driver=<drivername] [--driver.<configkey>=<configvalue>...] [--implicitlyWait=<ms>] [--pageLoadTimeout=<ms>] [--stepTypePackage=<package name>] <script path>...");
+            this.log.info("Usage: [--driver=<drivername] [--driver.<configkey>=<configvalue>...] [--implicitlyWait=<ms>] [--pageLoadTimeout=<ms>] [--parallel=<workers>] [--stepTypePackage=<package name>] <script path>...");
             System.exit(0);
         }
         this.preSetUp();
@@ -66,8 +69,16 @@ public abstract class CommandLineRunner {
                     .setPageLoadWaitTime(option.getPageLoadTimeout())
                     .setWaitForMaxMs(option.getWaitForMaxMs())
                     .setWaitForIntervalMs(option.getWaitForIntervalMs())
+                    .setWaitForAdaptive(option.isWaitForAdaptive())
+                    .setWaitStatisticsFile(option.getWaitForStatistics())
+                    .setLocatorResolution(option.getLocatorResolution())
+                    .setParallel(option.getParallel())
+                    .setParallelChain(option.isParallelChain())
+                    .setShard(option.getShard())
+                    .setTraceCommands(option.isTraceCommands())
                     .setBrowser(option.getDriver())
                     .setDriverConfig(option.getDriverConfig())
+                    .setDriverPoolMaxReuse(option.getDriverPoolMaxReuse())
                     .ifMatch(!this.isNullOrEmpty(option.getBrowserVersion())
                             , it -> it.setBrowserVersion(option.getBrowserVersion())
                     )
@@ -78,6 +89,12 @@ public abstract class CommandLineRunner {
                     .setDataSourceDirectory(option.getDatasourceDirectory())
                     .setScreenShotOutputDirectory(option.getScreenshotoutput())
                     .setExpectScreenShotDirectory(option.getExpectScreenshotDirectory())
+                    .setFullPageCapture(option.getFullPageCapture())
+                    .setScreenshotStableMaxAttempts(option.getScreenshotStableMaxAttempts())
+                    .setScreenshotStableMaxMs(option.getScreenshotStableMaxMs())
+                    .setScreenshotCompressionLevel(option.getScreenshotCompressionLevel())
+                    .setScreenshotStore(option.isScreenshotStore())
+                    .setScreenshotDiskRasterMinHeight(option.getScreenshotDiskRasterMinHeight())
                     .setTemplateOutputDirectory(option.getTemplateoutput())
                     .setResultOutputDirectory(option.getResultoutput())
                     .setReportPrefix(option.getJunitReportPrefix())
@@ -103,13 +120,17 @@ public abstract class CommandLineRunner {
     }
 
     public TestRun getTestRun(final TestRunBuilder script, final InputData data, final TestRunListener testRunListener) {
+        return this.getTestRun(script, data, this.lastRun, testRunListener);
+    }
+
+    public TestRun getTestRun(final TestRunBuilder script, final InputData data, final TestRun previousRun, final TestRunListener testRunListener) {
         return script.createTestRun(testRunListener.getLog()
                 , Context.getWebDriverFactory()
                 , Context.getDriverConfig()
                 , Context.getImplicitlyWaitTime()
                 , Context.getPageLoadWaitTime()
                 , data
-                , this.lastRun
+                , previousRun
                 , testRunListener);
     }
 
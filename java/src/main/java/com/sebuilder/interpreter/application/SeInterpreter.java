@@ -17,12 +17,18 @@
 package com.sebuilder.interpreter.application;
 
 import com.sebuilder.interpreter.*;
+import com.sebuilder.interpreter.screenshot.DiskRaster;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * An interpreter for Builder JSON tests. Given one or more JSON script files, it plays them back
@@ -64,15 +70,33 @@ public class SeInterpreter extends CommandLineRunner implements TestRunner {
         this.testRunListener.cleanResult();
         try {
             boolean success = false;
+            final TestRunner runner = this.createRunner();
+            if (Context.isParallelChain() && Context.getParallel() > 1) {
+                return this.runScriptsConcurrent(runner);
+            }
             for (final String path : this.paths) {
-                success = this.loadTestCase(path).run(this, this.testRunListener);
+                success = this.loadTestCase(path).run(runner, this.testRunListener);
             }
             return success;
         } finally {
             if (this.lastRun != null && this.closeDriver) {
                 this.lastRun.driver().quit();
             }
+            Context.getWebDriverPool().close();
             this.testRunListener.aggregateResult();
+            DiskRaster.deleteTemporaryFiles();
+            this.saveWaitStatistics();
+        }
+    }
+
+    /**
+     * The statistics only tune the next run, so a failure to write them is logged without failing this one.
+     */
+    protected void saveWaitStatistics() {
+        try {
+            Context.getWaitStatistics().save();
+        } catch (final AssertionError e) {
+            this.log.warn("wait statistics not saved:", e);
         }
     }
 
@@ -105,6 +129,67 @@ public class SeInterpreter extends CommandLineRunner implements TestRunner {
         return STATUS.SUCCESS;
     }
 
+    public boolean runScriptsConcurrent(final TestRunner runner) {
+        try (final ExecutorService executor = Executors.newFixedThreadPool(Context.getParallel())) {
+            final List<Future<Boolean>> independents = new ArrayList<>();
+            boolean success = true;
+            for (final String path : this.paths) {
+                final TestCase testCase = this.loadTestCase(path);
+                if (testCase.shareState()) {
+                    success = testCase.run(runner, this.testRunListener) && success;
+                } else {
+                    final TestRunListener listener = this.testRunListener.copy();
+                    final TestRunner isolated = new ShardTestRunner(this::executeIsolated, Context.getShard());
+                    independents.add(executor.submit(() -> testCase.run(isolated, listener)));
+                }
+            }
+            for (final Future<Boolean> independent : independents) {
+                try {
+                    success = independent.get() && success;
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                } catch (final ExecutionException e) {
+                    this.log.error("Run error.", e.getCause());
+                    success = false;
+                }
+            }
+            return success;
+        }
+    }
+
+    public STATUS executeIsolated(final TestRunBuilder testRunBuilder, final InputData data, final TestRunListener aTestRunListener) {
+        final TestRun testRun = this.getTestRun(testRunBuilder, data, null, aTestRunListener);
+        boolean success = false;
+        try {
+            if (testRun.finish()) {
+                success = true;
+                this.log.info(testRun.getTestRunName() + " succeeded");
+            } else {
+                this.log.info(testRun.getTestRunName() + " failed");
+            }
+        } catch (final AssertionError e) {
+            this.log.info(testRun.getTestRunName() + " failed", e);
+        }
+        if (testRun.isStopped()) {
+            return STATUS.STOPPED;
+        } else if (!success) {
+            return STATUS.FAILED;
+        }
+        return STATUS.SUCCESS;
+    }
+
+    protected TestRunner createRunner() {
+        TestRunner result = this;
+        if (Context.getParallel() > 1) {
+            result = new ParallelTestRunner(this, this::executeIsolated, Context.getParallel());
+        }
+        if (!Context.getShard().isAll()) {
+            result = new ShardTestRunner(result, Context.getShard());
+        }
+        return result;
+    }
+
     protected TestCase loadTestCase(final String path) {
         return Context.getScriptParser().load(new File(path));
     }
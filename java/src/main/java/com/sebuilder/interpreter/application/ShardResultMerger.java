@@ -0,0 +1,112 @@
+package com.sebuilder.interpreter.application;
+
+import com.sebuilder.interpreter.Context;
+import com.sebuilder.interpreter.TestRunListener;
+import com.sebuilder.interpreter.report.ReportFormat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Merges the result directories written by SeInterpreter runs with --shard=i/n into a single report.
+ * Usage: [--resultoutput=<merge to>] [--driver=<drivername>] <shard result directory>...
+ */
+public class ShardResultMerger {
+
+    private static final String RESULT_PREFIX = "TEST-SeBuilder-";
+    private static final String RESULT_SUFFIX = "-result.xml";
+    private static final String AGGREGATED_RESULT = "TEST-SeBuilder-result.xml";
+    private final Logger log;
+
+    public ShardResultMerger(final Logger log) {
+        this.log = log;
+    }
+
+    public static void main(final String[] args) {
+        final Logger log = LogManager.getLogger(ShardResultMerger.class);
+        final CommandLineOption option = new CommandLineOption();
+        try {
+            option.parse(args);
+        } catch (final Exception e) {
+            log.error("error argument parse:", e);
+            System.exit(1);
+        }
+        if (option.getScripts().isEmpty()) {
+            log.info("Usage: [--resultoutput=<merge to>] [--driver=<drivername>] <shard result directory>...");
+            System.exit(0);
+        }
+        if (option.getReportFormat() != ReportFormat.JUNIT) {
+            log.warn("only " + ReportFormat.JUNIT.getName() + " results can be merged.");
+        }
+        Context.getInstance()
+                .setBrowser(option.getDriver())
+                .setResultOutputDirectory(option.getResultoutput())
+                .setReportPrefix(option.getJunitReportPrefix())
+                .setTestRunListenerFactory(ReportFormat.JUNIT)
+                .setDownloadDirectory(option.getDownloadoutput())
+                .setScreenShotOutputDirectory(option.getScreenshotoutput())
+                .setTemplateOutputDirectory(option.getTemplateoutput());
+        try {
+            new ShardResultMerger(log).merge(option.getScripts());
+        } catch (final Exception e) {
+            log.fatal("Merge error.", e);
+            System.exit(2);
+        }
+        log.info("merge success.");
+        System.exit(0);
+    }
+
+    public void merge(final Collection<String> shardResultDirectories) throws IOException {
+        final TestRunListener listener = Context.getTestListener(this.log);
+        listener.cleanResult();
+        int shardNo = 1;
+        for (final String shardResultDirectory : shardResultDirectories) {
+            this.log.info("merge shard:" + shardResultDirectory);
+            this.copyShard(Paths.get(shardResultDirectory).toAbsolutePath(), listener, shardNo++);
+        }
+        listener.aggregateResult();
+    }
+
+    protected void copyShard(final Path shardDir, final TestRunListener listener, final int shardNo) throws IOException {
+        final Path mergeTo = listener.getResultDir().getAbsoluteFile().toPath();
+        final List<Path> sources = new ArrayList<>();
+        try (final Stream<Path> files = Files.walk(shardDir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(it -> this.isMergeTarget(it, listener))
+                    .forEach(sources::add);
+        }
+        for (final Path source : sources) {
+            Path target = mergeTo.resolve(shardDir.relativize(source).toString());
+            if (Files.exists(target) && this.isTestResult(source)) {
+                target = target.resolveSibling(RESULT_PREFIX + shardNo + "." + source.getFileName().toString().substring(RESULT_PREFIX.length()));
+            }
+            if (Files.exists(target)) {
+                // the same file from several shards, e.g. the assets of a report, is merged once
+                if (Files.mismatch(source, target) == -1L) {
+                    continue;
+                }
+                throw new IOException("shard " + shardNo + " collides with a merged file:" + target);
+            }
+            Files.createDirectories(target.getParent());
+            Files.copy(source, target);
+        }
+    }
+
+    protected boolean isMergeTarget(final Path source, final TestRunListener listener) {
+        final String fileName = source.getFileName().toString();
+        return !fileName.equals(AGGREGATED_RESULT) && !fileName.equals(listener.getReportFileName());
+    }
+
+    protected boolean isTestResult(final Path source) {
+        final String fileName = source.getFileName().toString();
+        return fileName.startsWith(RESULT_PREFIX) && fileName.endsWith(RESULT_SUFFIX);
+    }
+}
@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.google.common.io.Files.newWriter;
 
@@ -42,36 +43,35 @@ import static com.google.common.io.Files.newWriter;
 public class Csv implements FileDataSource {
 
     @Override
-    public List<InputData> getData(final Map<String, String> config, final File relativeTo, final InputData vars) throws IOException {
-        final ArrayList<InputData> data = new ArrayList<>();
+    public Stream<InputData> stream(final Map<String, String> config, final File relativeTo, final InputData vars) throws IOException {
         final File f = this.sourceFile(config, relativeTo, vars);
         final String charsetName = Context.getDataSourceEncoding();
-        try (final BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(f), charsetName))) {
+        final BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(f), charsetName));
+        try {
             final CSVReader csvR = new CSVReader(r);
-            final String[] keys = csvR.readNext();
-            if (keys != null) {
-                int rowNumber = 1;
-                for (final String[] line : csvR) {
-                    rowNumber++;
-                    final LinkedHashMap<String, String> row = new LinkedHashMap<>();
-                    if (line.length < keys.length) {
-                        throw new AssertionError("Not enough cells in row " + rowNumber + ".");
-                    }
-                    row.put(InputData.ROW_NUMBER, String.valueOf(rowNumber - 1));
-                    IntStream.range(0, keys.length).forEach(c -> row.put(keys[c], line[c]));
-                    data.add(new InputData(row));
+            final String[] keys = this.readNext(csvR);
+            final int[] rowNumber = {1};
+            return DataRows.stream(() -> {
+                if (keys == null) {
+                    return null;
                 }
-                if (rowNumber > 1) {
-                    final int lastRowNumber = rowNumber - 2;
-                    final InputData lastRow = data.get(lastRowNumber).lastRow(true);
-                    data.remove(lastRowNumber);
-                    data.add(lastRow);
+                final String[] line = this.readNext(csvR);
+                if (line == null) {
+                    return null;
                 }
-            }
-        } catch (final CsvValidationException e) {
-            throw new IOException(e);
+                rowNumber[0]++;
+                final LinkedHashMap<String, String> row = new LinkedHashMap<>();
+                if (line.length < keys.length) {
+                    throw new AssertionError("Not enough cells in row " + rowNumber[0] + ".");
+                }
+                row.put(InputData.ROW_NUMBER, String.valueOf(rowNumber[0] - 1));
+                IntStream.range(0, keys.length).forEach(c -> row.put(keys[c], line[c]));
+                return row;
+            }, r);
+        } catch (final IOException e) {
+            r.close();
+            throw e;
         }
-        return data;
     }
 
     @Override
@@ -90,6 +90,14 @@ public class Csv implements FileDataSource {
         };
     }
 
+    private String[] readNext(final CSVReader csvR) throws IOException {
+        try {
+            return csvR.readNext();
+        } catch (final CsvValidationException e) {
+            throw new IOException(e);
+        }
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) {
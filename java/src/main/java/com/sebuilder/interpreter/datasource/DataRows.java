@@ -0,0 +1,70 @@
+package com.sebuilder.interpreter.datasource;
+
+import com.sebuilder.interpreter.InputData;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Turns a reader of rows into a stream of InputData that holds one row ahead, so that the last row is flagged
+ * without reading the whole source first. Closing the stream closes the source.
+ */
+final class DataRows {
+
+    private DataRows() {
+    }
+
+    static Stream<InputData> stream(final Reader reader, final Closeable source) {
+        final Iterator<InputData> rows = new Iterator<>() {
+            private Map<String, String> next;
+            private boolean fetched;
+
+            @Override
+            public boolean hasNext() {
+                if (!this.fetched) {
+                    try {
+                        this.next = reader.read();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    this.fetched = true;
+                }
+                return this.next != null;
+            }
+
+            @Override
+            public InputData next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Map<String, String> row = this.next;
+                this.fetched = false;
+                return new InputData(row, !this.hasNext());
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        source.close();
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    interface Reader {
+        /**
+         * @return The next row, or null at the end of the source.
+         */
+        Map<String, String> read() throws IOException;
+    }
+}
@@ -4,12 +4,33 @@ import com.sebuilder.interpreter.DataSource;
 import com.sebuilder.interpreter.InputData;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.sebuilder.interpreter.Utils.findFile;
 
 public interface FileDataSource extends DataSource {
 
+    /**
+     * Reads the rows of the file as the stream is consumed.
+     */
+    @Override
+    Stream<InputData> stream(Map<String, String> config, File relativeTo, InputData vars) throws IOException;
+
+    @Override
+    default List<InputData> getData(final Map<String, String> config, final File relativeTo, final InputData vars) throws IOException {
+        try (final Stream<InputData> rows = this.stream(config, relativeTo, vars)) {
+            return rows.collect(Collectors.toCollection(ArrayList::new));
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     default File sourceFile(final Map<String, String> config, final File relativeTo, final InputData vars) {
         return findFile(relativeTo, this.name(config, vars));
     }
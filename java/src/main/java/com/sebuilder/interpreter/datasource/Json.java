@@ -18,17 +18,14 @@ package com.sebuilder.interpreter.datasource;
 
 import com.sebuilder.interpreter.Context;
 import com.sebuilder.interpreter.InputData;
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
 import java.io.*;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * JSON-based data source.
@@ -38,30 +35,46 @@ import java.util.stream.IntStream;
 public class Json implements FileDataSource {
 
     @Override
-    public List<InputData> getData(final Map<String, String> config, final File relativeTo, final InputData vars) throws IOException {
-        final ArrayList<InputData> data = new ArrayList<>();
+    public Stream<InputData> stream(final Map<String, String> config, final File relativeTo, final InputData vars) throws IOException {
         final File f = this.sourceFile(config, relativeTo, vars);
         final String charsetName = Context.getDataSourceEncoding();
-        try (final BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(f), charsetName))) {
+        final BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(f), charsetName));
+        try {
+            // the objects of the array are parsed one at a time
             final JSONTokener tok = new JSONTokener(r);
-            final JSONArray a = new JSONArray(tok);
-            IntStream.range(0, a.length()).forEach(i -> {
-                final JSONObject rowO = a.getJSONObject(i);
-                final LinkedHashMap<String, String> row = new LinkedHashMap<>();
-                row.put(InputData.ROW_NUMBER, String.valueOf(i + 1));
-                rowO.keySet().forEach(key -> row.put(key, rowO.getString(key)));
-                data.add(new InputData(row));
-            });
-            if (a.length() > 0) {
-                final int lastRowNumber = a.length() - 1;
-                final InputData lastRow = data.get(lastRowNumber).lastRow(true);
-                data.remove(lastRowNumber);
-                data.add(lastRow);
+            if (tok.nextClean() != '[') {
+                throw tok.syntaxError("A JSONArray text must start with '['");
             }
+            final int[] rowNumber = {0};
+            return DataRows.stream(() -> {
+                try {
+                    char next = tok.nextClean();
+                    if (rowNumber[0] > 0 && next == ',') {
+                        // a comma may trail the last object, as JSONArray allows it
+                        next = tok.nextClean();
+                    } else if (rowNumber[0] > 0 && next != ']') {
+                        throw tok.syntaxError("Expected a ',' or ']'");
+                    }
+                    if (next == ']') {
+                        return null;
+                    }
+                    tok.back();
+                    if (!(tok.nextValue() instanceof JSONObject rowO)) {
+                        throw new JSONException("JSONArray[" + rowNumber[0] + "] is not a JSONObject.");
+                    }
+                    rowNumber[0]++;
+                    final LinkedHashMap<String, String> row = new LinkedHashMap<>();
+                    row.put(InputData.ROW_NUMBER, String.valueOf(rowNumber[0]));
+                    rowO.keySet().forEach(key -> row.put(key, rowO.getString(key)));
+                    return row;
+                } catch (final JSONException e) {
+                    throw new IOException("Unable to get data.", e);
+                }
+            }, r);
         } catch (final JSONException e) {
+            r.close();
             throw new IOException("Unable to get data.", e);
         }
-        return data;
     }
 
     @Override
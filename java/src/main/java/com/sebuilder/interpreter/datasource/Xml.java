@@ -17,19 +17,21 @@
 package com.sebuilder.interpreter.datasource;
 
 import com.sebuilder.interpreter.InputData;
-import org.w3c.dom.Document;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InputStream;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * XML data source compatible with the standard IDE approach.
@@ -39,32 +41,42 @@ import java.util.stream.IntStream;
 public class Xml implements FileDataSource {
 
     @Override
-    public List<InputData> getData(final Map<String, String> config, final File relativeTo, final InputData vars) throws IOException {
-        final ArrayList<InputData> data = new ArrayList<>();
+    public Stream<InputData> stream(final Map<String, String> config, final File relativeTo, final InputData vars) throws IOException {
         final File f = this.sourceFile(config, relativeTo, vars);
+        final InputStream in = new BufferedInputStream(new FileInputStream(f));
         try {
-            final Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(f);
-            final NodeList rows = doc.getElementsByTagName("test");
-            IntStream.range(0, rows.getLength()).forEach(i -> {
-                final Node rowN = rows.item(i);
-                final NamedNodeMap attributes = rowN.getAttributes();
-                final LinkedHashMap<String, String> row = new LinkedHashMap<>();
-                row.put(InputData.ROW_NUMBER, String.valueOf(i + 1));
-                IntStream.range(0, attributes.getLength()).forEach(j ->
-                        row.put(attributes.item(j).getNodeName(), attributes.item(j).getNodeValue())
-                );
-                data.add(new InputData(row));
-            });
-            if (rows.getLength() > 0) {
-                final int lastRowNumber = rows.getLength() - 1;
-                final InputData lastRow = data.get(lastRowNumber).lastRow(true);
-                data.remove(lastRowNumber);
-                data.add(lastRow);
-            }
-        } catch (final Exception e) {
+            // the test elements are read one at a time, with their attributes in name order as the DOM has them
+            final XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+            final XMLStreamReader reader = factory.createXMLStreamReader(in);
+            final int[] rowNumber = {0};
+            return DataRows.stream(() -> {
+                try {
+                    while (reader.hasNext()) {
+                        if (reader.next() == XMLStreamConstants.START_ELEMENT && "test".equals(qualifiedName(reader.getPrefix(), reader.getLocalName()))) {
+                            final TreeMap<String, String> attributes = new TreeMap<>();
+                            IntStream.range(0, reader.getAttributeCount()).forEach(j ->
+                                    attributes.put(qualifiedName(reader.getAttributePrefix(j), reader.getAttributeLocalName(j)), reader.getAttributeValue(j))
+                            );
+                            final LinkedHashMap<String, String> row = new LinkedHashMap<>();
+                            row.put(InputData.ROW_NUMBER, String.valueOf(++rowNumber[0]));
+                            row.putAll(attributes);
+                            return row;
+                        }
+                    }
+                    return null;
+                } catch (final XMLStreamException e) {
+                    throw new IOException("Unable to get data.", e);
+                }
+            }, in);
+        } catch (final XMLStreamException e) {
+            in.close();
             throw new IOException("Unable to get data.", e);
         }
-        return data;
+    }
+
+    private static String qualifiedName(final String prefix, final String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
     }
 
     @Override
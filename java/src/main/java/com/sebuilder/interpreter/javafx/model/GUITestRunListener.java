@@ -13,6 +13,11 @@ public class GUITestRunListener extends TestRunListenerWrapper {
         this.application = application;
     }
 
+    @Override
+    public TestRunListener copy() {
+        return new GUITestRunListener(this.delegate.copy(), this.application);
+    }
+
     @Override
     public boolean openTestSuite(final TestCase testCase, final String testRunName, final InputData aProperty) {
         if (this.application.getSuite().get(testCase.name()) != null) {
@@ -5,6 +5,8 @@ import com.sebuilder.interpreter.Pointcut;
 import com.sebuilder.interpreter.Step;
 import com.sebuilder.interpreter.TestRun;
 
+import java.util.Optional;
+
 public record NegatedFilter(boolean target) implements Pointcut.ExportablePointcut {
 
     @Override
@@ -12,6 +14,11 @@ public record NegatedFilter(boolean target) implements Pointcut.ExportablePointc
         return this.target == step.negated();
     }
 
+    @Override
+    public Optional<Boolean> isHandle(final Step step) {
+        return Optional.of(this.isHandle(null, step, null));
+    }
+
     @Override
     public String value() {
         return Boolean.toString(this.target);
@@ -5,6 +5,8 @@ import com.sebuilder.interpreter.Pointcut;
 import com.sebuilder.interpreter.Step;
 import com.sebuilder.interpreter.TestRun;
 
+import java.util.Optional;
+
 public record SkipFilter(boolean target) implements Pointcut.ExportablePointcut {
 
     @Override
@@ -12,6 +14,14 @@ public record SkipFilter(boolean target) implements Pointcut.ExportablePointcut
         return step.isSkip(vars) == this.target;
     }
 
+    @Override
+    public Optional<Boolean> isHandle(final Step step) {
+        if (step.containsParam(Step.KEY_NAME_SKIP) && step.getParam(Step.KEY_NAME_SKIP).contains("${")) {
+            return Optional.empty();
+        }
+        return Optional.of(this.isHandle(null, step, new InputData()));
+    }
+
     @Override
     public String value() {
         return Boolean.toString(this.target);
@@ -7,6 +7,7 @@ import com.sebuilder.interpreter.TestRun;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 public record TypeFilter(String target, String method) implements Pointcut.ExportablePointcut {
 
@@ -19,6 +20,11 @@ public record TypeFilter(String target, String method) implements Pointcut.Expor
         return METHODS.get(this.method).apply(step.type().getStepTypeName(), this.target);
     }
 
+    @Override
+    public Optional<Boolean> isHandle(final Step step) {
+        return Optional.of(this.isHandle(null, step, null));
+    }
+
     @Override
     public Map<String, String> stringParams() {
         final Map<String, String> result = new HashMap<>();
@@ -6,6 +6,8 @@ import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.ViewName;
 import com.aventstack.extentreports.templating.FreemarkerTemplate;
+import com.sebuilder.interpreter.CommandTrace;
+import com.sebuilder.interpreter.TestRunListener;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
@@ -30,6 +32,16 @@ public class ExtentReportsTestRunListener extends TestRunListenerImpl {
         this.reports = null;
     }
 
+    protected ExtentReportsTestRunListener(final ExtentReportsTestRunListener extendFrom) {
+        super(extendFrom);
+        this.reports = extendFrom.reports;
+    }
+
+    @Override
+    public TestRunListener copy() {
+        return new ExtentReportsTestRunListener(this);
+    }
+
     @Override
     public String getReportFileName() {
         return "ExtentReport.html";
@@ -77,8 +89,10 @@ public class ExtentReportsTestRunListener extends TestRunListenerImpl {
     @Override
     public void startTest(final String testName) {
         super.startTest(testName);
-        this.extentTest = this.reports.createTest(testName)
-                .assignCategory(this.suiteName);
+        synchronized (this.reports) {
+            this.extentTest = this.reports.createTest(testName)
+                    .assignCategory(this.suiteName);
+        }
         this.extentTest.log(Status.INFO, this.inputData.entrySet()
                 .stream()
                 .collect(Collectors.toMap(
@@ -105,6 +119,15 @@ public class ExtentReportsTestRunListener extends TestRunListenerImpl {
         return result;
     }
 
+    @Override
+    public File addExpectScreenshot(final String file) {
+        final File result = super.addExpectScreenshot(file);
+        this.extentTest.addScreenCaptureFromPath(this.resultDir.getAbsoluteFile().toPath()
+                .relativize(result.getAbsoluteFile().toPath())
+                .toString());
+        return result;
+    }
+
     @Override
     public File addDownloadFile(final String file) {
         final File result = super.addDownloadFile(file);
@@ -129,6 +152,14 @@ public class ExtentReportsTestRunListener extends TestRunListenerImpl {
         this.extentTest = null;
     }
 
+    @Override
+    public void addCommandTrace(final CommandTrace.StepTotal stepTotal) {
+        super.addCommandTrace(stepTotal);
+        if (this.extentTest != null) {
+            this.extentTest.info("webdriver " + stepTotal);
+        }
+    }
+
     @Override
     public void info(final String s) {
         if (this.extentTest != null) {
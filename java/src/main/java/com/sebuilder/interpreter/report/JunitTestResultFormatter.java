@@ -1,5 +1,6 @@
 package com.sebuilder.interpreter.report;
 
+import com.sebuilder.interpreter.CommandTrace;
 import junit.framework.Test;
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.taskdefs.optional.junit.JUnitVersionHelper;
@@ -10,6 +11,7 @@ import org.w3c.dom.Element;
 import java.lang.reflect.Field;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.Optional;
 
 public class JunitTestResultFormatter extends XMLJUnitResultFormatter {
 
@@ -39,14 +41,32 @@ public class JunitTestResultFormatter extends XMLJUnitResultFormatter {
         String downloadPath = "";
         String screenshotPath = "";
         String expectScreenshotPath = "";
+        Optional<CommandTrace.StepTotal> commandTrace = Optional.empty();
         if (test instanceof JunitTestRunListener.ResultReportableTestCase) {
             screenshotPath = ((JunitTestRunListener.ResultReportableTestCase) test).getScreenshotPath();
             expectScreenshotPath = ((JunitTestRunListener.ResultReportableTestCase) test).getExpectScreenshotPath();
             downloadPath = ((JunitTestRunListener.ResultReportableTestCase) test).getDownloadPath();
+            commandTrace = ((JunitTestRunListener.ResultReportableTestCase) test).getCommandTrace();
         }
         currentTest.setAttribute("screenshot", screenshotPath);
         currentTest.setAttribute("screenshotExpect", expectScreenshotPath);
         currentTest.setAttribute("download", downloadPath);
+        commandTrace.ifPresent(it -> this.addCommandTrace(currentTest, it));
+    }
+
+    private void addCommandTrace(final Element currentTest, final CommandTrace.StepTotal commandTrace) {
+        currentTest.setAttribute("commands", Integer.toString(commandTrace.count()));
+        currentTest.setAttribute("commandBytes", Long.toString(commandTrace.bytes()));
+        currentTest.setAttribute("remoteTime", Double.toString(commandTrace.remoteNanos() / 1_000_000_000.0D));
+        currentTest.setAttribute("interpreterTime", Double.toString(commandTrace.interpreterNanos() / 1_000_000_000.0D));
+        commandTrace.commands().forEach((name, stats) -> {
+            final Element command = this.getDoc().createElement("command");
+            command.setAttribute("name", name);
+            command.setAttribute("count", Integer.toString(stats.count()));
+            command.setAttribute("bytes", Long.toString(stats.bytes()));
+            command.setAttribute("time", Double.toString(stats.nanos() / 1_000_000_000.0D));
+            currentTest.appendChild(command);
+        });
     }
 
     public String getClassname() {
@@ -1,7 +1,9 @@
 package com.sebuilder.interpreter.report;
 
+import com.sebuilder.interpreter.CommandTrace;
 import com.sebuilder.interpreter.InputData;
 import com.sebuilder.interpreter.TestCase;
+import com.sebuilder.interpreter.TestRunListener;
 import org.apache.logging.log4j.Logger;
 import org.apache.tools.ant.taskdefs.Delete;
 import org.apache.tools.ant.taskdefs.optional.junit.AggregateTransformer;
@@ -21,6 +23,7 @@ import java.nio.file.Files;
 import java.util.Date;
 import java.util.Hashtable;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class JunitTestRunListener extends TestRunListenerImpl {
@@ -44,6 +47,22 @@ public class JunitTestRunListener extends TestRunListenerImpl {
         this.info = 0;
     }
 
+    protected JunitTestRunListener(final TestRunListener extendFrom) {
+        super(extendFrom);
+        this.formatter = new JunitTestResultFormatter();
+        this.suite = null;
+        this.test = null;
+        this.runTest = 0;
+        this.error = 0;
+        this.failed = 0;
+        this.info = 0;
+    }
+
+    @Override
+    public TestRunListener copy() {
+        return new JunitTestRunListener(this);
+    }
+
     @Override
     public String getReportFileName() {
         return "junit-noframes.html";
@@ -103,6 +122,15 @@ public class JunitTestRunListener extends TestRunListenerImpl {
         return result;
     }
 
+    @Override
+    public File addExpectScreenshot(final String file) {
+        final File result = super.addExpectScreenshot(file);
+        this.test.setExpectScreenshotPath(this.resultDir.getAbsoluteFile().toPath()
+                .relativize(result.getAbsoluteFile().toPath())
+                .toString());
+        return result;
+    }
+
     @Override
     public File addDownloadFile(final String file) {
         final File result = super.addDownloadFile(file);
@@ -127,6 +155,14 @@ public class JunitTestRunListener extends TestRunListenerImpl {
         this.formatter.addFailure(this.test, new AssertionError(message));
     }
 
+    @Override
+    public void addCommandTrace(final CommandTrace.StepTotal stepTotal) {
+        super.addCommandTrace(stepTotal);
+        if (this.test != null) {
+            this.test.addCommandTrace(stepTotal);
+        }
+    }
+
     @Override
     public void info(final String s) {
         this.info++;
@@ -199,6 +235,7 @@ public class JunitTestRunListener extends TestRunListenerImpl {
         private String downloadPath = "";
         private String screenshotPath = "";
         private String expectScreenshotPath = "";
+        private CommandTrace.StepTotal commandTrace;
 
         private ResultReportableTestCase(final String testName) {
             super(testName);
@@ -227,6 +264,14 @@ public class JunitTestRunListener extends TestRunListenerImpl {
         public void setDownloadPath(final String downloadPath) {
             this.downloadPath = downloadPath;
         }
+
+        public Optional<CommandTrace.StepTotal> getCommandTrace() {
+            return Optional.ofNullable(this.commandTrace);
+        }
+
+        public void addCommandTrace(final CommandTrace.StepTotal commandTrace) {
+            this.commandTrace = this.commandTrace == null ? commandTrace : this.commandTrace.plus(commandTrace);
+        }
     }
 
 }
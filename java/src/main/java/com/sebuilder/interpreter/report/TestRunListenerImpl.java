@@ -7,6 +7,8 @@ import org.apache.tools.ant.taskdefs.Delete;
 import org.apache.tools.ant.taskdefs.Mkdir;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.List;
 
 public abstract class TestRunListenerImpl implements TestRunListener {
 
@@ -189,6 +191,11 @@ public abstract class TestRunListenerImpl implements TestRunListener {
         this.log.info("cause :" + message);
     }
 
+    @Override
+    public void addCommandTrace(final CommandTrace.StepTotal stepTotal) {
+        this.log.info("webdriver " + stepTotal);
+    }
+
     @Override
     public void endTest() {
         this.log.info("result success:" + this.testName);
@@ -201,6 +208,16 @@ public abstract class TestRunListenerImpl implements TestRunListener {
 
     @Override
     public void aggregateResult() {
+        // a screenshot written after its step ended is reported as an error of its own
+        final List<IOException> failures = Context.getImageSink().drain();
+        if (!failures.isEmpty()) {
+            this.openTestSuite(new TestCaseBuilder().build(), "imageSink", Context.settings());
+            failures.forEach(e -> {
+                this.startTest(e.getMessage());
+                this.addError(e);
+            });
+            this.closeTestSuite();
+        }
         this.log.info("aggregate test result");
     }
 
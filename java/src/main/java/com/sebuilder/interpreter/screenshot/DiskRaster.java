@@ -0,0 +1,325 @@
+package com.sebuilder.interpreter.screenshot;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A raster of 8 bit RGB or RGBA rows in a memory-mapped temporary file, for the images of pages taller than minHeight:
+ * the stitched canvas, the decoded baseline and the diff image then stay out of the heap, and are paged in stripe by
+ * stripe as the printers, the comparator and the encoder go through their rows.
+ * Pixels reads the rows directly, and other code sees an ordinary, if slower, BufferedImage of TYPE_CUSTOM.
+ * The files are in a directory of the process. A file the file system keeps while it is mapped, as Windows does,
+ * is deleted when its raster is collected or at the end of the run, and the directories of processes gone are
+ * deleted by the next one.
+ */
+public final class DiskRaster extends WritableRaster {
+
+    private static final String DIRECTORY_PREFIX = "screenshot-raster-";
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final Set<Path> UNDELETED = ConcurrentHashMap.newKeySet();
+    private static volatile int minHeight = 0;
+    private static Path tempRoot = Path.of(System.getProperty("java.io.tmpdir"));
+    private static Path directory;
+    private final ByteBuffer bytes;
+    private final int bands;
+    private final int scanlineStride;
+
+    private DiskRaster(final int width, final int height, final int bands, final ByteBuffer bytes) {
+        super(new PixelInterleavedSampleModel(DataBuffer.TYPE_BYTE, width, height, bands, width * bands
+                        , bands == 4 ? new int[]{0, 1, 2, 3} : new int[]{0, 1, 2})
+                , new MappedBuffer(bytes, width * height * bands)
+                , new Point(0, 0));
+        this.bytes = bytes;
+        this.bands = bands;
+        this.scanlineStride = width * bands;
+    }
+
+    /**
+     * @param height The height from which images go to disk, 0 to keep all of them in the heap.
+     */
+    public static void setMinHeight(final int height) {
+        minHeight = height;
+    }
+
+    public static boolean isEnabledFor(final int height) {
+        return minHeight > 0 && height >= minHeight;
+    }
+
+    /**
+     * Deletes the files left by the rasters collected since, e.g. at the end of a run; a file still mapped is kept for the next call.
+     */
+    public static synchronized void deleteTemporaryFiles() {
+        UNDELETED.removeIf(DiskRaster::delete);
+        if (UNDELETED.isEmpty() && directory != null && delete(directory)) {
+            directory = null;
+        }
+    }
+
+    static synchronized void setTempRoot(final Path root) {
+        tempRoot = root;
+        directory = null;
+    }
+
+    static synchronized Path getDirectory() throws IOException {
+        if (directory == null) {
+            deleteStaleDirectories();
+            directory = Files.createDirectories(tempRoot.resolve(DIRECTORY_PREFIX + ProcessHandle.current().pid()));
+        }
+        return directory;
+    }
+
+    /**
+     * @return A black image, on disk when it is tall enough.
+     */
+    public static BufferedImage create(final int width, final int height) {
+        if (!isEnabledFor(height)) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        }
+        return create(width, height, 3);
+    }
+
+    private static BufferedImage create(final int width, final int height, final int bands) {
+        final long size = (long) width * height * bands;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("image too large for one raster: " + width + "x" + height);
+        }
+        try {
+            final Path file = Files.createTempFile(getDirectory(), "screenshot-", ".raster");
+            final ByteBuffer mapped;
+            try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            final DiskRaster raster = new DiskRaster(width, height, bands, mapped);
+            // the mapping outlives the file where the file system allows it
+            if (!delete(file)) {
+                UNDELETED.add(file);
+                CLEANER.register(raster, () -> {
+                    if (delete(file)) {
+                        UNDELETED.remove(file);
+                    }
+                });
+            }
+            return new BufferedImage(new ComponentColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB)
+                    , bands == 4
+                    , false
+                    , bands == 4 ? Transparency.TRANSLUCENT : Transparency.OPAQUE
+                    , DataBuffer.TYPE_BYTE)
+                    , raster
+                    , false
+                    , null);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteStaleDirectories() throws IOException {
+        if (!Files.isDirectory(tempRoot)) {
+            return;
+        }
+        try (final Stream<Path> directories = Files.list(tempRoot)) {
+            directories.filter(it -> it.getFileName().toString().startsWith(DIRECTORY_PREFIX))
+                    .filter(it -> !isOwnerAlive(it))
+                    .forEach(DiskRaster::deleteDirectory);
+        }
+    }
+
+    private static void deleteDirectory(final Path directory) {
+        try (final Stream<Path> files = Files.list(directory)) {
+            files.forEach(DiskRaster::delete);
+            delete(directory);
+        } catch (final IOException e) {
+            // deleted by another process meanwhile
+        }
+    }
+
+    private static boolean isOwnerAlive(final Path directory) {
+        try {
+            final long pid = Long.parseLong(directory.getFileName().toString().substring(DIRECTORY_PREFIX.length()));
+            return ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+        } catch (final NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static boolean delete(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+            return true;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    public static BufferedImage read(final File png) throws IOException {
+        try (final ImageInputStream in = ImageIO.createImageInputStream(png)) {
+            return read(in);
+        }
+    }
+
+    public static BufferedImage read(final byte[] png) throws IOException {
+        try (final ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(png))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * @return The image as ImageIO.read decodes it, or decoded into a disk raster when it is tall enough.
+     */
+    private static BufferedImage read(final ImageInputStream in) throws IOException {
+        if (in == null) {
+            throw new IOException("Can't read input");
+        }
+        final Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        final ImageReader reader = readers.next();
+        try {
+            reader.setInput(in, true, true);
+            final ImageReadParam param = reader.getDefaultReadParam();
+            final ImageTypeSpecifier type = reader.getRawImageType(0);
+            // the decoders write every band of the source, so the raster takes the RGB or RGBA of the PNG as it is
+            if (isEnabledFor(reader.getHeight(0)) && type != null
+                    && type.getColorModel().getColorSpace().getType() == ColorSpace.TYPE_RGB
+                    && (type.getNumBands() == 3 || type.getNumBands() == 4)
+                    && type.getSampleModel().getSampleSize(0) == 8) {
+                final BufferedImage result = create(reader.getWidth(0), reader.getHeight(0), type.getNumBands());
+                param.setDestination(result);
+                reader.read(0, param);
+                return result;
+            }
+            return reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    public static boolean isOnDisk(final BufferedImage image) {
+        return image.getRaster() instanceof DiskRaster;
+    }
+
+    /**
+     * @return A copy of the image, on disk as the image is.
+     */
+    public static BufferedImage copyOf(final BufferedImage image) {
+        final BufferedImage result = isOnDisk(image)
+                ? create(image.getWidth(), image.getHeight())
+                : new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        draw(result, image, 0, 0);
+        return result;
+    }
+
+    /**
+     * Draws the part on the canvas, copying the rows into the raster when the canvas is on disk.
+     */
+    public static void draw(final BufferedImage canvas, final BufferedImage part, final int x, final int y) {
+        if (!(canvas.getRaster() instanceof DiskRaster raster)) {
+            final Graphics2D graphics = canvas.createGraphics();
+            try {
+                graphics.drawImage(part, x, y, null);
+            } finally {
+                graphics.dispose();
+            }
+            return;
+        }
+        final int fromX = Math.max(0, x);
+        final int toX = Math.min(canvas.getWidth(), x + part.getWidth());
+        if (fromX >= toX) {
+            return;
+        }
+        final Pixels pixels = new Pixels(part);
+        final int[] rgb = new int[toX - fromX];
+        final byte[] samples = new byte[rgb.length * raster.bands];
+        for (int row = Math.max(0, y); row < Math.min(canvas.getHeight(), y + part.getHeight()); row++) {
+            pixels.read(fromX - x, row - y, rgb.length, rgb);
+            for (int i = 0, j = 0; i < rgb.length; i++) {
+                samples[j++] = (byte) (rgb[i] >> 16);
+                samples[j++] = (byte) (rgb[i] >> 8);
+                samples[j++] = (byte) rgb[i];
+                if (raster.bands == 4) {
+                    samples[j++] = (byte) 0xff;
+                }
+            }
+            raster.bytes.put(row * raster.scanlineStride + fromX * raster.bands, samples);
+        }
+    }
+
+    ByteBuffer getBytes() {
+        return this.bytes;
+    }
+
+    int getBands() {
+        return this.bands;
+    }
+
+    int getScanlineStride() {
+        return this.scanlineStride;
+    }
+
+    /**
+     * Copies the rows of a raster as the decoders hand them over, instead of sample by sample.
+     */
+    @Override
+    public void setRect(final int dx, final int dy, final Raster src) {
+        final int fromX = Math.max(0, src.getMinX() + dx);
+        final int toX = Math.min(this.getWidth(), src.getMinX() + dx + src.getWidth());
+        if (fromX >= toX || src.getNumBands() != this.bands) {
+            super.setRect(dx, dy, src);
+            return;
+        }
+        final int width = toX - fromX;
+        final int[] samples = new int[width * this.bands];
+        final byte[] bytes = new byte[samples.length];
+        for (int row = Math.max(0, src.getMinY() + dy); row < Math.min(this.getHeight(), src.getMinY() + dy + src.getHeight()); row++) {
+            src.getPixels(fromX - dx, row - dy, width, 1, samples);
+            for (int i = 0; i < samples.length; i++) {
+                bytes[i] = (byte) samples[i];
+            }
+            this.bytes.put(row * this.scanlineStride + fromX * this.bands, bytes);
+        }
+    }
+
+    private static final class MappedBuffer extends DataBuffer {
+        private final ByteBuffer bytes;
+
+        MappedBuffer(final ByteBuffer bytes, final int size) {
+            super(DataBuffer.TYPE_BYTE, size);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public int getElem(final int bank, final int i) {
+            return this.bytes.get(i) & 0xff;
+        }
+
+        @Override
+        public void setElem(final int bank, final int i, final int val) {
+            this.bytes.put(i, (byte) val);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.sebuilder.interpreter.WebDriverWrapper;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The sizes the printers lay out a screenshot with, read by a single script: those of the current document and
+ * of the candidate scroll containers, including the document inside an iframe when it has the same origin.
+ * The values are the ones the getBody, getCssValue, getLocation and executeScript calls they replace return.
+ */
+public record DomMetrics(Document document, List<Element> elements) {
+
+    private static final String SURVEY = """
+            const survey = (doc, win) => {
+                const body = win.getComputedStyle(doc.body);
+                const html = doc.documentElement;
+                return {
+                    innerWidth: win.innerWidth,
+                    innerHeight: win.innerHeight,
+                    clientWidth: html.clientWidth,
+                    clientHeight: html.clientHeight,
+                    scrollWidth: Math.max(doc.body.scrollWidth, doc.body.offsetWidth, html.clientWidth, html.scrollWidth, html.offsetWidth),
+                    scrollHeight: Math.max(doc.body.scrollHeight, doc.body.offsetHeight, html.clientHeight, html.scrollHeight, html.offsetHeight),
+                    hiddenX: body.overflow === 'hidden' || body.overflowX === 'hidden',
+                    hiddenY: body.overflow === 'hidden' || body.overflowY === 'hidden'
+                };
+            };
+            const scrollable = (overflow, tagName) => overflow === 'auto' || overflow === 'scroll' || (overflow === 'visible' && tagName === 'textarea');
+            const isCandidate = (e, style, tagName) => tagName === 'iframe'
+                || ((e.scrollHeight > e.clientHeight || e.scrollWidth > e.clientWidth)
+                    && (scrollable(style.overflow, tagName) || scrollable(style.overflowY, tagName) || scrollable(style.overflowX, tagName)));
+            const element = (e, index) => {
+                const style = window.getComputedStyle(e);
+                const tagName = e.tagName.toLowerCase();
+                if (arguments[1] && !isCandidate(e, style, tagName)) {
+                    return null;
+                }
+                const rect = e.getBoundingClientRect();
+                let frame = null;
+                if (tagName === 'iframe') {
+                    try {
+                        frame = survey(e.contentDocument, e.contentWindow);
+                    } catch (ex) {
+                        frame = null;
+                    }
+                }
+                return {
+                    index: index,
+                    tagName: tagName,
+                    x: Math.trunc(rect.left + window.pageXOffset),
+                    y: Math.trunc(rect.top + window.pageYOffset),
+                    clientWidth: e.clientWidth,
+                    clientHeight: e.clientHeight,
+                    scrollWidth: e.scrollWidth,
+                    scrollHeight: e.scrollHeight,
+                    overflow: style.overflow,
+                    overflowX: style.overflowX,
+                    overflowY: style.overflowY,
+                    paddingTop: parseInt(style.paddingTop || style.padding),
+                    paddingBottom: parseInt(style.paddingBottom || style.padding),
+                    paddingLeft: parseInt(style.paddingLeft || style.padding),
+                    paddingRight: parseInt(style.paddingRight || style.padding),
+                    borderTop: parseInt(style.borderTopWidth),
+                    borderLeft: parseInt(style.borderLeftWidth),
+                    frame: frame
+                };
+            };
+            return {document: survey(document, window), elements: Array.from(arguments[0]).map(element).filter(e => e !== null)};
+            """;
+
+    public static DomMetrics survey(final WebDriverWrapper target) {
+        return survey(target, List.of());
+    }
+
+    public static DomMetrics survey(final WebDriverWrapper target, final List<WebElement> elements) {
+        return survey(target, elements, false);
+    }
+
+    /**
+     * @return The metrics of the iframes and of the elements that scroll their overflowed content, in the order of elements.
+     */
+    public static DomMetrics discover(final WebDriverWrapper target, final List<WebElement> elements) {
+        return survey(target, elements, true);
+    }
+
+    private static DomMetrics survey(final WebDriverWrapper target, final List<WebElement> elements, final boolean candidatesOnly) {
+        final Map<?, ?> result = (Map<?, ?>) target.executeScript(SURVEY, elements, candidatesOnly);
+        return new DomMetrics(Document.of((Map<?, ?>) result.get("document"))
+                , ((List<?>) result.get("elements")).stream()
+                .map(it -> Element.of((Map<?, ?>) it))
+                .toList());
+    }
+
+    public Element element(final int index) {
+        return this.elements.get(index);
+    }
+
+    private static int intValue(final Map<?, ?> values, final String key) {
+        return ((Number) values.get(key)).intValue();
+    }
+
+    public record Document(int innerWidth
+            , int innerHeight
+            , int clientWidth
+            , int clientHeight
+            , int scrollWidth
+            , int scrollHeight
+            , boolean hiddenX
+            , boolean hiddenY) {
+
+        static Document of(final Map<?, ?> values) {
+            return new Document(intValue(values, "innerWidth")
+                    , intValue(values, "innerHeight")
+                    , intValue(values, "clientWidth")
+                    , intValue(values, "clientHeight")
+                    , intValue(values, "scrollWidth")
+                    , intValue(values, "scrollHeight")
+                    , Boolean.TRUE.equals(values.get("hiddenX"))
+                    , Boolean.TRUE.equals(values.get("hiddenY")));
+        }
+
+        /**
+         * @see WebDriverWrapper#getContentWidth()
+         */
+        public int contentWidth() {
+            return this.hiddenX ? this.clientWidth : this.scrollWidth;
+        }
+
+        /**
+         * @see WebDriverWrapper#getContentHeight()
+         */
+        public int contentHeight() {
+            return this.hiddenY ? this.clientHeight : this.scrollHeight;
+        }
+
+        /**
+         * @see DocumentSurvey#getFullWidth()
+         */
+        public int fullWidth(final int windowWidth) {
+            return this.hiddenX ? windowWidth : this.scrollWidth;
+        }
+
+        /**
+         * @see DocumentSurvey#getFullHeight()
+         */
+        public int fullHeight(final int windowHeight) {
+            return this.hiddenY ? windowHeight : this.scrollHeight;
+        }
+    }
+
+    /**
+     * @param index The index of the element in the surveyed list.
+     * @param frame The document of an iframe, null for other tags and for a frame of another origin.
+     */
+    public record Element(int index
+            , String tagName
+            , int x
+            , int y
+            , int clientWidth
+            , int clientHeight
+            , int scrollWidth
+            , int scrollHeight
+            , String overflow
+            , String overflowX
+            , String overflowY
+            , int paddingTop
+            , int paddingBottom
+            , int paddingLeft
+            , int paddingRight
+            , int borderTop
+            , int borderLeft
+            , Document frame) {
+
+        static Element of(final Map<?, ?> values) {
+            return new Element(intValue(values, "index")
+                    , (String) values.get("tagName")
+                    , intValue(values, "x")
+                    , intValue(values, "y")
+                    , intValue(values, "clientWidth")
+                    , intValue(values, "clientHeight")
+                    , intValue(values, "scrollWidth")
+                    , intValue(values, "scrollHeight")
+                    , (String) values.get("overflow")
+                    , (String) values.get("overflowX")
+                    , (String) values.get("overflowY")
+                    , intValue(values, "paddingTop")
+                    , intValue(values, "paddingBottom")
+                    , intValue(values, "paddingLeft")
+                    , intValue(values, "paddingRight")
+                    , intValue(values, "borderTop")
+                    , intValue(values, "borderLeft")
+                    , values.get("frame") instanceof Map<?, ?> frame ? Document.of(frame) : null);
+        }
+
+        public boolean isIframe() {
+            return "iframe".equals(this.tagName);
+        }
+    }
+}
@@ -6,8 +6,6 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.ie.InternetExplorerDriver;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
-import java.awt.image.BufferedImage;
-
 public class Frame extends AbstractInnerElement {
 
     public Frame(final Printable parentPage
@@ -19,19 +17,19 @@ public class Frame extends AbstractInnerElement {
     }
 
     @Override
-    public BufferedImage printImage(final VerticalPrinter aPrinter, final int fromPointY) {
+    public PendingImage print(final VerticalPrinter aPrinter, final int fromPointY) {
         final WebDriver wd = this.driver();
         wd.switchTo().frame(this.getElement());
-        final BufferedImage result = super.printImage(aPrinter, fromPointY);
+        final PendingImage result = super.print(aPrinter, fromPointY);
         wd.switchTo().parentFrame();
         return result;
     }
 
     @Override
-    public BufferedImage getScreenshot() {
+    public byte[] getScreenshotBytes() {
         final WebDriver wd = this.driver();
         wd.switchTo().parentFrame();
-        final BufferedImage result = this.getParent().getScreenshot();
+        final byte[] result = this.getParent().getScreenshotBytes();
         wd.switchTo().frame(this.getElement());
         return result;
     }
@@ -64,18 +62,43 @@ public class Frame extends AbstractInnerElement {
                 .build();
     }
 
+    public static ScrollableHeight getHeight(final Printable parent, final RemoteWebDriver wd, final DomMetrics.Element metrics, final DomMetrics.Document content) {
+        final int border = metrics.borderTop();
+        return new ScrollableHeight.Builder().setWebDriver(wd)
+                .setPointY(getPointY(metrics.y(), border, wd))
+                .setViewportHeight(getClientHeight(metrics.clientHeight(), border, wd))
+                .setScrollableHeight(getScrollHeight(content.fullHeight(parent.getWindowHeight()), border, wd))
+                .build();
+    }
+
+    public static ScrollableWidth getWidth(final Printable parent, final RemoteWebDriver wd, final DomMetrics.Element metrics, final DomMetrics.Document content) {
+        return new ScrollableWidth.Builder().setWebDriver(wd)
+                .setPointX(metrics.x() + metrics.borderLeft())
+                .setViewportWidth(metrics.clientWidth())
+                .setScrollableWidth(content.fullWidth(parent.getWindowWidth()))
+                .build();
+    }
+
     protected static int getPointY(final WebElement target, final int border, final RemoteWebDriver wd) {
+        return getPointY(target.getLocation().getY(), border, wd);
+    }
+
+    protected static int getPointY(final int pointY, final int border, final RemoteWebDriver wd) {
         if (wd instanceof FirefoxDriver || wd instanceof InternetExplorerDriver) {
-            return target.getLocation().getY() + border * 2;
+            return pointY + border * 2;
         }
-        return target.getLocation().getY() + border;
+        return pointY + border;
     }
 
     protected static int getClientHeight(final WebElement target, final int border, final RemoteWebDriver wd) {
+        return getClientHeight(Integer.parseInt(target.getDomAttribute("clientHeight")), border, wd);
+    }
+
+    protected static int getClientHeight(final int clientHeight, final int border, final RemoteWebDriver wd) {
         if (wd instanceof FirefoxDriver || wd instanceof InternetExplorerDriver) {
-            return Integer.parseInt(target.getDomAttribute("clientHeight")) - border;
+            return clientHeight - border;
         }
-        return Integer.parseInt(target.getDomAttribute("clientHeight"));
+        return clientHeight;
     }
 
     protected static int getScrollHeight(final int scrollHeight, final int border, final RemoteWebDriver wd) {
@@ -0,0 +1,74 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.sebuilder.interpreter.TestRun;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * How SaveScreenshot captures the whole document.
+ * SCROLL, the default, scrolls the document and stitches one screenshot per viewport with the printers.
+ * CDP asks a Chromium browser for the content size in a single Page.captureScreenshot with captureBeyondViewport,
+ * and falls back to SCROLL when the driver has no CDP or the captured image doesn't have the expected size.
+ * Sticky headers and lazily loaded content render differently than when scrolled, so CDP is enabled with
+ * --screenshot.fullPage=cdp.
+ */
+public enum FullPageCapture {
+    SCROLL,
+    CDP;
+
+    /**
+     * The size the printers stitch: the scroll size of the document, or the viewport when the body hides its overflow.
+     */
+    private static final String CONTENT_SIZE = """
+            const body = window.getComputedStyle(document.body);
+            const html = document.documentElement;
+            const width = body.overflow === 'hidden' || body.overflowX === 'hidden' ? html.clientWidth
+                : Math.max(document.body.scrollWidth, document.body.offsetWidth, html.clientWidth, html.scrollWidth, html.offsetWidth);
+            const height = body.overflow === 'hidden' || body.overflowY === 'hidden' ? html.clientHeight
+                : Math.max(document.body.scrollHeight, document.body.offsetHeight, html.clientHeight, html.scrollHeight, html.offsetHeight);
+            return [width, height, window.devicePixelRatio];
+            """;
+
+    public static FullPageCapture fromName(final String name) {
+        return FullPageCapture.valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    public static Optional<BufferedImage> captureByCdp(final TestRun ctx) {
+        if (!(ctx.driver() instanceof HasCdp cdp)) {
+            return Optional.empty();
+        }
+        try {
+            final List<?> size = (List<?>) ctx.executeScript(CONTENT_SIZE);
+            final int width = ((Number) size.get(0)).intValue();
+            final int height = ((Number) size.get(1)).intValue();
+            final double devicePixelRatio = ((Number) size.get(2)).doubleValue();
+            final Map<String, Object> result = cdp.executeCdpCommand("Page.captureScreenshot", Map.of(
+                    "format", "png"
+                    , "captureBeyondViewport", true
+                    , "clip", Map.of("x", 0, "y", 0, "width", width, "height", height, "scale", 1)));
+            if (result == null || !(result.get("data") instanceof String data)) {
+                ctx.log().info("capture by cdp returned no data, fall back to scroll");
+                return Optional.empty();
+            }
+            final BufferedImage image = DiskRaster.read(Base64.getDecoder().decode(data));
+            // e.g. the page is taller than the browser can render at once
+            if (image == null
+                    || Math.abs(image.getWidth() - width * devicePixelRatio) > 1
+                    || Math.abs(image.getHeight() - height * devicePixelRatio) > 1) {
+                return Optional.empty();
+            }
+            return Optional.of(image);
+        } catch (final WebDriverException | ClassCastException | IndexOutOfBoundsException | IllegalArgumentException | IOException e) {
+            ctx.log().info("capture by cdp failed, fall back to scroll:" + e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -1,29 +1,24 @@
 package com.sebuilder.interpreter.screenshot;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
 
 public class HorizontalPrinter {
 
     private int printedWidth;
     private int printedImageWidth;
-    private Graphics2D graphics;
+    private PendingImage canvas;
 
     public BufferedImage getImage(final HorizontalSurvey target) {
+        return this.print(target).get();
+    }
+
+    public PendingImage print(final HorizontalSurvey target) {
         if (!target.hasHorizontalScroll()) {
             return this.getScreenshot(target, 0, target.getWindowWidth());
         }
-        BufferedImage finalImage;
-        try {
-            final int imageHeight = target.getImageHeight();
-            final int imageWidth = target.getFullImageWidth();
-            finalImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_3BYTE_BGR);
-            this.graphics = finalImage.createGraphics();
-            this.printImage(target);
-        } finally {
-            this.graphics.dispose();
-        }
-        return finalImage;
+        this.canvas = PendingImage.blank(target.getFullImageWidth(), target.getImageHeight());
+        this.printImage(target);
+        return this.canvas;
     }
 
     protected void printImage(final HorizontalSurvey target) {
@@ -33,7 +28,7 @@ public class HorizontalPrinter {
         int remainViewPortWidth = viewportWidth;
         while (this.nextPrintableWidth(target, remainViewPortWidth) > 0) {
             if (remainViewPortWidth > 0) {
-                final BufferedImage part = this.getScreenshot(target, viewportPrintFrom, remainViewPortWidth, viewportWidth);
+                final PendingImage part = this.getScreenshot(target, viewportPrintFrom, remainViewPortWidth, viewportWidth);
                 final int notScrolled = this.appendImageAndScrollHorizontal(target, part);
                 if (notScrolled == 0) {
                     viewportPrintFrom = fromPointX;
@@ -80,56 +75,56 @@ public class HorizontalPrinter {
         return this.printedWidth;
     }
 
-    protected BufferedImage getScreenshot(final HorizontalSurvey printTarget, final int printFrom, final int width) {
+    protected PendingImage getScreenshot(final HorizontalSurvey printTarget, final int printFrom, final int width) {
         return this.getScreenshot(printTarget, printFrom, width, width);
     }
 
-    protected BufferedImage getScreenshot(final HorizontalSurvey printTarget, final int printFrom, final int remainWidth, final int viewportWidth) {
-        final BufferedImage part = printTarget.getScreenshot();
-        return this.getBufferedImage(printTarget.convertImageWidth(printFrom)
+    protected PendingImage getScreenshot(final HorizontalSurvey printTarget, final int printFrom, final int remainWidth, final int viewportWidth) {
+        final PendingImage part = PendingImage.decode(printTarget.getScreenshotBytes());
+        return this.getPendingImage(printTarget.convertImageWidth(printFrom)
                 , printTarget.convertImageWidth(remainWidth)
                 , printTarget.convertImageWidth(viewportWidth)
                 , part);
     }
 
-    private BufferedImage getBufferedImage(final int printFrom, final int remainWidth, final int viewportWidth, BufferedImage part) {
+    private PendingImage getPendingImage(final int printFrom, final int remainWidth, final int viewportWidth, PendingImage part) {
         final int height = part.getHeight();
         final int width = Math.min(part.getWidth(), viewportWidth);
         if (remainWidth < width) {
             if (printFrom + remainWidth < part.getWidth()) {
-                part = this.getBufferedImage(printFrom, remainWidth, part, height);
+                part = this.getPendingImage(printFrom, remainWidth, part, height);
             } else {
                 if (printFrom + remainWidth < part.getWidth()) {
-                    part = this.getBufferedImage(part.getWidth() - remainWidth, remainWidth, part, height);
+                    part = this.getPendingImage(part.getWidth() - remainWidth, remainWidth, part, height);
                 } else if (printFrom < part.getWidth()) {
-                    part = this.getBufferedImage(printFrom, part, height);
+                    part = this.getPendingImage(printFrom, part, height);
                 }
             }
         } else {
             if (printFrom + width < part.getWidth()) {
-                part = this.getBufferedImage(printFrom, width, part, height);
+                part = this.getPendingImage(printFrom, width, part, height);
             } else if (printFrom < part.getWidth()) {
-                part = this.getBufferedImage(printFrom, part, height);
+                part = this.getPendingImage(printFrom, part, height);
             }
         }
         return part;
     }
 
-    private BufferedImage getBufferedImage(final int printFrom, final BufferedImage part, final int height) {
+    private PendingImage getPendingImage(final int printFrom, final PendingImage part, final int height) {
         return part.getSubimage(printFrom, 0, part.getWidth() - printFrom, height);
     }
 
-    private BufferedImage getBufferedImage(final int printFrom, final int remainWidth, final BufferedImage part, final int height) {
+    private PendingImage getPendingImage(final int printFrom, final int remainWidth, final PendingImage part, final int height) {
         return part.getSubimage(printFrom, 0, remainWidth, height);
     }
 
-    protected int appendImageAndScrollHorizontal(final HorizontalSurvey printTarget, final BufferedImage part) {
+    protected int appendImageAndScrollHorizontal(final HorizontalSurvey printTarget, final PendingImage part) {
         this.appendImage(part);
         return this.horizontallyScrollOutPrintedPart(printTarget, part.getWidth());
     }
 
-    protected void appendImage(final BufferedImage part) {
-        this.graphics.drawImage(part, this.printedImageWidth, 0, null);
+    protected void appendImage(final PendingImage part) {
+        this.canvas = this.canvas.draw(part, this.printedImageWidth, 0);
         this.printedImageWidth = this.printedImageWidth + part.getWidth();
     }
 
@@ -0,0 +1,224 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.github.romankh3.image.comparison.ImageComparisonUtil;
+import com.github.romankh3.image.comparison.model.Rectangle;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compares two images tile by tile on the common fork/join pool, reading the raster rows directly.
+ * A pixel differs as in ImageComparison: its RGB distance is beyond pixelToleranceLevel of the largest one,
+ * and pixels in the excluded areas are not compared. The diff image is drawn only when the images don't match.
+ */
+public final class ImageComparator {
+
+    private static final int TILE = 128;
+    private static final int GROUP_DISTANCE = 5;
+    private final double pixelToleranceLevel;
+    private final double allowingPercentOfDifferentPixels;
+    private final List<Rectangle> excludedAreas;
+
+    private ImageComparator(final Builder builder) {
+        this.pixelToleranceLevel = builder.pixelToleranceLevel;
+        this.allowingPercentOfDifferentPixels = builder.allowingPercentOfDifferentPixels;
+        this.excludedAreas = List.copyOf(builder.excludedAreas);
+    }
+
+    public Result compare(final BufferedImage expect, final BufferedImage actual) {
+        return this.compare(expect, actual, List.of(new java.awt.Rectangle(0, 0, actual.getWidth(), actual.getHeight())));
+    }
+
+    /**
+     * Compares the pixels inside the regions of the actual only, e.g. the tiles whose hashes differ from the baseline's.
+     * The pixels outside count as equal, and the different pixels are grouped within each region.
+     */
+    public Result compare(final BufferedImage expect, final BufferedImage actual, final List<java.awt.Rectangle> regions) {
+        BufferedImage expectResize = expect;
+        if (expect.getWidth() != actual.getWidth() || expect.getHeight() != actual.getHeight()) {
+            expectResize = ImageComparisonUtil.resize(expect, actual.getWidth(), actual.getHeight());
+        }
+        final Pixels expectPixels = new Pixels(expectResize);
+        final Pixels actualPixels = new Pixels(actual);
+        final int width = actual.getWidth();
+        final int height = actual.getHeight();
+        final List<Area> areas = new ArrayList<>();
+        for (int region = 0; region < regions.size(); region++) {
+            final java.awt.Rectangle bounds = regions.get(region).intersection(new java.awt.Rectangle(0, 0, width, height));
+            for (int y = bounds.y; y < bounds.y + bounds.height; y += TILE) {
+                for (int x = bounds.x; x < bounds.x + bounds.width; x += TILE) {
+                    areas.add(new Area(region, x, y
+                            , Math.min(TILE, bounds.x + bounds.width - x)
+                            , Math.min(TILE, bounds.y + bounds.height - y)));
+                }
+            }
+        }
+        final List<Tile> tiles = areas.parallelStream()
+                .map(it -> this.compare(expectPixels, actualPixels, it))
+                .filter(Objects::nonNull)
+                .toList();
+        final long differentPixels = tiles.stream().mapToLong(Tile::differentPixels).sum();
+        if (differentPixels == 0
+                || differentPixels * 100.0 / ((long) width * height) <= this.allowingPercentOfDifferentPixels) {
+            return new Result(true, differentPixels, List.of(), null);
+        }
+        final List<Rectangle> rectangles = tiles.stream()
+                .collect(Collectors.groupingBy(Tile::region, TreeMap::new, Collectors.toList()))
+                .values()
+                .stream()
+                .flatMap(it -> group(it).stream())
+                .toList();
+        return new Result(false, differentPixels, rectangles, this.drawDiff(actual, rectangles));
+    }
+
+    private Tile compare(final Pixels expect, final Pixels actual, final Area area) {
+        final int x = area.x();
+        final int y = area.y();
+        final int width = area.width();
+        final int height = area.height();
+        final List<Rectangle> exclude = this.excludedAreas.stream()
+                .filter(it -> it.getMinPoint().x < x + width && x <= it.getMaxPoint().x
+                        && it.getMinPoint().y < y + height && y <= it.getMaxPoint().y)
+                .toList();
+        final double differenceConstant = Math.pow(this.pixelToleranceLevel * Math.sqrt(Math.pow(255, 2) * 3), 2);
+        final int[] expectRow = new int[width];
+        final int[] actualRow = new int[width];
+        long count = 0;
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = -1;
+        int maxY = -1;
+        for (int row = y; row < y + height; row++) {
+            expect.read(x, row, width, expectRow);
+            actual.read(x, row, width, actualRow);
+            for (int i = 0; i < width; i++) {
+                if (this.isDifferent(expectRow[i], actualRow[i], differenceConstant)
+                        && !isExcluded(exclude, x + i, row)) {
+                    count++;
+                    minX = Math.min(minX, x + i);
+                    maxX = Math.max(maxX, x + i);
+                    minY = Math.min(minY, row);
+                    maxY = row;
+                }
+            }
+        }
+        if (count == 0) {
+            return null;
+        }
+        return new Tile(area.region(), count, new Rectangle(minX, minY, maxX, maxY));
+    }
+
+    private boolean isDifferent(final int expectRgb, final int actualRgb, final double differenceConstant) {
+        if ((expectRgb & 0xffffff) == (actualRgb & 0xffffff)) {
+            return false;
+        } else if (this.pixelToleranceLevel == 0.0) {
+            return true;
+        }
+        final int red = ((expectRgb >> 16) & 0xff) - ((actualRgb >> 16) & 0xff);
+        final int green = ((expectRgb >> 8) & 0xff) - ((actualRgb >> 8) & 0xff);
+        final int blue = (expectRgb & 0xff) - (actualRgb & 0xff);
+        return red * red + green * green + blue * blue > differenceConstant;
+    }
+
+    private static boolean isExcluded(final List<Rectangle> exclude, final int x, final int y) {
+        for (final Rectangle area : exclude) {
+            if (area.getMinPoint().x <= x && x <= area.getMaxPoint().x
+                    && area.getMinPoint().y <= y && y <= area.getMaxPoint().y) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merges the bounds of the different pixels of neighbouring tiles until no two are closer than GROUP_DISTANCE.
+     */
+    private static List<Rectangle> group(final List<Tile> tiles) {
+        final List<Rectangle> result = new ArrayList<>(tiles.stream().map(Tile::bounds).toList());
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int i = 0; i < result.size() && !merged; i++) {
+                for (int j = i + 1; j < result.size() && !merged; j++) {
+                    final Rectangle a = result.get(i);
+                    final Rectangle b = result.get(j);
+                    if (a.getMinPoint().x - GROUP_DISTANCE <= b.getMaxPoint().x
+                            && b.getMinPoint().x - GROUP_DISTANCE <= a.getMaxPoint().x
+                            && a.getMinPoint().y - GROUP_DISTANCE <= b.getMaxPoint().y
+                            && b.getMinPoint().y - GROUP_DISTANCE <= a.getMaxPoint().y) {
+                        result.set(i, new Rectangle(Math.min(a.getMinPoint().x, b.getMinPoint().x)
+                                , Math.min(a.getMinPoint().y, b.getMinPoint().y)
+                                , Math.max(a.getMaxPoint().x, b.getMaxPoint().x)
+                                , Math.max(a.getMaxPoint().y, b.getMaxPoint().y)));
+                        result.remove(j);
+                        merged = true;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private BufferedImage drawDiff(final BufferedImage actual, final List<Rectangle> rectangles) {
+        final BufferedImage result = DiskRaster.copyOf(actual);
+        final Graphics2D graphics = result.createGraphics();
+        try {
+            graphics.setColor(Color.GREEN);
+            this.excludedAreas.forEach(it -> draw(graphics, it));
+            graphics.setColor(Color.RED);
+            rectangles.forEach(it -> draw(graphics, it));
+        } finally {
+            graphics.dispose();
+        }
+        return result;
+    }
+
+    private static void draw(final Graphics2D graphics, final Rectangle rectangle) {
+        graphics.drawRect(rectangle.getMinPoint().x
+                , rectangle.getMinPoint().y
+                , rectangle.getMaxPoint().x - rectangle.getMinPoint().x
+                , rectangle.getMaxPoint().y - rectangle.getMinPoint().y);
+    }
+
+    private record Area(int region, int x, int y, int width, int height) {
+    }
+
+    private record Tile(int region, long differentPixels, Rectangle bounds) {
+    }
+
+    /**
+     * @param diffImage The actual image with the different and excluded areas drawn, null when the images match.
+     */
+    public record Result(boolean match, long differentPixels, List<Rectangle> rectangles, BufferedImage diffImage) {
+    }
+
+    public static class Builder {
+        private double pixelToleranceLevel = 0.1;
+        private double allowingPercentOfDifferentPixels = 0.0;
+        private final List<Rectangle> excludedAreas = new ArrayList<>();
+
+        public Builder setPixelToleranceLevel(final double pixelToleranceLevel) {
+            this.pixelToleranceLevel = pixelToleranceLevel;
+            return this;
+        }
+
+        public Builder setAllowingPercentOfDifferentPixels(final double allowingPercentOfDifferentPixels) {
+            this.allowingPercentOfDifferentPixels = allowingPercentOfDifferentPixels;
+            return this;
+        }
+
+        public Builder setExcludedAreas(final List<Rectangle> excludedAreas) {
+            this.excludedAreas.addAll(excludedAreas);
+            return this;
+        }
+
+        public ImageComparator build() {
+            return new ImageComparator(this);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.sebuilder.interpreter.screenshot;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes screenshots as PNG on background threads, so that the step goes on while the image is deflated.
+ * The queue is bounded: when it is full, the thread that asks for the write encodes the image itself.
+ * Opaque images are written by PngEncoder when there are cores to deflate its stripes on,
+ * the others by ImageIO at the same compression level.
+ * The step that asked for a write has ended by the time it fails, so failures are kept until drain reports them.
+ */
+public class ImageSink {
+
+    private static final int QUEUE_SIZE = 8;
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(2
+            , 2
+            , 0
+            , TimeUnit.MILLISECONDS
+            , new ArrayBlockingQueue<>(QUEUE_SIZE)
+            , Thread.ofPlatform().daemon().name("image-sink-", 0).factory()
+            , new ThreadPoolExecutor.CallerRunsPolicy());
+    private final Set<CompletableFuture<File>> pending = ConcurrentHashMap.newKeySet();
+    private final Queue<IOException> failures = new ConcurrentLinkedQueue<>();
+    private volatile int compressionLevel;
+
+    public ImageSink() {
+        this(4);
+    }
+
+    public ImageSink(final int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public void setCompressionLevel(final int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    public int getCompressionLevel() {
+        return this.compressionLevel;
+    }
+
+    /**
+     * @return The file, completed when it is written.
+     */
+    public CompletableFuture<File> write(final BufferedImage image, final File file) {
+        final int level = this.compressionLevel;
+        final CompletableFuture<File> result = CompletableFuture.supplyAsync(() -> {
+            try {
+                this.encode(image, file, level);
+                return file;
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, this.executor);
+        // drain waits for the failure to be kept, not only for the write
+        final CompletableFuture<File> tracked = result.whenComplete((written, e) -> {
+            if (e != null) {
+                final Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                this.failures.add(new IOException("image not written:" + file
+                        , cause instanceof UncheckedIOException unchecked ? unchecked.getCause() : cause));
+            }
+        });
+        this.pending.add(tracked);
+        tracked.whenComplete((written, e) -> this.pending.remove(tracked));
+        return result;
+    }
+
+    /**
+     * Waits for the queued images, e.g. before the reports that link them are written.
+     *
+     * @return The writes that failed since the last drain.
+     */
+    public List<IOException> drain() {
+        CompletableFuture.allOf(this.pending.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(e -> null)
+                .join();
+        final List<IOException> result = new ArrayList<>();
+        IOException failure;
+        while ((failure = this.failures.poll()) != null) {
+            result.add(failure);
+        }
+        return result;
+    }
+
+    protected void encode(final BufferedImage image, final File file, final int level) throws IOException {
+        // a raster on disk is encoded row by row without its alpha, as screenshots are opaque
+        if (DiskRaster.isOnDisk(image) || !image.getColorModel().hasAlpha() && Runtime.getRuntime().availableProcessors() > 1) {
+            try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+                new PngEncoder(level).write(image, out);
+            }
+            return;
+        }
+        Files.deleteIfExists(file.toPath());
+        final ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        try (final ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            // the writer deflates at level (int) (9 * (1 - quality))
+            param.setCompressionQuality(Math.max(0.0f, 1.0f - (level + 0.5f) / 9));
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.sebuilder.interpreter.screenshot;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps images under a root directory by the hash of their pixels, so that an image shown by many screenshots and
+ * baselines is encoded and written once. The manifest of the root maps screenshot names to blobs; a name that is not
+ * in the manifest is looked up as a plain file under the root, as written without the store.
+ */
+public class ImageStore {
+
+    public static final String BLOB_DIRECTORY = "blobs";
+    public static final String MANIFEST = "manifest.tsv";
+    private final File root;
+    private final ImageSink sink;
+    private final Map<String, CompletableFuture<File>> writing = new ConcurrentHashMap<>();
+    private Map<String, String> manifest = Map.of();
+    private long manifestModified = -1;
+    private long manifestLength = -1;
+
+    public ImageStore(final File root, final ImageSink sink) {
+        this.root = root;
+        this.sink = sink;
+    }
+
+    /**
+     * @return The hex SHA-256 of the size and the RGB of the pixels, equal for opaque images that look the same whatever their type.
+     */
+    public static String hash(final BufferedImage image) {
+        final MessageDigest digest = newDigest();
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final Pixels pixels = new Pixels(image);
+        final int[] rgb = new int[width];
+        final byte[] bytes = new byte[width * 3];
+        digest.update((width + "x" + height).getBytes(StandardCharsets.US_ASCII));
+        for (int y = 0; y < height; y++) {
+            pixels.read(0, y, width, rgb);
+            for (int i = 0, j = 0; i < width; i++) {
+                bytes[j++] = (byte) (rgb[i] >> 16);
+                bytes[j++] = (byte) (rgb[i] >> 8);
+                bytes[j++] = (byte) rgb[i];
+            }
+            digest.update(bytes);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public File getRoot() {
+        return this.root;
+    }
+
+    public File blob(final String key) {
+        return new File(new File(new File(this.root, BLOB_DIRECTORY), key.substring(0, 2)), key + ".png");
+    }
+
+    /**
+     * @return The path of the file from the root, as the reports link it.
+     */
+    public String relativize(final File file) {
+        return this.root.getAbsoluteFile().toPath().relativize(file.getAbsoluteFile().toPath()).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * @return The blob of the image, completed when it is written; the image is encoded only if no blob has the key.
+     */
+    public CompletableFuture<File> put(final String key, final BufferedImage image) {
+        final File blob = this.blob(key);
+        final CompletableFuture<File> created = new CompletableFuture<>();
+        final CompletableFuture<File> current = this.writing.compute(key, (k, it) ->
+                it != null && !it.isCompletedExceptionally() && (!it.isDone() || blob.exists()) ? it : created);
+        if (current != created) {
+            return current;
+        }
+        if (blob.exists()) {
+            created.complete(blob);
+            return created;
+        }
+        final File temp;
+        try {
+            temp = this.temporary(blob);
+        } catch (final IOException e) {
+            created.completeExceptionally(e);
+            return created;
+        }
+        this.sink.write(image, temp).whenComplete((written, e) -> {
+            if (e != null) {
+                created.completeExceptionally(e);
+                return;
+            }
+            try {
+                created.complete(this.moveTo(temp, blob));
+            } catch (final IOException ex) {
+                created.completeExceptionally(ex);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Copies the bytes of a PNG file of the key, unless a blob has the key already.
+     */
+    public File put(final String key, final File png) throws IOException {
+        final File blob = this.blob(key);
+        if (blob.exists()) {
+            return blob;
+        }
+        final File temp = this.temporary(blob);
+        Files.copy(png.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return this.moveTo(temp, blob);
+    }
+
+    public synchronized void record(final String name, final String key) throws IOException {
+        final Path manifestFile = this.getManifestFile().toPath();
+        Files.createDirectories(manifestFile.getParent());
+        Files.writeString(manifestFile, name + "\t" + key + "\n", StandardCharsets.UTF_8
+                , StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * @return The key of the name in the manifest, unless its blob is gone, e.g. pruned or not copied with the manifest.
+     */
+    public Optional<String> keyOf(final String name) throws IOException {
+        return Optional.ofNullable(this.getManifest().get(name))
+                .filter(key -> this.blob(key).exists());
+    }
+
+    /**
+     * @return The blob of the name in the manifest, or else the file of the name.
+     */
+    public File resolve(final String name) throws IOException {
+        return this.keyOf(name)
+                .map(this::blob)
+                .orElseGet(() -> new File(this.root, name));
+    }
+
+    public File getManifestFile() {
+        return new File(this.root, MANIFEST);
+    }
+
+    protected synchronized Map<String, String> getManifest() throws IOException {
+        final File file = this.getManifestFile();
+        if (file.lastModified() != this.manifestModified || file.length() != this.manifestLength) {
+            final Map<String, String> result = new HashMap<>();
+            if (file.exists()) {
+                for (final String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                    final String[] nameAndKey = line.split("\t", 2);
+                    if (nameAndKey.length == 2) {
+                        result.put(nameAndKey[0], nameAndKey[1]);
+                    }
+                }
+            }
+            this.manifest = result;
+            this.manifestModified = file.lastModified();
+            this.manifestLength = file.length();
+        }
+        return this.manifest;
+    }
+
+    private File temporary(final File blob) throws IOException {
+        Files.createDirectories(blob.getParentFile().toPath());
+        return new File(blob.getParentFile(), blob.getName() + "." + UUID.randomUUID() + ".tmp");
+    }
+
+    private File moveTo(final File temp, final File blob) throws IOException {
+        Files.move(temp.toPath(), blob.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return blob;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
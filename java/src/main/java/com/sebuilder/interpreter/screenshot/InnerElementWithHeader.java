@@ -4,8 +4,6 @@ import com.sebuilder.interpreter.TestRun;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
-import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.util.Map;
 
 public class InnerElementWithHeader implements InnerElement {
@@ -45,30 +43,23 @@ public class InnerElementWithHeader implements InnerElement {
     }
 
     @Override
-    public BufferedImage printImage(final VerticalPrinter aPrinter, final int fromPointY) {
+    public PendingImage print(final VerticalPrinter aPrinter, final int fromPointY) {
         final int imageHeight = this.getFullImageHeight();
         final int imageWidth = this.getFullImageWidth();
-        final BufferedImage result = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_3BYTE_BGR);
-        final Graphics2D graphics = result.createGraphics();
-        BufferedImage headerImage = this.headerElement.printImage(new HorizontalPrinter());
+        PendingImage headerImage = this.headerElement.print(new HorizontalPrinter());
         headerImage = headerImage.getSubimage(0
                 , this.element.convertImageHeight(fromPointY)
                 , headerImage.getWidth()
                 , this.element.convertImageHeight(this.element.getPointY() - this.headerElement.getPointY()));
-        graphics.drawImage(headerImage, 0, 0, null);
         final int mainImageStartFrom = this.element.convertDocumentHeight(headerImage.getHeight()) + fromPointY;
-        graphics.drawImage(this.element.printImage(aPrinter
-                        , mainImageStartFrom)
-                , 0
-                , headerImage.getHeight()
-                , null);
-        graphics.dispose();
-        return result;
+        return PendingImage.blank(imageWidth, imageHeight)
+                .draw(headerImage, 0, 0)
+                .draw(this.element.print(aPrinter, mainImageStartFrom), 0, headerImage.getHeight());
     }
 
     @Override
-    public BufferedImage printImage(final HorizontalPrinter aPrinter) {
-        return this.element.printImage(aPrinter);
+    public PendingImage print(final HorizontalPrinter aPrinter) {
+        return this.element.print(aPrinter);
     }
 
     @Override
@@ -147,8 +138,8 @@ public class InnerElementWithHeader implements InnerElement {
     }
 
     @Override
-    public BufferedImage getScreenshot() {
-        return this.element.getScreenshot();
+    public byte[] getScreenshotBytes() {
+        return this.element.getScreenshotBytes();
     }
 
     @Override
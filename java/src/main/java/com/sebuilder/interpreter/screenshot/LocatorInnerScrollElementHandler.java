@@ -22,41 +22,35 @@ public class LocatorInnerScrollElementHandler implements InnerScrollElementHandl
             return;
         }
         final List<WebElement> elements = testRun.locator().findElements(testRun);
-        elements.stream()
-                .filter(element -> element.getTagName().equals("iframe"))
-                .forEach(targetFrame -> {
-                            final Frame printableFrame = this.toFrame(parent, targetFrame);
+        final List<DomMetrics.Element> candidates = DomMetrics.discover(parent, elements).elements();
+        candidates.stream()
+                .filter(DomMetrics.Element::isIframe)
+                .forEach(element -> {
+                            final Frame printableFrame = this.toFrame(parent, elements.get(element.index()), element);
                             if (printableFrame.hasVerticalScroll() && printableFrame.getViewportHeight() > 0) {
                                 innerPrintableElement.put(printableFrame.getPointY(), printableFrame);
                             }
                         }
                 );
-        elements.stream()
-                .filter(element -> !element.getTagName().equals("iframe"))
-                .filter(element -> {
-                    final int scrollHeight = Integer.parseInt(element.getDomAttribute("scrollHeight"));
-                    final int clientHeight = Integer.parseInt(element.getDomAttribute("clientHeight"));
-                    final int scrollWidth = Integer.parseInt(element.getDomAttribute("scrollWidth"));
-                    final int clientWidth = Integer.parseInt(element.getDomAttribute("clientWidth"));
-                    return (scrollHeight > clientHeight) || (scrollWidth > clientWidth);
-                })
-                .filter(element -> {
-                    if (this.isScrollable(element, element.getCssValue("overflow"))) {
-                        return true;
-                    }
-                    return this.isScrollable(element, element.getCssValue("overflow-y"))
-                            || this.isScrollable(element, element.getCssValue("overflow-x"));
-                })
-                .forEach(targetDiv -> {
-                    final ScrollableTag tag = this.toScrollableTag(parent, testRun, targetDiv);
-                    if (testRun.currentStep().locatorContains("locatorHeader")) {
-                        final InnerElement headerArea = this.toScrollableTag(parent, testRun, testRun.locator("locatorHeader").find(testRun));
-                        final InnerElement withHeader = new InnerElementWithHeader(tag, headerArea);
-                        innerPrintableElement.put(withHeader.getPointY(), withHeader);
-                    } else {
-                        innerPrintableElement.put(tag.getPointY(), tag);
-                    }
-                });
+        WebElement header = null;
+        DomMetrics.Element headerMetrics = null;
+        for (final DomMetrics.Element element : candidates) {
+            if (element.isIframe()) {
+                continue;
+            }
+            final ScrollableTag tag = this.toScrollableTag(parent, testRun, elements.get(element.index()), element);
+            if (testRun.currentStep().locatorContains("locatorHeader")) {
+                if (header == null) {
+                    header = testRun.locator("locatorHeader").find(testRun);
+                    headerMetrics = DomMetrics.survey(parent, List.of(header)).element(0);
+                }
+                final InnerElement headerArea = this.toScrollableTag(parent, testRun, header, headerMetrics);
+                final InnerElement withHeader = new InnerElementWithHeader(tag, headerArea);
+                innerPrintableElement.put(withHeader.getPointY(), withHeader);
+            } else {
+                innerPrintableElement.put(tag.getPointY(), tag);
+            }
+        }
     }
 
     public Frame toFrame(final Printable parent, final WebElement targetFrame) {
@@ -69,13 +63,27 @@ public class LocatorInnerScrollElementHandler implements InnerScrollElementHandl
         return result;
     }
 
+    public Frame toFrame(final Printable parent, final WebElement targetFrame, final DomMetrics.Element metrics) {
+        final RemoteWebDriver wd = parent.driver();
+        wd.switchTo().frame(targetFrame);
+        // a frame of another origin is not readable from its parent document
+        final DomMetrics.Document content = metrics.frame() != null ? metrics.frame() : DomMetrics.survey(parent).document();
+        final ScrollableHeight height = Frame.getHeight(parent, wd, metrics, content);
+        final ScrollableWidth width = Frame.getWidth(parent, wd, metrics, content);
+        final Frame result = new Frame(parent, targetFrame, this, height, width);
+        wd.switchTo().parentFrame();
+        return result;
+    }
+
     public ScrollableTag toScrollableTag(final Printable parent, final TestRun testRun, final WebElement targetDiv) {
         final ScrollableHeight height = ScrollableTag.getHeight(testRun, targetDiv);
         final ScrollableWidth width = ScrollableTag.getWidth(testRun, targetDiv);
         return new ScrollableTag(parent, targetDiv, height, width);
     }
 
-    private boolean isScrollable(final WebElement element, final String overflow) {
-        return "auto".equals(overflow) || "scroll".equals(overflow) || ("visible".equals(overflow) && element.getTagName().equals("textarea"));
+    public ScrollableTag toScrollableTag(final Printable parent, final TestRun testRun, final WebElement targetDiv, final DomMetrics.Element metrics) {
+        final ScrollableHeight height = ScrollableTag.getHeight(testRun, targetDiv, metrics);
+        final ScrollableWidth width = ScrollableTag.getWidth(testRun, targetDiv, metrics);
+        return new ScrollableTag(parent, targetDiv, height, width);
     }
 }
@@ -2,7 +2,7 @@ package com.sebuilder.interpreter.screenshot;
 
 import com.sebuilder.interpreter.TestRun;
 
-import java.awt.image.BufferedImage;
+import java.awt.*;
 
 
 public class Page extends AbstractPrintable {
@@ -15,13 +15,14 @@ public class Page extends AbstractPrintable {
 
     public Page(final TestRun ctx, final InnerScrollElementHandler innerScrollElementHandler) {
         super(ctx);
-        final BufferedImage image = this.getScreenshot();
-        this.height = getHeight(ctx);
-        this.width = getWidth(ctx);
-        this.imageHeight = image.getHeight();
-        this.imageWidth = image.getWidth();
-        this.windowHeight = ctx.getWindowHeight();
-        this.windowWidth = ctx.getWindowWidth();
+        final Dimension size = PendingImage.sizeOf(this.getScreenshotBytes());
+        final DomMetrics.Document document = DomMetrics.survey(ctx).document();
+        this.height = getHeight(ctx, document);
+        this.width = getWidth(ctx, document);
+        this.imageHeight = size.height;
+        this.imageWidth = size.width;
+        this.windowHeight = document.innerHeight();
+        this.windowWidth = document.innerWidth();
         this.handleInnerScrollElement(innerScrollElementHandler);
     }
 
@@ -41,6 +42,22 @@ public class Page extends AbstractPrintable {
                 .build();
     }
 
+    public static ScrollableWidth getWidth(final TestRun ctx, final DomMetrics.Document document) {
+        return new ScrollableWidth.Builder()
+                .setWebDriver(ctx.driver())
+                .setViewportWidth(document.clientWidth())
+                .setScrollableWidth(document.contentWidth())
+                .build();
+    }
+
+    public static ScrollableHeight getHeight(final TestRun ctx, final DomMetrics.Document document) {
+        return new ScrollableHeight.Builder()
+                .setWebDriver(ctx.driver())
+                .setViewportHeight(document.clientHeight())
+                .setScrollableHeight(document.contentHeight())
+                .build();
+    }
+
     @Override
     public ScrollableWidth getWidth() {
         return this.width;
@@ -0,0 +1,120 @@
+package com.sebuilder.interpreter.screenshot;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * An image the printers crop and place while it is still being decoded.
+ * The size of a screenshot is read from its PNG header, so the test thread only scrolls and captures,
+ * and the decoding, cropping and drawing run on worker threads. Draws on the same canvas run in order.
+ */
+public final class PendingImage {
+
+    private static final Executor WORKER = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors())
+            , Thread.ofPlatform().daemon().name("screenshot-decode-", 0).factory());
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private final CompletableFuture<BufferedImage> image;
+    private final int width;
+    private final int height;
+
+    private PendingImage(final CompletableFuture<BufferedImage> image, final int width, final int height) {
+        this.image = image;
+        this.width = width;
+        this.height = height;
+    }
+
+    public static PendingImage of(final BufferedImage image) {
+        return new PendingImage(CompletableFuture.completedFuture(image), image.getWidth(), image.getHeight());
+    }
+
+    public static PendingImage blank(final int width, final int height) {
+        return of(DiskRaster.create(width, height));
+    }
+
+    public static PendingImage decode(final byte[] png) {
+        final Dimension size = readPngSize(png);
+        if (size == null) {
+            return of(read(png));
+        }
+        return new PendingImage(CompletableFuture.supplyAsync(() -> read(png), WORKER), size.width, size.height);
+    }
+
+    public static Dimension sizeOf(final byte[] png) {
+        final Dimension result = readPngSize(png);
+        if (result == null) {
+            final BufferedImage image = read(png);
+            return new Dimension(image.getWidth(), image.getHeight());
+        }
+        return result;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    public PendingImage getSubimage(final int x, final int y, final int w, final int h) {
+        return new PendingImage(this.image.thenApply(it -> it.getSubimage(x, y, w, h)), w, h);
+    }
+
+    /**
+     * @return This canvas after the part is drawn at x, y.
+     */
+    public PendingImage draw(final PendingImage part, final int x, final int y) {
+        return new PendingImage(this.image.thenCombineAsync(part.image, (canvas, drawn) -> {
+            DiskRaster.draw(canvas, drawn, x, y);
+            return canvas;
+        }, WORKER), this.width, this.height);
+    }
+
+    public BufferedImage get() {
+        try {
+            return this.image.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Can not load screenshot data", e.getCause());
+        }
+    }
+
+    private static BufferedImage read(final byte[] png) {
+        try (final ByteArrayInputStream imageArrayStream = new ByteArrayInputStream(png)) {
+            final BufferedImage result = ImageIO.read(imageArrayStream);
+            if (result == null) {
+                throw new IllegalStateException("Can not load screenshot data");
+            }
+            return result;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Can not load screenshot data", e);
+        }
+    }
+
+    private static Dimension readPngSize(final byte[] png) {
+        if (png.length < 24) {
+            return null;
+        }
+        for (int i = 0; i < PNG_SIGNATURE.length; i++) {
+            if (png[i] != PNG_SIGNATURE[i]) {
+                return null;
+            }
+        }
+        final ByteBuffer header = ByteBuffer.wrap(png);
+        if (header.getInt(12) != 0x49484452) {
+            return null;
+        }
+        return new Dimension(header.getInt(16), header.getInt(20));
+    }
+}
@@ -0,0 +1,79 @@
+package com.sebuilder.interpreter.screenshot;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads rows of RGB from the data buffer of the usual screenshot types and of a DiskRaster, and through getRGB from
+ * any other image.
+ */
+final class Pixels {
+    private final BufferedImage image;
+    private final byte[] bytes;
+    private final int[] ints;
+    private final ByteBuffer mapped;
+    private final int pixelStride;
+    private final int scanlineStride;
+
+    Pixels(final BufferedImage image) {
+        this.image = image;
+        final boolean untranslated = image.getRaster().getSampleModelTranslateX() == 0
+                && image.getRaster().getSampleModelTranslateY() == 0
+                && image.getRaster().getDataBuffer().getOffset() == 0;
+        if (image.getRaster() instanceof DiskRaster raster) {
+            this.bytes = null;
+            this.ints = null;
+            this.mapped = raster.getBytes();
+            this.pixelStride = raster.getBands();
+            this.scanlineStride = raster.getScanlineStride();
+        } else if (untranslated && (image.getType() == BufferedImage.TYPE_3BYTE_BGR || image.getType() == BufferedImage.TYPE_4BYTE_ABGR)) {
+            final ComponentSampleModel sampleModel = (ComponentSampleModel) image.getSampleModel();
+            this.bytes = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+            this.ints = null;
+            this.mapped = null;
+            this.pixelStride = sampleModel.getPixelStride();
+            this.scanlineStride = sampleModel.getScanlineStride();
+        } else if (untranslated && (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_INT_ARGB)) {
+            this.bytes = null;
+            this.ints = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            this.mapped = null;
+            this.pixelStride = 1;
+            this.scanlineStride = ((SinglePixelPackedSampleModel) image.getSampleModel()).getScanlineStride();
+        } else {
+            this.bytes = null;
+            this.ints = null;
+            this.mapped = null;
+            this.pixelStride = 0;
+            this.scanlineStride = 0;
+        }
+    }
+
+    void read(final int x, final int y, final int width, final int[] row) {
+        if (this.ints != null) {
+            System.arraycopy(this.ints, y * this.scanlineStride + x, row, 0, width);
+        } else if (this.bytes != null) {
+            // blue, green, red follow the alpha of 4BYTE_ABGR
+            int offset = y * this.scanlineStride + x * this.pixelStride + this.pixelStride - 3;
+            for (int i = 0; i < width; i++, offset += this.pixelStride) {
+                row[i] = (this.bytes[offset] & 0xff)
+                        | (this.bytes[offset + 1] & 0xff) << 8
+                        | (this.bytes[offset + 2] & 0xff) << 16;
+            }
+        } else if (this.mapped != null) {
+            // absolute gets leave the position alone, so that rows are read from many threads at once
+            final byte[] samples = new byte[width * this.pixelStride];
+            this.mapped.get(y * this.scanlineStride + x * this.pixelStride, samples);
+            for (int i = 0, offset = 0; i < width; i++, offset += this.pixelStride) {
+                row[i] = (samples[offset] & 0xff) << 16
+                        | (samples[offset + 1] & 0xff) << 8
+                        | (samples[offset + 2] & 0xff);
+            }
+        } else {
+            this.image.getRGB(x, y, width, 1, row, 0, width);
+        }
+    }
+}
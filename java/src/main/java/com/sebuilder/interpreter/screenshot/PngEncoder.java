@@ -0,0 +1,209 @@
+package com.sebuilder.interpreter.screenshot;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes an opaque image as an 8 bit RGB PNG, deflating stripes of rows in parallel.
+ * Each stripe is an independent raw deflate stream that ends with a sync flush, so the stripes concatenate into one
+ * zlib stream, and their adler32 checksums are combined as zlib does.
+ */
+final class PngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final int STRIPE_ROWS = 128;
+    private static final int ADLER_BASE = 65521;
+    private final int compressionLevel;
+
+    PngEncoder(final int compressionLevel) {
+        this.compressionLevel = compressionLevel;
+    }
+
+    void write(final BufferedImage image, final OutputStream out) throws IOException {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final Pixels pixels = new Pixels(image);
+        final int stripes = (height + STRIPE_ROWS - 1) / STRIPE_ROWS;
+        final List<Stripe> deflated = IntStream.range(0, stripes)
+                .parallel()
+                .mapToObj(i -> this.deflate(pixels, width, i * STRIPE_ROWS, Math.min(height, (i + 1) * STRIPE_ROWS), i == stripes - 1))
+                .toList();
+        final DataOutputStream data = new DataOutputStream(out);
+        data.write(SIGNATURE);
+        final ByteArrayOutputStream header = new ByteArrayOutputStream();
+        final DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.write(new byte[]{8, 2, 0, 0, 0});
+        writeChunk(data, "IHDR", header.toByteArray());
+        // zlib header of the default window size
+        writeChunk(data, "IDAT", new byte[]{0x78, (byte) 0x9c});
+        long adler = 1;
+        for (final Stripe stripe : deflated) {
+            writeChunk(data, "IDAT", stripe.deflated());
+            adler = combineAdler32(adler, stripe.adler32(), stripe.rawLength());
+        }
+        final ByteArrayOutputStream trailer = new ByteArrayOutputStream();
+        new DataOutputStream(trailer).writeInt((int) adler);
+        writeChunk(data, "IDAT", trailer.toByteArray());
+        writeChunk(data, "IEND", new byte[0]);
+        data.flush();
+    }
+
+    private Stripe deflate(final Pixels pixels, final int width, final int from, final int to, final boolean last) {
+        final int rowLength = width * 3;
+        final byte[] raw = new byte[(rowLength + 1) * (to - from)];
+        final int[] rgb = new int[width];
+        byte[] previous = new byte[rowLength];
+        if (from > 0) {
+            pixels.read(0, from - 1, width, rgb);
+            toBytes(rgb, previous);
+        }
+        byte[] current = new byte[rowLength];
+        final byte[][] candidates = new byte[4][rowLength];
+        for (int y = from; y < to; y++) {
+            pixels.read(0, y, width, rgb);
+            toBytes(rgb, current);
+            filter(current, previous, candidates, raw, (y - from) * (rowLength + 1));
+            final byte[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        final Adler32 adler32 = new Adler32();
+        adler32.update(raw);
+        final Deflater deflater = new Deflater(this.compressionLevel, true);
+        try {
+            deflater.setInput(raw);
+            final ByteArrayOutputStream result = new ByteArrayOutputStream(raw.length / 4 + 64);
+            final byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    result.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int length;
+                do {
+                    length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, length);
+                } while (length == buffer.length);
+            }
+            return new Stripe(result.toByteArray(), adler32.getValue(), raw.length);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void toBytes(final int[] rgb, final byte[] row) {
+        for (int i = 0, j = 0; i < rgb.length; i++) {
+            row[j++] = (byte) (rgb[i] >> 16);
+            row[j++] = (byte) (rgb[i] >> 8);
+            row[j++] = (byte) rgb[i];
+        }
+    }
+
+    /**
+     * Chooses the filter of the row with the smallest sum of absolute values, as libpng does by default.
+     */
+    private static void filter(final byte[] row, final byte[] previous, final byte[][] candidates, final byte[] out, final int offset) {
+        final int length = row.length;
+        final byte[] sub = candidates[0];
+        final byte[] up = candidates[1];
+        final byte[] average = candidates[2];
+        final byte[] paeth = candidates[3];
+        for (int i = 0; i < 3; i++) {
+            final int x = row[i] & 0xff;
+            final int b = previous[i] & 0xff;
+            sub[i] = (byte) x;
+            up[i] = (byte) (x - b);
+            average[i] = (byte) (x - (b >> 1));
+            paeth[i] = (byte) (x - b);
+        }
+        for (int i = 3; i < length; i++) {
+            final int x = row[i] & 0xff;
+            final int a = row[i - 3] & 0xff;
+            final int b = previous[i] & 0xff;
+            final int c = previous[i - 3] & 0xff;
+            sub[i] = (byte) (x - a);
+            up[i] = (byte) (x - b);
+            average[i] = (byte) (x - ((a + b) >> 1));
+            paeth[i] = (byte) (x - paeth(a, b, c));
+        }
+        byte[] best = row;
+        int bestType = 0;
+        long bestSum = sumOfAbs(row);
+        for (int type = 1; type < 5; type++) {
+            final long sum = sumOfAbs(candidates[type - 1]);
+            if (sum < bestSum) {
+                bestSum = sum;
+                bestType = type;
+                best = candidates[type - 1];
+            }
+        }
+        out[offset] = (byte) bestType;
+        System.arraycopy(best, 0, out, offset + 1, length);
+    }
+
+    private static long sumOfAbs(final byte[] filtered) {
+        long result = 0;
+        for (final byte b : filtered) {
+            result += Math.abs(b);
+        }
+        return result;
+    }
+
+    private static int paeth(final int a, final int b, final int c) {
+        final int p = a + b - c;
+        final int pa = Math.abs(p - a);
+        final int pb = Math.abs(p - b);
+        final int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        }
+        return pb <= pc ? b : c;
+    }
+
+    static long combineAdler32(final long adler1, final long adler2, final long length2) {
+        final long remainder = length2 % ADLER_BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (remainder * sum1) % ADLER_BASE;
+        sum1 += (adler2 & 0xffff) + ADLER_BASE - 1;
+        sum2 += ((adler1 >> 16) & 0xffff) + ((adler2 >> 16) & 0xffff) + ADLER_BASE - remainder;
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum1 >= ADLER_BASE) {
+            sum1 -= ADLER_BASE;
+        }
+        if (sum2 >= ADLER_BASE << 1) {
+            sum2 -= ADLER_BASE << 1;
+        }
+        if (sum2 >= ADLER_BASE) {
+            sum2 -= ADLER_BASE;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
+    private static void writeChunk(final DataOutputStream out, final String type, final byte[] data) throws IOException {
+        final byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        final CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private record Stripe(byte[] deflated, long adler32, int rawLength) {
+    }
+}
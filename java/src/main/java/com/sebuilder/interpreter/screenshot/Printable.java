@@ -17,11 +17,19 @@ public interface Printable extends VerticalSurvey, HorizontalSurvey {
     TestRun getCtx();
 
     default BufferedImage printImage(final VerticalPrinter aPrinter, final int fromPointY) {
-        return aPrinter.getImage(this, fromPointY);
+        return this.print(aPrinter, fromPointY).get();
     }
 
     default BufferedImage printImage(final HorizontalPrinter aPrinter) {
-        return aPrinter.getImage(this);
+        return this.print(aPrinter).get();
+    }
+
+    default PendingImage print(final VerticalPrinter aPrinter, final int fromPointY) {
+        return aPrinter.print(this, fromPointY);
+    }
+
+    default PendingImage print(final HorizontalPrinter aPrinter) {
+        return aPrinter.print(this);
     }
 
     Map<Integer, InnerElement> getInnerScrollableElement();
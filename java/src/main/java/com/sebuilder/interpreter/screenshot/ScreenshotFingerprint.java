@@ -0,0 +1,98 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.github.romankh3.image.comparison.model.Rectangle;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hash per pixel row and the color sums of 16x16 tiles of a screenshot, computed in one pass.
+ * Equal row hashes mean the screenshots are the same without a pixel diff, and a tile whose mean color moved
+ * further than the pixel tolerance proves at least one different pixel in it, because no pixel of the tile can
+ * differ less than the mean does.
+ */
+public final class ScreenshotFingerprint {
+
+    private static final int TILE = 16;
+    private final int width;
+    private final int height;
+    private final long[] rows;
+    private final long[] tiles;
+
+    private ScreenshotFingerprint(final int width, final int height, final long[] rows, final long[] tiles) {
+        this.width = width;
+        this.height = height;
+        this.rows = rows;
+        this.tiles = tiles;
+    }
+
+    public static ScreenshotFingerprint of(final BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int tilesX = tileCount(width);
+        final long[] rows = new long[height];
+        final long[] tiles = new long[tilesX * tileCount(height) * 3];
+        final int[] row = new int[width];
+        final Pixels pixels = new Pixels(image);
+        for (int y = 0; y < height; y++) {
+            pixels.read(0, y, width, row);
+            long hash = 1125899906842597L;
+            final int tileRow = (y / TILE) * tilesX;
+            for (int x = 0; x < width; x++) {
+                final int rgb = row[x] & 0xffffff;
+                hash = 31 * hash + rgb;
+                final int tile = (tileRow + x / TILE) * 3;
+                tiles[tile] += rgb >> 16;
+                tiles[tile + 1] += (rgb >> 8) & 0xff;
+                tiles[tile + 2] += rgb & 0xff;
+            }
+            rows[y] = hash;
+        }
+        return new ScreenshotFingerprint(width, height, rows, tiles);
+    }
+
+    public boolean isSameAs(final ScreenshotFingerprint other) {
+        return this.width == other.width && this.height == other.height && Arrays.equals(this.rows, other.rows);
+    }
+
+    /**
+     * @param pixelToleranceLevel as ImageComparator uses it: the share of the largest RGB distance two pixels may be apart.
+     * @return true when a tile outside the excluded areas has a pixel beyond the tolerance,
+     * false when the fingerprints can't tell, e.g. the sizes differ.
+     */
+    public boolean hasDifferentPixel(final ScreenshotFingerprint other, final double pixelToleranceLevel, final List<Rectangle> exclude) {
+        if (this.width != other.width || this.height != other.height) {
+            return false;
+        }
+        final double differenceConstant = Math.pow(pixelToleranceLevel * Math.sqrt(Math.pow(255, 2) * 3), 2);
+        final int tilesX = tileCount(this.width);
+        for (int i = 0; i < this.tiles.length / 3; i++) {
+            final int x = (i % tilesX) * TILE;
+            final int y = (i / tilesX) * TILE;
+            final int tileWidth = Math.min(TILE, this.width - x);
+            final int tileHeight = Math.min(TILE, this.height - y);
+            if (exclude.stream().anyMatch(it -> intersects(it, x, y, tileWidth, tileHeight))) {
+                continue;
+            }
+            final double pixels = tileWidth * tileHeight;
+            double distance = 0;
+            for (int color = 0; color < 3; color++) {
+                distance += Math.pow((this.tiles[i * 3 + color] - other.tiles[i * 3 + color]) / pixels, 2);
+            }
+            if (distance > differenceConstant) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int tileCount(final int length) {
+        return (length + TILE - 1) / TILE;
+    }
+
+    private static boolean intersects(final Rectangle area, final int x, final int y, final int width, final int height) {
+        return area.getMinPoint().getX() < x + width && x <= area.getMaxPoint().getX()
+                && area.getMinPoint().getY() < y + height && y <= area.getMaxPoint().getY();
+    }
+}
@@ -64,4 +64,24 @@ public class ScrollableTag extends AbstractInnerElement {
                 .setScrollableWidth(scrollableWidth)
                 .build();
     }
+
+    public static ScrollableHeight getHeight(final TestRun testRun, final WebElement targetDiv, final DomMetrics.Element metrics) {
+        return new ScrollableHeight.Builder()
+                .setWebDriver(testRun.driver())
+                .setTargetElement(targetDiv)
+                .setPointY(metrics.y() + metrics.paddingTop())
+                .setViewportHeight(metrics.clientHeight() - metrics.paddingBottom() - metrics.paddingTop())
+                .setScrollableHeight(metrics.scrollHeight() - metrics.paddingBottom() - metrics.paddingTop())
+                .build();
+    }
+
+    public static ScrollableWidth getWidth(final TestRun testRun, final WebElement targetDiv, final DomMetrics.Element metrics) {
+        return new ScrollableWidth.Builder()
+                .setWebDriver(testRun.driver())
+                .setTargetElement(targetDiv)
+                .setPointX(metrics.x() + metrics.paddingLeft())
+                .setViewportWidth(metrics.clientWidth() - metrics.paddingRight() - metrics.paddingLeft())
+                .setScrollableWidth(metrics.scrollWidth() - metrics.paddingRight() - metrics.paddingLeft())
+                .build();
+    }
 }
@@ -0,0 +1,159 @@
+package com.sebuilder.interpreter.screenshot;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * A 64 bit hash of the RGB of each 256x256 tile of an image, stored alongside its PNG, so that a capture is compared
+ * only in the tiles whose hashes differ from the baseline's. The stored index holds the SHA-256 of the PNG it was
+ * made from, and an index that doesn't match the bytes of its PNG is not read.
+ */
+public final class TileIndex {
+
+    public static final int TILE = 256;
+    private static final int MAGIC = 0x54494458;
+    private static final int VERSION = 1;
+    private final int width;
+    private final int height;
+    private final long[] hashes;
+
+    private TileIndex(final int width, final int height, final long[] hashes) {
+        this.width = width;
+        this.height = height;
+        this.hashes = hashes;
+    }
+
+    public static TileIndex of(final BufferedImage image) {
+        final int width = image.getWidth();
+        final int height = image.getHeight();
+        final int tilesX = tileCount(width);
+        final long[] hashes = new long[tilesX * tileCount(height)];
+        final Pixels pixels = new Pixels(image);
+        IntStream.range(0, tileCount(height))
+                .parallel()
+                .forEach(tileY -> {
+                    final int[] row = new int[width];
+                    final long[] tileHashes = new long[tilesX];
+                    Arrays.fill(tileHashes, 0xcbf29ce484222325L);
+                    for (int y = tileY * TILE; y < Math.min(height, (tileY + 1) * TILE); y++) {
+                        pixels.read(0, y, width, row);
+                        for (int x = 0; x < width; x++) {
+                            final int tile = x / TILE;
+                            tileHashes[tile] = (tileHashes[tile] ^ (row[x] & 0xffffff)) * 0x100000001b3L;
+                        }
+                    }
+                    for (int tileX = 0; tileX < tilesX; tileX++) {
+                        hashes[tileY * tilesX + tileX] = mix(tileHashes[tileX]);
+                    }
+                });
+        return new TileIndex(width, height, hashes);
+    }
+
+    /**
+     * @return The index stored alongside the PNG, when it was made from the same bytes.
+     */
+    public static Optional<TileIndex> read(final File png) throws IOException {
+        final File indexFile = indexOf(png);
+        if (!indexFile.exists() || !png.exists()) {
+            return Optional.empty();
+        }
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(indexFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != TILE) {
+                return Optional.empty();
+            }
+            final byte[] digest = new byte[32];
+            in.readFully(digest);
+            if (!Arrays.equals(digest, digestOf(png))) {
+                return Optional.empty();
+            }
+            final int width = in.readInt();
+            final int height = in.readInt();
+            final long[] hashes = new long[tileCount(width) * tileCount(height)];
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = in.readLong();
+            }
+            return Optional.of(new TileIndex(width, height, hashes));
+        }
+    }
+
+    /**
+     * @return The file the index of the PNG is stored in: the PNG's with the extension .tiles.
+     */
+    public static File indexOf(final File png) {
+        return new File(png.getParentFile(), png.getName().replaceAll("\\.png$", "") + ".tiles");
+    }
+
+    public void write(final File png) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(52 + this.hashes.length * 8);
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(TILE);
+        out.write(digestOf(png));
+        out.writeInt(this.width);
+        out.writeInt(this.height);
+        for (final long hash : this.hashes) {
+            out.writeLong(hash);
+        }
+        out.flush();
+        final File indexFile = indexOf(png);
+        final File temp = new File(indexFile.getParentFile(), indexFile.getName() + "." + UUID.randomUUID() + ".tmp");
+        Files.write(temp.toPath(), bytes.toByteArray());
+        Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return The tiles of this image whose hashes differ from the other's, or the whole image when the sizes differ.
+     */
+    public List<Rectangle> getDifferentTiles(final TileIndex other) {
+        if (this.width != other.width || this.height != other.height) {
+            return List.of(new Rectangle(0, 0, this.width, this.height));
+        }
+        final int tilesX = tileCount(this.width);
+        final List<Rectangle> result = new ArrayList<>();
+        for (int i = 0; i < this.hashes.length; i++) {
+            if (this.hashes[i] != other.hashes[i]) {
+                final int x = (i % tilesX) * TILE;
+                final int y = (i / tilesX) * TILE;
+                result.add(new Rectangle(x, y, Math.min(TILE, this.width - x), Math.min(TILE, this.height - y)));
+            }
+        }
+        return result;
+    }
+
+    private static int tileCount(final int length) {
+        return (length + TILE - 1) / TILE;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static byte[] digestOf(final File png) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(png.toPath()));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
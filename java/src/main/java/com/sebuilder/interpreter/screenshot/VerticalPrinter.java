@@ -1,6 +1,5 @@
 package com.sebuilder.interpreter.screenshot;
 
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.Comparator;
 
@@ -9,20 +8,16 @@ public class VerticalPrinter {
     private int printedHeight;
     private int printedImageHeight;
     private int scrolledHeight;
-    private Graphics2D graphics;
+    private PendingImage canvas;
 
     public BufferedImage getImage(final Printable target, final int fromPointY) {
-        BufferedImage finalImage;
-        try {
-            final int imageHeight = target.getFullImageHeight();
-            final int imageWidth = target.getFullImageWidth();
-            finalImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_3BYTE_BGR);
-            this.graphics = finalImage.createGraphics();
-            this.printImage(target, fromPointY);
-        } finally {
-            this.graphics.dispose();
-        }
-        return finalImage;
+        return this.print(target, fromPointY).get();
+    }
+
+    public PendingImage print(final Printable target, final int fromPointY) {
+        this.canvas = PendingImage.blank(target.getFullImageWidth(), target.getFullImageHeight());
+        this.printImage(target, fromPointY);
+        return this.canvas;
     }
 
     protected void printImage(final Printable target, final int fromPointY) {
@@ -37,7 +32,7 @@ public class VerticalPrinter {
                 viewportPrintFrom = viewportPrinted;
             }
             if (remainViewPortHeight > 0) {
-                final BufferedImage part = this.getScreenshot(target, viewportPrintFrom, remainViewPortHeight, viewportHeight);
+                final PendingImage part = this.getScreenshot(target, viewportPrintFrom, remainViewPortHeight, viewportHeight);
                 final int notScrolled = this.appendImageAndScrollVertical(target, part, target.convertImageHeight(viewportPrintFrom - fromPointY));
                 if (notScrolled == 0) {
                     viewportPrintFrom = fromPointY;
@@ -79,13 +74,13 @@ public class VerticalPrinter {
             final InnerElement scrollElement = printTarget.getInnerScrollableElement().get(pointY);
             if (printTarget.convertDocumentHeight(this.getPrintedHeight()) < pointY
                     && pointY < printTarget.convertDocumentHeight(this.getPrintedHeight()) + printTarget.getViewportHeight()) {
-                final BufferedImage part = this.getScreenshot(printTarget, printFrom, pointY - printTarget.convertDocumentHeight(this.getPrintedHeight()));
+                final PendingImage part = this.getScreenshot(printTarget, printFrom, pointY - printTarget.convertDocumentHeight(this.getPrintedHeight()));
                 final int notScrolled = this.appendImageAndScrollVertical(printTarget, part);
                 if (notScrolled == 0) {
-                    this.appendImage(scrollElement.printImage(new VerticalPrinter(), printFrom));
+                    this.appendImage(scrollElement.print(new VerticalPrinter(), printFrom));
                 } else {
                     viewportPrint = notScrolled;
-                    this.appendImage(scrollElement.printImage(new VerticalPrinter(), printFrom + notScrolled));
+                    this.appendImage(scrollElement.print(new VerticalPrinter(), printFrom + notScrolled));
                 }
 
                 if (printTarget.isEnableMoveScrollTopTo(printTarget.convertDocumentHeight(this.getPrintedHeight()) + scrollElement.getViewportHeight())) {
@@ -106,19 +101,19 @@ public class VerticalPrinter {
         return viewportPrint;
     }
 
-    protected BufferedImage getScreenshot(final Printable printTarget, final int printFrom, final int height) {
+    protected PendingImage getScreenshot(final Printable printTarget, final int printFrom, final int height) {
         return this.getScreenshot(printTarget, printFrom, height, height);
     }
 
-    protected BufferedImage getScreenshot(final Printable printTarget, final int printFrom, final int remainHeight, final int viewportHeight) {
-        final BufferedImage part = printTarget.printImage(new HorizontalPrinter());
+    protected PendingImage getScreenshot(final Printable printTarget, final int printFrom, final int remainHeight, final int viewportHeight) {
+        final PendingImage part = printTarget.print(new HorizontalPrinter());
         return this.getScreenshot(printTarget.convertImageHeight(printFrom)
                 , printTarget.convertImageHeight(remainHeight)
                 , printTarget.convertImageHeight(viewportHeight)
                 , part);
     }
 
-    protected BufferedImage getScreenshot(final int printFrom, final int remainHeight, final int viewportHeight, BufferedImage part) {
+    protected PendingImage getScreenshot(final int printFrom, final int remainHeight, final int viewportHeight, PendingImage part) {
         final int height = Math.min(part.getHeight(), viewportHeight);
         final int width = part.getWidth();
         if (remainHeight < height) {
@@ -141,25 +136,25 @@ public class VerticalPrinter {
         return part;
     }
 
-    protected BufferedImage getSubImage(final int printFrom, final int remainHeight, final BufferedImage part, final int width) {
+    protected PendingImage getSubImage(final int printFrom, final int remainHeight, final PendingImage part, final int width) {
         return part.getSubimage(0, printFrom, width, remainHeight);
     }
 
-    protected BufferedImage getRestImage(final int printFrom, final BufferedImage part, final int width) {
+    protected PendingImage getRestImage(final int printFrom, final PendingImage part, final int width) {
         return part.getSubimage(0, printFrom, width, part.getHeight() - printFrom);
     }
 
-    protected int appendImageAndScrollVertical(final Printable printTarget, final BufferedImage part, final int prePrintedHeight) {
+    protected int appendImageAndScrollVertical(final Printable printTarget, final PendingImage part, final int prePrintedHeight) {
         this.appendImage(part);
         return this.verticallyScrollOutPrintedPart(printTarget, part.getHeight(), prePrintedHeight);
     }
 
-    protected int appendImageAndScrollVertical(final Printable printTarget, final BufferedImage part) {
+    protected int appendImageAndScrollVertical(final Printable printTarget, final PendingImage part) {
         return this.appendImageAndScrollVertical(printTarget, part, 0);
     }
 
-    protected void appendImage(final BufferedImage part) {
-        this.graphics.drawImage(part, 0, this.printedImageHeight, null);
+    protected void appendImage(final PendingImage part) {
+        this.canvas = this.canvas.draw(part, 0, this.printedImageHeight);
         this.printedImageHeight = this.printedImageHeight + part.getHeight();
     }
 
@@ -20,6 +20,10 @@ public abstract class AbstractJsonScriptParser implements ScriptParser {
      */
     @Override
     public TestCase load(final File f) {
+        return ParsedFileCache.get(this.getClass().getName(), f, this::parse);
+    }
+
+    protected TestCase parse(final File f) {
         try (final BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8))) {
             return this.load(new JSONObject(new JSONTokener(r)), f);
         } catch (final Throwable e) {
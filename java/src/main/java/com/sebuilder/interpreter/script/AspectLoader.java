@@ -28,6 +28,10 @@ public record AspectLoader(Sebuilder sebuilder, PointcutLoader pointcutLoader) {
     }
 
     public Aspect load(final File f) {
+        return ParsedFileCache.get("aspect", f, this::parse);
+    }
+
+    private Aspect parse(final File f) {
         try (final BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8))) {
             return this.load(new JSONObject(new JSONTokener(r)), f.getAbsoluteFile().getParentFile());
         } catch (final Throwable e) {
@@ -0,0 +1,95 @@
+package com.sebuilder.interpreter.script;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Process-wide cache of the objects parsed from script, aspect and pointcut files.
+ * An entry is keyed by kind, canonical path, last modified time and size, and also remembers the files
+ * loaded while it was parsed, e.g. the scripts of a suite, so that a change of any of them invalidates it.
+ */
+final class ParsedFileCache {
+
+    static final int CACHE_SIZE = 512;
+    private static final Map<Key, Entry> CACHE = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+            return this.size() > CACHE_SIZE;
+        }
+    });
+    private static final ThreadLocal<Deque<List<Key>>> LOADING = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private ParsedFileCache() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(final String kind, final File file, final Function<File, T> loader) {
+        final Key key = Key.of(kind, file);
+        if (key == null) {
+            return loader.apply(file);
+        }
+        final Entry cached = CACHE.get(key);
+        if (cached != null && cached.isValid()) {
+            registerDependency(key, cached.dependencies());
+            return (T) cached.value();
+        }
+        final List<Key> dependencies = new ArrayList<>();
+        LOADING.get().push(dependencies);
+        final T value;
+        try {
+            value = loader.apply(file);
+        } finally {
+            LOADING.get().pop();
+        }
+        CACHE.put(key, new Entry(value, List.copyOf(dependencies)));
+        registerDependency(key, dependencies);
+        return value;
+    }
+
+    static void invalidateAll() {
+        CACHE.clear();
+    }
+
+    private static void registerDependency(final Key key, final List<Key> dependencies) {
+        final List<Key> loading = LOADING.get().peek();
+        if (loading != null) {
+            loading.add(key);
+            loading.addAll(dependencies);
+        }
+    }
+
+    record Key(String kind, String path, String requestedPath, long lastModified, long size) {
+
+        static Key of(final String kind, final File file) {
+            if (!file.isFile()) {
+                return null;
+            }
+            try {
+                // the parsed object refers to the path it was loaded by, so the same file loaded by another path is another entry
+                return new Key(kind, file.getCanonicalPath(), file.getAbsolutePath(), file.lastModified(), file.length());
+            } catch (final IOException e) {
+                return null;
+            }
+        }
+
+        boolean isCurrent() {
+            return Objects.equals(this, of(this.kind, new File(this.requestedPath)));
+        }
+    }
+
+    record Entry(Object value, List<Key> dependencies) {
+
+        boolean isValid() {
+            return this.dependencies.stream().allMatch(Key::isCurrent);
+        }
+    }
+}
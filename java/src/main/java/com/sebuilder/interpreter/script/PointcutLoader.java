@@ -32,6 +32,10 @@ public record PointcutLoader(ImportLoader importLoader) {
     }
 
     public Optional<Pointcut> load(final File f) {
+        return ParsedFileCache.get("pointcut", f, this::parse);
+    }
+
+    private Optional<Pointcut> parse(final File f) {
         try (final BufferedReader r = new BufferedReader(new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8))) {
             return this.load(new JSONObject(new JSONTokener(r)), f.getAbsoluteFile().getParentFile());
         } catch (final Throwable e) {
@@ -97,6 +97,7 @@ public class Sebuilder extends AbstractJsonScriptParser {
      */
     protected TestCase parseSuite(final JSONObject o, final File suiteFile) {
         final TestCaseBuilder builder = TestCaseBuilder.suite(suiteFile)
+                .isShareState(o.optBoolean("shareState", true))
                 .setDataSource(this.dataSourceConfigLoader.getDataSource(o), this.dataSourceConfigLoader.getDataSourceConfig(o));
         this.loadScripts(o, builder);
         return builder.setAspect(this.aspectLoader.load(o, suiteFile.getAbsoluteFile().getParentFile())).build();
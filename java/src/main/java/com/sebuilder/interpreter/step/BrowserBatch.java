@@ -0,0 +1,85 @@
+package com.sebuilder.interpreter.step;
+
+import com.sebuilder.interpreter.Context;
+import com.sebuilder.interpreter.Locator;
+import com.sebuilder.interpreter.TestRun;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Evaluates the batch expressions of several getters in a single executeScript.
+ * Each value comes back as it is, and the caller compares it with Getter.test(ctx, got) as if get had returned it.
+ * Expressions that throw, and the whole batch when the script fails, are left to the getters themselves.
+ *
+ * @see Getter#toBatchExpression(TestRun)
+ */
+public final class BrowserBatch {
+
+    private static final String SCRIPT = """
+            const expressions = [%s];
+            return expressions.map(expression => {
+                if (expression === null) {
+                    return null;
+                }
+                try {
+                    const got = expression();
+                    return [got === null || got === undefined ? null : String(got)];
+                } catch (e) {
+                    return null;
+                }
+            });
+            """;
+
+    private BrowserBatch() {
+    }
+
+    /**
+     * @return An expression of the elements of the locator that throws when there are none, so that the implicit wait
+     * of the driver still applies, or empty when the locator type isn't resolved by script.
+     */
+    public static Optional<String> found(final Locator locator) {
+        if (Context.getLocatorResolution(Locator.Type.ofName(locator.type())) != Locator.Resolution.SCRIPT) {
+            return Optional.empty();
+        }
+        return Optional.of("found(" + BrowserWait.elements(locator) + ")");
+    }
+
+    /**
+     * @return The values of the expressions in the same order, empty where the getter has to be asked itself.
+     */
+    public static List<Optional<Got>> evaluate(final TestRun ctx, final List<Optional<String>> expressions) {
+        final List<Optional<Got>> result = new ArrayList<>(expressions.stream()
+                .map(it -> Optional.<Got>empty())
+                .toList());
+        if (expressions.stream().noneMatch(Optional::isPresent)) {
+            return result;
+        }
+        final StringBuilder functions = new StringBuilder();
+        for (final Optional<String> expression : expressions) {
+            functions.append(expression.map(it -> "() => " + it).orElse("null")).append(",\n");
+        }
+        final Object values;
+        try {
+            values = ctx.driver().executeScript(BrowserWait.HELPERS + SCRIPT.formatted(functions));
+        } catch (final WebDriverException e) {
+            return result;
+        }
+        if (values instanceof List<?> list && list.size() == expressions.size()) {
+            for (int i = 0; i < list.size(); i++) {
+                if (expressions.get(i).isPresent() && list.get(i) instanceof List<?> value && value.size() == 1) {
+                    result.set(i, Optional.of(new Got(value.getFirst() == null ? null : String.valueOf(value.getFirst()))));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The value an expression evaluated to, null when the getter would have returned null.
+     */
+    public record Got(String value) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.sebuilder.interpreter.step;
+
+import com.sebuilder.interpreter.Locator;
+import com.sebuilder.interpreter.TestRun;
+import org.json.JSONObject;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Waits in the page until a getter expression flips, instead of asking the driver at every interval.
+ * A MutationObserver and a short in-page timer re-evaluate the expression, and the script returns as soon as
+ * it matches or the timeout elapses. The caller always confirms the result with Getter.test,
+ * and falls back to polling when the page and the getter disagree.
+ * <p>
+ * Expressions can use find(type, value) that returns the elements of a locator,
+ * first(elements) that returns the element Locator.find chooses, found(elements) that throws when there are none
+ * and displayed(element).
+ */
+public final class BrowserWait {
+
+    static final String HELPERS = """
+            const find = (type, value) => {
+                switch (type) {
+            """ + Stream.of(Locator.Type.values())
+            .map(type -> "        case " + quote(type.toString()) + ":\n            return " + type.script() + ";\n")
+            .collect(Collectors.joining()) + """
+                }
+                throw new Error('unsupported locator:' + type);
+            };
+            const displayed = element => (""" + Locator.IS_DISPLAYED_SCRIPT + """
+            )(element);
+            const first = elements => elements.find(displayed) || elements[0] || null;
+            const found = elements => {
+                if (elements.length === 0) {
+                    throw new Error('not found');
+                }
+                return elements;
+            };
+            """;
+    private static final String SCRIPT = """
+            const expected = arguments[0];
+            const negated = arguments[1];
+            const timeout = arguments[2];
+            const done = arguments[arguments.length - 1];
+            const matches = () => {
+                try {
+                    const got = %s;
+                    const result = expected === null ? String(got).toLowerCase() === 'true' : got === expected;
+                    return result !== negated;
+                } catch (e) {
+                    return false;
+                }
+            };
+            if (matches()) {
+                done(true);
+                return;
+            }
+            let finished = false;
+            let observer = null;
+            let poll = null;
+            let timer = null;
+            const finish = result => {
+                if (finished) {
+                    return;
+                }
+                finished = true;
+                observer.disconnect();
+                clearInterval(poll);
+                clearTimeout(timer);
+                done(result);
+            };
+            observer = new MutationObserver(() => {
+                if (matches()) {
+                    finish(true);
+                }
+            });
+            observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});
+            poll = setInterval(() => {
+                if (matches()) {
+                    finish(true);
+                }
+            }, 50);
+            timer = setTimeout(() => finish(false), timeout);
+            """;
+
+    /**
+     * The shortest wait in the page. A shorter timeout makes the script return at once, so the caller would spin.
+     */
+    static final long MIN_TIMEOUT_MS = 100;
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 1000;
+
+    private BrowserWait() {
+    }
+
+    public static String quote(final String value) {
+        return JSONObject.quote(value);
+    }
+
+    public static String elements(final Locator locator) {
+        return "find(" + quote(locator.type()) + ", " + quote(locator.value()) + ")";
+    }
+
+    public static String element(final Locator locator) {
+        return "first(" + elements(locator) + ")";
+    }
+
+    /**
+     * @return The longest wait in the page that returns within the script timeout of the driver,
+     * or 0 if the script timeout is too short to wait in the page at all.
+     */
+    public static long maxTimeout(final TestRun ctx) {
+        try {
+            final Duration scriptTimeout = ctx.driver().manage().timeouts().getScriptTimeout();
+            final long result = scriptTimeout.toMillis() - SCRIPT_TIMEOUT_MARGIN_MS;
+            return result < MIN_TIMEOUT_MS ? 0 : result;
+        } catch (final WebDriverException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * @param timeoutMs The time to wait in the page, no longer than maxTimeout; it is raised to MIN_TIMEOUT_MS.
+     * @return whether the expression matched in the page,
+     * or empty if the script could not wait, e.g. because the page navigated while waiting.
+     */
+    public static Optional<Boolean> await(final TestRun ctx, final String expression, final String expected, final boolean negated, final long timeoutMs) {
+        try {
+            final long timeout = Math.max(MIN_TIMEOUT_MS, timeoutMs);
+            return Optional.of(Boolean.TRUE.equals(ctx.driver().executeAsyncScript(HELPERS + SCRIPT.formatted(expression), expected, negated, timeout)));
+        } catch (final WebDriverException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -21,6 +21,8 @@ import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.StepElement;
 import com.sebuilder.interpreter.TestRun;
 
+import java.util.Optional;
+
 /**
  * Interface to plug into the generic Assert/Verify/Store steps that does the work of actually
  * getting the relevant variable.
@@ -35,8 +37,31 @@ public interface Getter extends StepElement {
      */
     String get(TestRun ctx);
 
+    /**
+     * @param ctx Current test run.
+     * @return A JavaScript expression that gets the same value in the page, or empty if it can't be got there.
+     * @see BrowserWait
+     */
+    default Optional<String> toBrowserExpression(final TestRun ctx) {
+        return Optional.empty();
+    }
+
+    /**
+     * @param ctx Current test run.
+     * @return A JavaScript expression that evaluates to exactly the value get returns, so that several getters can be
+     * evaluated in one executeScript, or empty if the value has to be got through the driver.
+     * The expression throws when it can't decide in the page, e.g. while the element isn't there and the implicit wait applies.
+     * @see BrowserBatch
+     */
+    default Optional<String> toBatchExpression(final TestRun ctx) {
+        return Optional.empty();
+    }
+
     default boolean test(final TestRun ctx) {
-        final String got = this.get(ctx);
+        return this.test(ctx, this.get(ctx));
+    }
+
+    default boolean test(final TestRun ctx, final String got) {
         final boolean result;
         if (this.cmpParamName() == null) {
             result = Boolean.parseBoolean(got);
@@ -18,6 +18,10 @@ public interface GetterUseStep extends StepType {
         return this.getGetter().test(ctx) != ctx.currentStep().negated();
     }
 
+    default boolean test(final TestRun ctx, final String got) {
+        return this.getGetter().test(ctx, got) != ctx.currentStep().negated();
+    }
+
     @Override
     default StepBuilder addDefaultParam(final StepBuilder o) {
         return this.getGetter().addDefaultParam(o)
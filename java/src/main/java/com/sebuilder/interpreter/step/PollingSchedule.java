@@ -0,0 +1,43 @@
+package com.sebuilder.interpreter.step;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delays between the polls of a wait.
+ * A fixed schedule always returns the interval. An adaptive schedule starts with the typical time
+ * the wait took before, or MIN_DELAY_MS when unknown, then doubles the delay up to the interval.
+ * Adaptive delays get a jitter of +-20% so that parallel runs don't poll the grid in lockstep.
+ */
+public class PollingSchedule {
+
+    public static final long MIN_DELAY_MS = 50;
+    private static final double JITTER = 0.2;
+    private final long maxDelayMs;
+    private final boolean adaptive;
+    private long nextDelayMs;
+
+    private PollingSchedule(final long firstDelayMs, final long maxDelayMs, final boolean adaptive) {
+        this.maxDelayMs = maxDelayMs;
+        this.adaptive = adaptive;
+        this.nextDelayMs = firstDelayMs;
+    }
+
+    public static PollingSchedule fixed(final long intervalMs) {
+        return new PollingSchedule(intervalMs, intervalMs, false);
+    }
+
+    public static PollingSchedule adaptive(final long typicalMs, final long intervalMs) {
+        final long maxDelayMs = Math.max(MIN_DELAY_MS, intervalMs);
+        return new PollingSchedule(Math.clamp(typicalMs, MIN_DELAY_MS, maxDelayMs), maxDelayMs, true);
+    }
+
+    public long nextDelay() {
+        if (!this.adaptive) {
+            return this.nextDelayMs;
+        }
+        final long delay = this.nextDelayMs;
+        this.nextDelayMs = Math.min(this.maxDelayMs, Math.max(MIN_DELAY_MS, delay * 2));
+        final double jitter = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return Math.clamp(Math.round(delay * jitter), MIN_DELAY_MS, this.maxDelayMs);
+    }
+}
@@ -1,5 +1,6 @@
 package com.sebuilder.interpreter.step;
 
+import com.sebuilder.interpreter.Context;
 import com.sebuilder.interpreter.Step;
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
@@ -31,11 +32,17 @@ public class Retry extends AbstractStepType implements FlowStep, GetterUseStep {
         final Step thisStep = ctx.currentStep();
         boolean success = true;
         final int actions = this.getSubSteps(ctx);
+        final PollingSchedule schedule = PollingSchedule.adaptive(PollingSchedule.MIN_DELAY_MS, Context.getWaitForIntervalMs());
+        boolean retried = false;
         while (!this.test(ctx) && !ctx.isStopped()) {
+            if (retried && Context.isWaitForAdaptive()) {
+                this.pause(schedule.nextDelay());
+            }
             ctx.processTestSuccess(false);
             success = this.runSubStep(ctx, actions) && success;
             ctx.backStepIndex(actions);
             ctx.startTest();
+            retried = true;
         }
         ctx.processTestSuccess(false);
         this.skipSubStep(ctx, actions);
@@ -43,6 +50,14 @@ public class Retry extends AbstractStepType implements FlowStep, GetterUseStep {
         return success;
     }
 
+    private void pause(final long delay) {
+        try {
+            Thread.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Override
     public StepBuilder addDefaultParam(final StepBuilder o) {
         final StepBuilder result = FlowStep.super.addDefaultParam(o);
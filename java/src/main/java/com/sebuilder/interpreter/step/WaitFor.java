@@ -21,6 +21,7 @@ import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
 
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Generic Wait that wraps a getter.
@@ -49,17 +50,46 @@ public class WaitFor extends AbstractStepType implements GetterUseStep {
         if (ctx.containsKey("interval")) {
             intervalMs = Integer.parseInt(ctx.string("interval"));
         }
-        final long stopBy = System.currentTimeMillis() + maxWaitMs;
+        final long start = System.currentTimeMillis();
+        final long stopBy = start + maxWaitMs;
+        final String statisticsKey = WaitStatistics.key(this.getter, ctx.hasLocator() ? ctx.currentStep().getLocator("locator").toPrettyString() : null);
+        final PollingSchedule schedule = Context.isWaitForAdaptive()
+                ? PollingSchedule.adaptive(Context.getWaitStatistics().typicalMs(statisticsKey).orElse(PollingSchedule.MIN_DELAY_MS), intervalMs)
+                : PollingSchedule.fixed(intervalMs);
+        Optional<String> browserExpression = this.getter.toBrowserExpression(ctx);
+        final long maxTimeoutInBrowser = browserExpression.isPresent() ? BrowserWait.maxTimeout(ctx) : 0;
+        if (maxTimeoutInBrowser == 0) {
+            browserExpression = Optional.empty();
+        }
         // NB: If the step is negated, a result of "true"  means that we haven't succeeded yet.
         //     If the step is normal,  a result of "false" means that we haven't succeeded yet.
         while (!this.test(ctx) && System.currentTimeMillis() < stopBy && !ctx.isStopped()) {
+            final long delay = schedule.nextDelay();
+            final long timeout = Math.min(Math.min(delay, stopBy - System.currentTimeMillis()), maxTimeoutInBrowser);
+            final Optional<Boolean> matchedInBrowser = browserExpression.flatMap(it -> this.awaitInBrowser(ctx, it, timeout));
+            if (matchedInBrowser.isPresent()) {
+                if (matchedInBrowser.get()) {
+                    // if the next test fails, the page and the getter disagree, so fall back to polling
+                    browserExpression = Optional.empty();
+                }
+                continue;
+            }
             try {
-                Thread.sleep(intervalMs);
+                Thread.sleep(delay);
             } catch (final InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         }
-        return this.test(ctx);
+        final boolean result = this.test(ctx);
+        if (result && Context.isWaitForAdaptive()) {
+            Context.getWaitStatistics().record(statisticsKey, System.currentTimeMillis() - start);
+        }
+        return result;
+    }
+
+    private Optional<Boolean> awaitInBrowser(final TestRun ctx, final String expression, final long timeout) {
+        final String expected = this.getter.cmpParamName() == null ? null : ctx.string(this.getter.cmpParamName());
+        return BrowserWait.await(ctx, expression, expected, ctx.currentStep().negated(), timeout);
     }
 
     @Override
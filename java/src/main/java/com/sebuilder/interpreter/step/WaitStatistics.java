@@ -0,0 +1,70 @@
+package com.sebuilder.interpreter.step;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typical time until a wait is satisfied, per getter and locator.
+ * Each key keeps an exponentially weighted moving average of the observed times in milliseconds,
+ * and the averages are read from and written back to a small JSON file when one is given.
+ */
+public class WaitStatistics {
+
+    private static final double WEIGHT = 0.3;
+    private final Map<String, Double> typicalMs = new ConcurrentHashMap<>();
+    private final File file;
+
+    public WaitStatistics() {
+        this(null);
+    }
+
+    public WaitStatistics(final File file) {
+        this.file = file;
+        if (this.file != null && this.file.isFile()) {
+            try (final BufferedReader r = Files.newBufferedReader(this.file.toPath(), StandardCharsets.UTF_8)) {
+                final JSONObject json = new JSONObject(new JSONTokener(r));
+                json.keySet().forEach(key -> this.typicalMs.put(key, json.getDouble(key)));
+            } catch (final IOException e) {
+                throw new AssertionError("error load:" + this.file.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    public static String key(final Getter getter, final String locator) {
+        if (locator == null) {
+            return getter.getClass().getSimpleName();
+        }
+        return getter.getClass().getSimpleName() + " " + locator;
+    }
+
+    public Optional<Long> typicalMs(final String key) {
+        return Optional.ofNullable(this.typicalMs.get(key)).map(Math::round);
+    }
+
+    public void record(final String key, final long elapsedMs) {
+        this.typicalMs.merge(key, (double) elapsedMs, (current, observed) -> current + WEIGHT * (observed - current));
+    }
+
+    public void save() {
+        if (this.file == null) {
+            return;
+        }
+        try {
+            if (this.file.getAbsoluteFile().getParentFile() != null) {
+                Files.createDirectories(this.file.getAbsoluteFile().getParentFile().toPath());
+            }
+            Files.writeString(this.file.toPath(), new JSONObject(this.typicalMs).toString(2), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            throw new AssertionError("error save:" + this.file.getAbsolutePath(), e);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserBatch;
 import com.sebuilder.interpreter.step.Getter;
 import com.sebuilder.interpreter.step.WaitFor;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 public class ComplexCondition extends AbstractGetter {
     private final List<WaitFor> conditions = new ArrayList<>();
@@ -19,10 +21,21 @@ public class ComplexCondition extends AbstractGetter {
         return new Builder();
     }
 
+    /**
+     * Conditions whose getters have a batch expression are evaluated together in one executeScript,
+     * and the others are asked one by one until a condition fails.
+     */
     @Override
     public String get(final TestRun ctx) {
-        for (final WaitFor condition : this.conditions) {
-            if (!condition.test(ctx)) {
+        final List<Optional<BrowserBatch.Got>> batch = BrowserBatch.evaluate(ctx, this.conditions.stream()
+                .map(condition -> condition.getGetter().toBatchExpression(ctx))
+                .toList());
+        for (int i = 0; i < this.conditions.size(); i++) {
+            final WaitFor condition = this.conditions.get(i);
+            final boolean result = batch.get(i)
+                    .map(got -> condition.test(ctx, got.value()))
+                    .orElseGet(() -> condition.test(ctx));
+            if (!result) {
                 return "false";
             }
         }
@@ -17,6 +17,9 @@
 package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserWait;
+
+import java.util.Optional;
 
 public class CurrentUrl extends AbstractGetter {
     @Override
@@ -24,6 +27,16 @@ public class CurrentUrl extends AbstractGetter {
         return ctx.driver().getCurrentUrl();
     }
 
+    @Override
+    public Optional<String> toBrowserExpression(final TestRun ctx) {
+        return Optional.of("window.location.href");
+    }
+
+    @Override
+    public Optional<String> toBatchExpression(final TestRun ctx) {
+        return Optional.of("window.top.location.href");
+    }
+
     @Override
     public String cmpParamName() {
         return "url";
@@ -18,8 +18,12 @@ package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserBatch;
+import com.sebuilder.interpreter.step.BrowserWait;
 import com.sebuilder.interpreter.step.LocatorHolder;
 
+import java.util.Optional;
+
 public class ElementAttribute extends AbstractGetter implements LocatorHolder {
 
     @Override
@@ -28,6 +32,17 @@ public class ElementAttribute extends AbstractGetter implements LocatorHolder {
                 .find(ctx).getDomAttribute(ctx.string("attributeName"));
     }
 
+    @Override
+    public Optional<String> toBrowserExpression(final TestRun ctx) {
+        return Optional.of(BrowserWait.element(ctx.locator()) + ".getAttribute(" + BrowserWait.quote(ctx.string("attributeName")) + ")");
+    }
+
+    @Override
+    public Optional<String> toBatchExpression(final TestRun ctx) {
+        return BrowserBatch.found(ctx.locator())
+                .map(elements -> "first(" + elements + ").getAttribute(" + BrowserWait.quote(ctx.string("attributeName")) + ")");
+    }
+
     @Override
     public String cmpParamName() {
         return "value";
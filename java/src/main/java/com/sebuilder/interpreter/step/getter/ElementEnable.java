@@ -2,10 +2,12 @@ package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserBatch;
 import com.sebuilder.interpreter.step.LocatorHolder;
 import org.openqa.selenium.WebElement;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ElementEnable extends AbstractGetter implements LocatorHolder {
 
@@ -18,6 +20,11 @@ public class ElementEnable extends AbstractGetter implements LocatorHolder {
         return "" + result.get(0).isEnabled();
     }
 
+    @Override
+    public Optional<String> toBatchExpression(final TestRun ctx) {
+        return BrowserBatch.found(ctx.locator()).map(elements -> "!" + elements + "[0].matches(':disabled')");
+    }
+
     @Override
     public StepBuilder addDefaultParam(final StepBuilder o) {
         return o.apply(LocatorHolder.super::addDefaultParam)
@@ -18,14 +18,28 @@ package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserBatch;
+import com.sebuilder.interpreter.step.BrowserWait;
 import com.sebuilder.interpreter.step.LocatorHolder;
 
+import java.util.Optional;
+
 public class ElementPresent extends AbstractGetter implements LocatorHolder {
     @Override
     public String get(final TestRun ctx) {
         return "" + (!ctx.locator().findElements(ctx).isEmpty());
     }
 
+    @Override
+    public Optional<String> toBrowserExpression(final TestRun ctx) {
+        return Optional.of(BrowserWait.elements(ctx.locator()) + ".length > 0");
+    }
+
+    @Override
+    public Optional<String> toBatchExpression(final TestRun ctx) {
+        return BrowserBatch.found(ctx.locator()).map(elements -> elements + ".length > 0");
+    }
+
     @Override
     public StepBuilder addDefaultParam(final StepBuilder o) {
         return o.apply(LocatorHolder.super::addDefaultParam)
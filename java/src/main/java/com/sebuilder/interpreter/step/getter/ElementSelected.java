@@ -18,8 +18,11 @@ package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserBatch;
 import com.sebuilder.interpreter.step.LocatorHolder;
 
+import java.util.Optional;
+
 public class ElementSelected extends AbstractGetter implements LocatorHolder {
     @Override
     public String get(final TestRun ctx) {
@@ -30,6 +33,16 @@ public class ElementSelected extends AbstractGetter implements LocatorHolder {
         return "" + selected;
     }
 
+    @Override
+    public Optional<String> toBatchExpression(final TestRun ctx) {
+        final boolean inverted = ctx.containsKey("check") && !ctx.getBoolean("check");
+        return BrowserBatch.found(ctx.locator()).map(elements -> """
+                (element => (element instanceof HTMLInputElement && (element.type === 'checkbox' || element.type === 'radio')
+                        ? element.checked
+                        : element instanceof HTMLOptionElement && element.selected) !== %s)(first(%s))"""
+                .formatted(inverted, elements));
+    }
+
     @Override
     public StepBuilder addDefaultParam(final StepBuilder o) {
         if (!o.containsStringParam("check")) {
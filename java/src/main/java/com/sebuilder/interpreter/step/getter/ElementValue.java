@@ -18,14 +18,22 @@ package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserBatch;
 import com.sebuilder.interpreter.step.LocatorHolder;
 
+import java.util.Optional;
+
 public class ElementValue extends AbstractGetter implements LocatorHolder {
     @Override
     public String get(final TestRun ctx) {
         return ctx.locator().find(ctx).getDomAttribute("value");
     }
 
+    @Override
+    public Optional<String> toBatchExpression(final TestRun ctx) {
+        return BrowserBatch.found(ctx.locator()).map(elements -> "first(" + elements + ").getAttribute('value')");
+    }
+
     @Override
     public String cmpParamName() {
         return "value";
@@ -2,10 +2,13 @@ package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserBatch;
+import com.sebuilder.interpreter.step.BrowserWait;
 import com.sebuilder.interpreter.step.LocatorHolder;
 import org.openqa.selenium.WebElement;
 
 import java.util.List;
+import java.util.Optional;
 
 public class ElementVisible extends AbstractGetter implements LocatorHolder {
 
@@ -18,6 +21,16 @@ public class ElementVisible extends AbstractGetter implements LocatorHolder {
         return "" + result.stream().anyMatch(WebElement::isDisplayed);
     }
 
+    @Override
+    public Optional<String> toBrowserExpression(final TestRun ctx) {
+        return Optional.of(BrowserWait.elements(ctx.locator()) + ".some(displayed)");
+    }
+
+    @Override
+    public Optional<String> toBatchExpression(final TestRun ctx) {
+        return BrowserBatch.found(ctx.locator()).map(elements -> elements + ".some(displayed)");
+    }
+
     @Override
     public StepBuilder addDefaultParam(final StepBuilder o) {
         return o.apply(LocatorHolder.super::addDefaultParam)
@@ -18,14 +18,22 @@ package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserWait;
 import com.sebuilder.interpreter.step.LocatorHolder;
 
+import java.util.Optional;
+
 public class Text extends AbstractGetter implements LocatorHolder {
     @Override
     public String get(final TestRun ctx) {
         return ctx.locator().find(ctx).getText();
     }
 
+    @Override
+    public Optional<String> toBrowserExpression(final TestRun ctx) {
+        return Optional.of(BrowserWait.element(ctx.locator()) + ".innerText");
+    }
+
     @Override
     public String cmpParamName() {
         return "text";
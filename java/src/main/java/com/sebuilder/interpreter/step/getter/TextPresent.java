@@ -18,6 +18,9 @@ package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserWait;
+
+import java.util.Optional;
 
 public class TextPresent extends AbstractGetter {
     @Override
@@ -25,6 +28,11 @@ public class TextPresent extends AbstractGetter {
         return Boolean.toString(ctx.getHtml().contains(ctx.text()));
     }
 
+    @Override
+    public Optional<String> toBrowserExpression(final TestRun ctx) {
+        return Optional.of("document.documentElement.innerText.includes(" + BrowserWait.quote(ctx.text()) + ")");
+    }
+
     @Override
     public StepBuilder addDefaultParam(final StepBuilder o) {
         if (!o.containsStringParam("text")) {
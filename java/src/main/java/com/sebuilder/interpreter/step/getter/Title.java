@@ -17,6 +17,9 @@
 package com.sebuilder.interpreter.step.getter;
 
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.step.BrowserWait;
+
+import java.util.Optional;
 
 public class Title extends AbstractGetter {
     @Override
@@ -24,6 +27,16 @@ public class Title extends AbstractGetter {
         return ctx.driver().getTitle();
     }
 
+    @Override
+    public Optional<String> toBrowserExpression(final TestRun ctx) {
+        return Optional.of("document.title");
+    }
+
+    @Override
+    public Optional<String> toBatchExpression(final TestRun ctx) {
+        return Optional.of("window.top.document.title");
+    }
+
     @Override
     public String cmpParamName() {
         return "title";
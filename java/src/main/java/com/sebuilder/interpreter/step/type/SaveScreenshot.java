@@ -16,28 +16,33 @@
 
 package com.sebuilder.interpreter.step.type;
 
-import com.github.romankh3.image.comparison.ImageComparison;
-import com.github.romankh3.image.comparison.ImageComparisonUtil;
-import com.github.romankh3.image.comparison.model.ImageComparisonResult;
-import com.github.romankh3.image.comparison.model.ImageComparisonState;
 import com.github.romankh3.image.comparison.model.Rectangle;
 import com.google.common.collect.Lists;
 import com.sebuilder.interpreter.Context;
 import com.sebuilder.interpreter.ImageArea;
 import com.sebuilder.interpreter.StepBuilder;
 import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.screenshot.DiskRaster;
+import com.sebuilder.interpreter.screenshot.FullPageCapture;
+import com.sebuilder.interpreter.screenshot.ImageComparator;
+import com.sebuilder.interpreter.screenshot.ImageStore;
 import com.sebuilder.interpreter.screenshot.LocatorInnerScrollElementHandler;
 import com.sebuilder.interpreter.screenshot.Page;
+import com.sebuilder.interpreter.screenshot.ScreenshotFingerprint;
+import com.sebuilder.interpreter.screenshot.TileIndex;
 import com.sebuilder.interpreter.screenshot.VerticalPrinter;
 import com.sebuilder.interpreter.step.AbstractStepType;
 import com.sebuilder.interpreter.step.LocatorHolder;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
-import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.Optional;
 
 public class SaveScreenshot extends AbstractStepType implements LocatorHolder {
 
@@ -52,26 +57,21 @@ public class SaveScreenshot extends AbstractStepType implements LocatorHolder {
         wd.switchTo().defaultContent();
         try {
             final String fileName = this.getResultFileName(ctx);
-            final File file = ctx.getListener().addScreenshot(fileName);
-            BufferedImage actual = this.takeScreenShot(ctx);
-            if (!ctx.containsKey("strict") || !ctx.getBoolean("strict")) {
-                BufferedImage check = this.takeScreenShot(ctx);
-                while (this.getComparisonResult(actual, check, ctx).getImageComparisonState() != ImageComparisonState.MATCH) {
-                    actual = check;
-                    check = this.takeScreenShot(ctx);
-                }
+            if (Context.isScreenshotStore()) {
+                return this.store(ctx, fileName, this.takeActualScreenShot(ctx));
             }
+            final File file = ctx.getListener().addScreenshot(fileName);
+            final BufferedImage actual = this.takeActualScreenShot(ctx);
             if (ctx.getBoolean("verify")) {
-                final File expectFile = ctx.containsKey("expect") && !ctx.string("expect").isBlank()
+                final File expectFile = this.hasExpect(ctx)
                         ? new File(ctx.string("expect")) : new File(Context.getExpectScreenShotDirectory(), fileName);
-                final BufferedImage expect = ImageIO.read(expectFile);
-                final boolean compareResult = this.compare(file, actual, expect, ctx);
+                final boolean compareResult = this.compare(file, actual, expectFile, ctx);
                 final File targetPath = ctx.getListener().saveExpectScreenshot(file);
-                ImageIO.write(expect, "PNG", targetPath);
+                Files.copy(expectFile.toPath(), targetPath.toPath(), StandardCopyOption.REPLACE_EXISTING);
                 return compareResult;
             }
-            ImageIO.write(actual, "PNG", file);
-            return file.exists();
+            this.save(ctx, actual, file);
+            return true;
         } catch (final IOException e) {
             ctx.log().error("save image file failed cause:", e);
             return false;
@@ -118,6 +118,85 @@ public class SaveScreenshot extends AbstractStepType implements LocatorHolder {
         return fileName;
     }
 
+    /**
+     * Puts the images into the content-addressed stores of Context: a baseline whose blob is in the manifest of the
+     * expect directory is neither decoded nor compared when the actual has the same key,
+     * and an image already in the result store is not written again.
+     */
+    protected boolean store(final TestRun ctx, final String fileName, final BufferedImage actual) throws IOException {
+        final ImageStore store = Context.getImageStore(ctx.getListener().getScreenShotOutputDirectory());
+        final String actualKey = ImageStore.hash(actual);
+        if (!ctx.getBoolean("verify")) {
+            this.store(ctx, store, fileName, actualKey, actual, null);
+            return true;
+        }
+        final File expectFile;
+        String expectKey = null;
+        if (this.hasExpect(ctx)) {
+            expectFile = new File(ctx.string("expect"));
+        } else {
+            final ImageStore expectStore = Context.getImageStore(Context.getExpectScreenShotDirectory());
+            expectKey = expectStore.keyOf(fileName).orElse(null);
+            expectFile = expectStore.resolve(fileName);
+        }
+        BufferedImage expect = null;
+        if (expectKey == null) {
+            expect = DiskRaster.read(expectFile);
+            expectKey = ImageStore.hash(expect);
+        }
+        final File expectBlob = store.put(expectKey, expectFile);
+        final boolean compareResult;
+        if (actualKey.equals(expectKey)) {
+            this.store(ctx, store, fileName, actualKey, actual, null);
+            compareResult = true;
+        } else {
+            final TileIndex actualIndex = TileIndex.of(actual);
+            final ImageComparator.Result result = this.getComparisonResult(actual, actualIndex, expectFile, expect, ctx);
+            if (result.match()) {
+                this.store(ctx, store, fileName, actualKey, actual, actualIndex);
+            } else {
+                this.logDiff(ctx, result);
+                this.store(ctx, store, fileName, ImageStore.hash(result.diffImage()), result.diffImage(), null);
+            }
+            compareResult = result.match();
+        }
+        store.record(fileName.replaceAll("\\.png$", "") + "_expect.png", expectKey);
+        ctx.getListener().addExpectScreenshot(store.relativize(expectBlob));
+        return compareResult;
+    }
+
+    protected void store(final TestRun ctx, final ImageStore store, final String fileName, final String key, final BufferedImage image, final TileIndex index) {
+        ctx.getListener().addScreenshot(store.relativize(store.blob(key)));
+        store.put(key, image)
+                .thenAccept(blob -> {
+                    try {
+                        store.record(fileName, key);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (index != null && !TileIndex.indexOf(blob).exists()) {
+                        this.writeIndex(ctx, index, blob);
+                    }
+                })
+                .whenComplete((saved, e) -> {
+                    if (e != null) {
+                        ctx.log().error("save image file failed cause:", e);
+                    }
+                });
+    }
+
+    protected boolean hasExpect(final TestRun ctx) {
+        return ctx.containsKey("expect") && !ctx.string("expect").isBlank();
+    }
+
+    protected BufferedImage takeActualScreenShot(final TestRun ctx) {
+        final BufferedImage actual = this.takeScreenShot(ctx);
+        if (!ctx.containsKey("strict") || !ctx.getBoolean("strict")) {
+            return this.takeStableScreenShot(ctx, actual);
+        }
+        return actual;
+    }
+
     protected BufferedImage takeScreenShot(final TestRun ctx) {
         final BufferedImage actual;
         if (ctx.containsKey("scroll") && !ctx.getBoolean("scroll")) {
@@ -126,35 +205,165 @@ public class SaveScreenshot extends AbstractStepType implements LocatorHolder {
             } else {
                 actual = ctx.getScreenshot();
             }
+        } else if (Context.getFullPageCapture() == FullPageCapture.CDP && !ctx.hasLocator()) {
+            actual = FullPageCapture.captureByCdp(ctx).orElseGet(() -> this.printPage(ctx));
         } else {
-            final Page target = new Page(ctx, new LocatorInnerScrollElementHandler());
-            actual = target.printImage(new VerticalPrinter(), 0);
+            actual = this.printPage(ctx);
         }
         return actual;
     }
 
-    protected boolean compare(final File file, final BufferedImage actual, final BufferedImage expect, final TestRun ctx) throws IOException {
-        final ImageComparisonResult result = this.getComparisonResult(actual, expect, ctx);
-        if (result.getRectangles() != null) {
-            final StringBuilder sb = new StringBuilder();
-            result.getRectangles()
-                    .forEach(it -> sb.append(String.format("[%s,%s,%s,%s]"
-                            , it.getMinPoint().getX(), it.getMinPoint().getY()
-                            , it.getMaxPoint().getX(), it.getMaxPoint().getY())));
-            ctx.getListener().info("diff rectangle:" + sb);
+    /**
+     * Takes screenshots until two in a row match, within the attempts and time of Context.
+     * Fingerprints decide the pairs that are identical or surely different, and the rest get a full comparison.
+     */
+    protected BufferedImage takeStableScreenShot(final TestRun ctx, final BufferedImage first) {
+        final long limit = System.currentTimeMillis() + Context.getScreenshotStableMaxMs();
+        BufferedImage actual = first;
+        ScreenshotFingerprint actualFingerprint = ScreenshotFingerprint.of(actual);
+        int frames = 1;
+        while (true) {
+            final BufferedImage check = this.takeScreenShot(ctx);
+            final ScreenshotFingerprint checkFingerprint = ScreenshotFingerprint.of(check);
+            frames++;
+            if (this.isStable(actual, actualFingerprint, check, checkFingerprint, ctx)) {
+                ctx.getListener().info("screenshot settled after " + frames + " frames");
+                return actual;
+            }
+            if (frames >= Context.getScreenshotStableMaxAttempts() || System.currentTimeMillis() >= limit) {
+                ctx.getListener().info("screenshot not settled after " + frames + " frames");
+                return check;
+            }
+            actual = check;
+            actualFingerprint = checkFingerprint;
+        }
+    }
+
+    protected boolean isStable(final BufferedImage actual
+            , final ScreenshotFingerprint actualFingerprint
+            , final BufferedImage check
+            , final ScreenshotFingerprint checkFingerprint
+            , final TestRun ctx) {
+        if (actualFingerprint.isSameAs(checkFingerprint)) {
+            return true;
+        }
+        final List<Rectangle> exclude = this.getExcludeAreas(ctx);
+        if (this.getAllowingPercentOfDifferentPixels(ctx) == 0.0
+                && actualFingerprint.hasDifferentPixel(checkFingerprint, this.getPixelToleranceLevel(ctx), exclude)) {
+            return false;
         }
-        ImageIO.write(result.getResult(), "PNG", file);
-        return result.getImageComparisonState() == ImageComparisonState.MATCH;
+        return this.getComparisonResult(actual, check, ctx, exclude).match();
+    }
+
+    protected BufferedImage printPage(final TestRun ctx) {
+        final Page target = new Page(ctx, new LocatorInnerScrollElementHandler());
+        return target.printImage(new VerticalPrinter(), 0);
     }
 
-    protected ImageComparisonResult getComparisonResult(final BufferedImage actual, final BufferedImage expect, final TestRun ctx) {
-        BufferedImage expectResize = expect;
-        if (this.isSizeMissMatch(actual, expect)) {
-            expectResize = ImageComparisonUtil.resize(expect, actual.getWidth(), actual.getHeight());
+    protected boolean compare(final File file, final BufferedImage actual, final File expectFile, final TestRun ctx) throws IOException {
+        final TileIndex actualIndex = TileIndex.of(actual);
+        final ImageComparator.Result result = this.getComparisonResult(actual, actualIndex, expectFile, null, ctx);
+        if (result.match()) {
+            this.save(ctx, actual, actualIndex, file);
+            return true;
         }
+        this.logDiff(ctx, result);
+        this.save(ctx, result.diffImage(), file);
+        return false;
+    }
+
+    protected void logDiff(final TestRun ctx, final ImageComparator.Result result) {
+        final StringBuilder sb = new StringBuilder();
+        result.rectangles()
+                .forEach(it -> sb.append(String.format("[%s,%s,%s,%s]"
+                        , it.getMinPoint().getX(), it.getMinPoint().getY()
+                        , it.getMaxPoint().getX(), it.getMaxPoint().getY())));
+        ctx.getListener().info("diff rectangle:" + sb);
+    }
+
+    protected void save(final TestRun ctx, final BufferedImage image, final File file) {
+        Context.getImageSink()
+                .write(image, file)
+                .whenComplete((saved, e) -> {
+                    if (e != null) {
+                        ctx.log().error("save image file failed cause:", e);
+                    }
+                });
+    }
+
+    /**
+     * Saves the image with its tile index alongside, so that the file can serve as a baseline.
+     */
+    protected void save(final TestRun ctx, final BufferedImage image, final TileIndex index, final File file) {
+        Context.getImageSink()
+                .write(image, file)
+                .thenAccept(saved -> this.writeIndex(ctx, index, saved))
+                .whenComplete((saved, e) -> {
+                    if (e != null) {
+                        ctx.log().error("save image file failed cause:", e);
+                    }
+                });
+    }
+
+    protected void writeIndex(final TestRun ctx, final TileIndex index, final File png) {
+        try {
+            index.write(png);
+        } catch (final IOException e) {
+            ctx.log().warn("tile index of " + png + " not written cause:" + e);
+        }
+    }
+
+    /**
+     * Compares only the tiles whose hashes differ from the index stored alongside the baseline, and decodes the
+     * baseline only when there are some. A baseline without an index gets one for the next comparison.
+     *
+     * @param decoded The baseline image, or null if it has not been read yet.
+     */
+    protected ImageComparator.Result getComparisonResult(final BufferedImage actual
+            , final TileIndex actualIndex
+            , final File expectFile
+            , final BufferedImage decoded
+            , final TestRun ctx) throws IOException {
+        BufferedImage expect = decoded;
+        final TileIndex expectIndex;
+        final Optional<TileIndex> stored = TileIndex.read(expectFile);
+        if (stored.isPresent()) {
+            expectIndex = stored.get();
+        } else {
+            if (expect == null) {
+                expect = DiskRaster.read(expectFile);
+            }
+            expectIndex = TileIndex.of(expect);
+            this.writeIndex(ctx, expectIndex, expectFile);
+        }
+        final List<java.awt.Rectangle> tiles = actualIndex.getDifferentTiles(expectIndex);
+        if (tiles.isEmpty()) {
+            return new ImageComparator.Result(true, 0, List.of(), null);
+        }
+        if (expect == null) {
+            expect = DiskRaster.read(expectFile);
+        }
+        return this.getImageComparator(ctx, this.getExcludeAreas(ctx)).compare(expect, actual, tiles);
+    }
+
+    protected ImageComparator.Result getComparisonResult(final BufferedImage actual, final BufferedImage expect, final TestRun ctx) {
+        return this.getComparisonResult(actual, expect, ctx, this.getExcludeAreas(ctx));
+    }
+
+    protected ImageComparator.Result getComparisonResult(final BufferedImage actual, final BufferedImage expect, final TestRun ctx, final List<Rectangle> exclude) {
+        return this.getImageComparator(ctx, exclude).compare(expect, actual);
+    }
+
+    protected ImageComparator getImageComparator(final TestRun ctx, final List<Rectangle> exclude) {
+        return new ImageComparator.Builder()
+                .setExcludedAreas(exclude)
+                .setPixelToleranceLevel(this.getPixelToleranceLevel(ctx))
+                .setAllowingPercentOfDifferentPixels(this.getAllowingPercentOfDifferentPixels(ctx))
+                .build();
+    }
+
+    protected List<Rectangle> getExcludeAreas(final TestRun ctx) {
         final List<Rectangle> exclude = Lists.newArrayList();
-        double pixelToleranceLevel = 0.1;
-        double allowingPercentOfDifferentPixels = 0.0;
         if (ctx.containsKey("imageAreaExclude")) {
             exclude.addAll(new ImageArea(ctx.string("imageAreaExclude")).getRectangles());
         }
@@ -164,22 +373,21 @@ public class SaveScreenshot extends AbstractStepType implements LocatorHolder {
                     .forEach(it -> exclude.add(new Rectangle(it.getLocation().getX(), it.getLocation().getY()
                             , it.getLocation().getX() + it.getSize().getWidth(), it.getLocation().getY() + it.getSize().getHeight())));
         }
+        return exclude;
+    }
+
+    protected double getPixelToleranceLevel(final TestRun ctx) {
         if (ctx.containsKey("pixelToleranceLevel")) {
-            pixelToleranceLevel = Double.parseDouble(ctx.string("pixelToleranceLevel"));
-        }
-        if (ctx.containsKey("allowingPercentOfDifferentPixels")) {
-            allowingPercentOfDifferentPixels = Double.parseDouble(ctx.string("allowingPercentOfDifferentPixels"));
+            return Double.parseDouble(ctx.string("pixelToleranceLevel"));
         }
-        return new ImageComparison(expectResize, actual)
-                .setExcludedAreas(exclude)
-                .setPixelToleranceLevel(pixelToleranceLevel)
-                .setAllowingPercentOfDifferentPixels(allowingPercentOfDifferentPixels)
-                .setDrawExcludedRectangles(true)
-                .compareImages();
+        return 0.1;
     }
 
-    protected boolean isSizeMissMatch(final BufferedImage actual, final BufferedImage expect) {
-        return actual.getHeight() != expect.getHeight() || actual.getWidth() != expect.getWidth();
+    protected double getAllowingPercentOfDifferentPixels(final TestRun ctx) {
+        if (ctx.containsKey("allowingPercentOfDifferentPixels")) {
+            return Double.parseDouble(ctx.string("allowingPercentOfDifferentPixels"));
+        }
+        return 0.0;
     }
 
 }
@@ -0,0 +1,149 @@
+package com.sebuilder.interpreter;
+
+import com.sebuilder.interpreter.report.JunitTestRunListener;
+import com.sebuilder.interpreter.step.AbstractStepType;
+import com.sebuilder.interpreter.step.Retry;
+import com.sebuilder.interpreter.step.getter.Title;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs steps on a traced driver and reads the command counts back from the JUnit report.
+ */
+public class CommandTraceReportTest {
+
+    private static final SessionId SESSION_ID = new SessionId("session");
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private final CommandTrace trace = new CommandTrace(command -> {
+        final Response result = new Response(SESSION_ID);
+        result.setValue("value");
+        return result;
+    });
+    private final Logger log = mock(Logger.class);
+    private RemoteWebDriver driver;
+    private JunitTestRunListener listener;
+    private File resultDir;
+
+    @Before
+    public void setUp() throws IOException {
+        Context.getInstance()
+                .setBrowser("Chrome")
+                .setDataSourceDirectory(this.folder.getRoot().getAbsolutePath())
+                .setDataSourceEncoding("UTF-8")
+                .setAspect(new Aspect())
+                .setReportPrefix(Context.ReportPrefix.NONE)
+                .setDownloadDirectory("download")
+                .setScreenShotOutputDirectory("screenshot")
+                .setTemplateOutputDirectory("template")
+                .setTraceCommands(true);
+        this.driver = mock(RemoteWebDriver.class);
+        when(this.driver.getCommandExecutor()).thenReturn(this.trace);
+        final Iterator<String> titles = List.of("loading", "loading", "done").iterator();
+        when(this.driver.getTitle()).thenAnswer(it -> {
+            send(this.trace, "getTitle");
+            return titles.next();
+        });
+        this.resultDir = this.folder.newFolder("result");
+        this.listener = new JunitTestRunListener(this.log);
+        this.listener.cleanResult(this.resultDir);
+    }
+
+    @After
+    public void tearDown() {
+        Context.getInstance().setTraceCommands(false);
+    }
+
+    @Test
+    public void reportEveryRetryAndKeepEnclosingStep() throws Exception {
+        final TestCase testCase = new TestCaseBuilder()
+                .setName("trace.json")
+                .addStep(new StepBuilder(new Retry(new Title())).put("title", "done").put("subStep", "1").build())
+                .addStep(new StepBuilder(new SendCommand("clickElement")).build())
+                .addStep(new StepBuilder(new SendCommand("getCurrentUrl")).build())
+                .build();
+        // the step of an outer run sharing the driver, e.g. the one an advice runs in
+        final int enclosing = this.trace.startStep(99, "advice");
+
+        assertTrue(new TestRunBuilder(testCase).createTestRun(this.log, this.driver, new InputData(), this.listener).finish());
+
+        assertEquals(99, this.trace.endStep(enclosing).orElseThrow().stepIndex());
+        final List<Element> testCases = this.testCases();
+        final List<Element> retries = testCases.stream()
+                .filter(it -> it.getAttribute("name").startsWith("retryTitle"))
+                .toList();
+        assertEquals(3, retries.size());
+        retries.forEach(it -> {
+            assertEquals("1", it.getAttribute("commands"));
+            assertEquals("getTitle", ((Element) it.getElementsByTagName("command").item(0)).getAttribute("name"));
+        });
+        final List<String> sent = testCases.stream()
+                .filter(it -> it.getAttribute("name").startsWith("SendCommand"))
+                .filter(it -> !it.getAttribute("commands").isEmpty())
+                .map(it -> it.getAttribute("commands") + ":" + ((Element) it.getElementsByTagName("command").item(0)).getAttribute("name"))
+                .toList();
+        assertEquals(List.of("1:clickElement", "1:clickElement", "1:getCurrentUrl"), sent);
+        testCases.stream()
+                .filter(it -> it.getAttribute("name").startsWith("End "))
+                .forEach(it -> assertEquals("", it.getAttribute("commands")));
+    }
+
+    private List<Element> testCases() throws Exception {
+        final File[] results = this.resultDir.listFiles((dir, name) -> name.startsWith("TEST-SeBuilder-") && name.endsWith("-result.xml"));
+        assertNotNull(results);
+        assertEquals(1, results.length);
+        final NodeList nodes = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(results[0])
+                .getElementsByTagName("testcase");
+        final List<Element> result = new ArrayList<>();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            result.add((Element) nodes.item(i));
+        }
+        return result;
+    }
+
+    private static void send(final CommandTrace trace, final String name) {
+        try {
+            trace.execute(new Command(SESSION_ID, name, Map.of()));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class SendCommand extends AbstractStepType {
+        private final String name;
+
+        SendCommand(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean run(final TestRun ctx) {
+            send(CommandTrace.of(ctx.driver()).orElseThrow(), this.name);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.sebuilder.interpreter;
+
+import org.junit.Test;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class CommandTraceTest {
+
+    private final SessionId sessionId = new SessionId("session");
+
+    private final CommandTrace target = new CommandTrace(command -> {
+        final Response result = new Response(this.sessionId);
+        result.setValue("value");
+        return result;
+    });
+
+    @Test
+    public void countCommandsPerStep() throws IOException {
+        final int depth = this.target.startStep(1, "clickElement");
+        this.execute("findElement", Map.of("using", "css selector", "value", ".row"));
+        this.execute("findElement", Map.of("using", "css selector", "value", ".row"));
+        this.execute("clickElement", Map.of("id", "1"));
+        final CommandTrace.StepTotal result = this.target.endStep(depth).orElseThrow();
+        assertEquals(1, result.stepIndex());
+        assertEquals("clickElement", result.stepType());
+        assertEquals(3, result.count());
+        assertEquals(2, result.commands().get("findElement").count());
+        assertEquals(1, result.commands().get("clickElement").count());
+        assertTrue(result.bytes() > "value".length() * 3);
+    }
+
+    @Test
+    public void attributeCommandsToNestedStep() throws IOException {
+        final int outerDepth = this.target.startStep(1, "clickElement");
+        this.execute("findElement", Map.of());
+        final int nestedDepth = this.target.startStep(1, "saveScreenshot");
+        this.execute("screenshot", Map.of());
+        final CommandTrace.StepTotal nested = this.target.endStep(nestedDepth).orElseThrow();
+        this.execute("clickElement", Map.of());
+        final CommandTrace.StepTotal outer = this.target.endStep(outerDepth).orElseThrow();
+        assertEquals(Map.of("screenshot", 1), nested.commands().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, it -> it.getValue().count())));
+        assertEquals(2, outer.count());
+        assertFalse(outer.commands().containsKey("screenshot"));
+    }
+
+    @Test
+    public void ignoreCommandsOutsideStep() throws IOException {
+        this.execute("getTitle", Map.of());
+        assertTrue(this.target.endStep(1).isEmpty());
+        assertTrue(this.target.endStep(0).isEmpty());
+    }
+
+    @Test
+    public void endStepOnceKeepEnclosingWindow() throws IOException {
+        final int outerDepth = this.target.startStep(1, "clickElement");
+        final int nestedDepth = this.target.startStep(2, "if");
+        this.execute("findElement", Map.of());
+        assertEquals(1, this.target.endStep(nestedDepth).orElseThrow().count());
+        assertTrue(this.target.endStep(nestedDepth).isEmpty());
+        this.execute("clickElement", Map.of());
+        final CommandTrace.StepTotal outer = this.target.endStep(outerDepth).orElseThrow();
+        assertEquals(1, outer.stepIndex());
+        assertEquals(Map.of("clickElement", 1), outer.commands().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, it -> it.getValue().count())));
+    }
+
+    @Test
+    public void endStepDropWindowsLeftOpen() throws IOException {
+        final int outerDepth = this.target.startStep(1, "clickElement");
+        this.target.startStep(2, "saveScreenshot");
+        this.execute("screenshot", Map.of());
+        final CommandTrace.StepTotal outer = this.target.endStep(outerDepth).orElseThrow();
+        assertEquals(1, outer.stepIndex());
+        assertEquals(0, outer.count());
+        assertTrue(this.target.endStep(1).isEmpty());
+    }
+
+    @Test
+    public void plusMergeCommands() throws IOException {
+        this.target.startStep(1, "retry");
+        this.execute("findElement", Map.of());
+        final CommandTrace.StepTotal first = this.target.endStep(1).orElseThrow();
+        this.target.startStep(1, "retry");
+        this.execute("findElement", Map.of());
+        this.execute("getTitle", Map.of());
+        final CommandTrace.StepTotal second = this.target.endStep(1).orElseThrow();
+        final CommandTrace.StepTotal result = first.plus(second);
+        assertEquals(3, result.count());
+        assertEquals(2, result.commands().get("findElement").count());
+        assertEquals(first.bytes() + second.bytes(), result.bytes());
+        assertEquals(first.remoteNanos() + second.remoteNanos(), result.remoteNanos());
+    }
+
+    private void execute(final String name, final Map<String, ?> parameters) throws IOException {
+        this.target.execute(new Command(this.sessionId, name, parameters));
+    }
+}
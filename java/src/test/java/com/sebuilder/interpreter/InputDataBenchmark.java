@@ -0,0 +1,79 @@
+package com.sebuilder.interpreter;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.Keys;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares InputData.bind with the substitution it replaced, which ran String.replace
+ * for every Keys constant, every variable and every environment property until nothing changed.
+ * Run with the test classpath: java com.sebuilder.interpreter.InputDataBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputDataBenchmark {
+
+    @Param({"10", "300"})
+    public int variables;
+
+    private InputData vars;
+
+    private String target;
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InputDataBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() {
+        this.vars = new InputData().add(IntStream.range(0, this.variables)
+                .boxed()
+                .collect(Collectors.toMap(i -> "var" + i, i -> "value" + i)))
+                .add("nested", "${var1}-${var2}");
+        Context.getInstance().setEnvironmentProperty(Map.of("host", "localhost"));
+        this.target = "https://${env.host}/${nested}/${var0}?q=!{ENTER}";
+    }
+
+    @Benchmark
+    public String bind() {
+        return this.vars.bind(this.target);
+    }
+
+    @Benchmark
+    public String legacyBind() {
+        return legacyBind(this.vars, this.target);
+    }
+
+    static String legacyBind(final InputData vars, final String s) {
+        String result = s;
+        for (final Keys k : Keys.values()) {
+            result = result.replace("!{" + k.name() + "}", k.toString());
+        }
+        for (final Map.Entry<String, String> v : vars.entrySet()) {
+            result = result.replace("${" + v.getKey() + "}", v.getValue());
+        }
+        if (!Objects.equals(s, result)) {
+            return legacyBind(vars, result);
+        }
+        result = Context.bindEnvironmentProperties(result);
+        if (!Objects.equals(s, result)) {
+            return legacyBind(vars, result);
+        }
+        return result;
+    }
+}
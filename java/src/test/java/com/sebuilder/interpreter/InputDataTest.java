@@ -1,6 +1,10 @@
 package com.sebuilder.interpreter;
 
 import org.junit.Test;
+import org.openqa.selenium.Keys;
+
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -32,6 +36,32 @@ public class InputDataTest {
         assertFalse(this.target.lastRow(false).isLastRow());
     }
 
+    @Test
+    public void addAndRemoveKeepInsertionOrder() {
+        final InputData changed = this.target.add("number", "2")
+                .add("added", "a")
+                .remove("aTrue")
+                .add("aTrue", "true")
+                .remove("added");
+        assertEquals(List.of("aFalse", "number", "var1", "empty", "nestedVar", "aTrue")
+                , changed.entrySet().stream().map(Map.Entry::getKey).toList());
+        assertEquals("2", changed.get("number"));
+        assertNull(changed.get("added"));
+        assertEquals("1", this.target.get("number"));
+        assertEquals(6, this.target.row().size());
+    }
+
+    @Test
+    public void stepIndexDoesNotChangeOrigin() {
+        InputData changed = this.target;
+        for (int i = 0; i < 100; i++) {
+            changed = changed.stepIndex(i);
+        }
+        assertEquals(99, changed.stepIndex());
+        assertNull(this.target.get("_stepIndex"));
+        assertEquals(this.target.add("_stepIndex", "99"), changed);
+    }
+
     @Test
     public void evaluateLiteralIsBooleanValueOf() {
         assertTrue(this.target.evaluate("true"));
@@ -63,6 +93,35 @@ public class InputDataTest {
         assertTrue(this.target.evaluate("${var1 == '${nestedVar}'}"));
     }
 
+    @Test
+    public void evaluateAssignmentDoesNotChangeRow() {
+        assertEquals("2", this.target.evaluateString("${number = 2}"));
+        assertEquals("1", this.target.get("number"));
+        assertTrue(this.target.evaluate("${number == 1}"));
+    }
+
+    @Test
+    public void bind() {
+        assertEquals("string", this.target.bind("${var1}"));
+        assertEquals("string-string", this.target.bind("${nestedVar}-${var1}"));
+        assertEquals("${undefined}string", this.target.bind("${undefined}${var1}"));
+        assertEquals(Keys.ENTER.toString() + "string", this.target.bind("!{ENTER}${var1}"));
+        assertEquals("!{UNDEFINED}", this.target.bind("!{UNDEFINED}"));
+        assertEquals("${var1 == 'string'}", this.target.bind("${var1 == '${nestedVar}'}"));
+        assertEquals("", this.target.bind(""));
+    }
+
+    @Test
+    public void bindEnvironmentProperties() {
+        Context.getInstance().setEnvironmentProperty(Map.of("bindTest", "${var1}"));
+        try {
+            assertEquals("string", this.target.bind("${env.bindTest}"));
+            assertEquals("override", this.target.add("env.bindTest", "override").bind("${env.bindTest}"));
+        } finally {
+            Context.getEnvironmentProperties().remove("bindTest");
+        }
+    }
+
     @Test
     public void evaluateString() {
         assertEquals("true && true", this.target.evaluateString("${aTrue == true} && ${aFalse == false}"));
@@ -0,0 +1,108 @@
+package com.sebuilder.interpreter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the remote calls needed to resolve a css selector that matches 50 hidden template nodes before the displayed one.
+ */
+public class LocatorTest {
+
+    private static final int HIDDEN = 50;
+    private final Locator target = new Locator("css selector", ".row");
+    private RemoteWebDriver driver;
+    private List<WebElement> elements;
+    private WebElement displayed;
+
+    @Before
+    public void setUp() {
+        this.driver = mock(RemoteWebDriver.class);
+        this.elements = new ArrayList<>(IntStream.range(0, HIDDEN)
+                .mapToObj(i -> mock(WebElement.class))
+                .toList());
+        this.displayed = mock(WebElement.class);
+        when(this.displayed.isDisplayed()).thenReturn(true);
+        this.elements.add(this.displayed);
+        when(this.driver.findElements(By.cssSelector(".row"))).thenReturn(this.elements);
+    }
+
+    @After
+    public void tearDown() {
+        Context.getInstance().setLocatorResolution(Map.of());
+    }
+
+    @Test
+    public void findElementsResolutionCallsIsDisplayedPerCandidate() {
+        Context.getInstance().setLocatorResolution(Map.of("", "findElements"));
+        assertSame(this.displayed, this.target.find(this.driver));
+        assertEquals(1 + HIDDEN + 1, this.roundTrips());
+    }
+
+    @Test
+    public void scriptResolutionIsSingleRoundTrip() {
+        Context.getInstance().setLocatorResolution(Map.of("", "script"));
+        when(this.driver.executeScript(anyString(), any())).thenReturn(this.displayed);
+        assertSame(this.displayed, this.target.find(this.driver));
+        assertEquals(1, this.roundTrips());
+    }
+
+    @Test
+    public void scriptResolutionFallsBackWhenNothingFound() {
+        Context.getInstance().setLocatorResolution(Map.of("", "script"));
+        assertSame(this.displayed, this.target.find(this.driver));
+        assertEquals(1 + 1 + HIDDEN + 1, this.roundTrips());
+    }
+
+    @Test
+    public void resolutionIsSelectablePerType() {
+        Context.getInstance().setLocatorResolution(Map.of("", "findElements", "xpath", "script"));
+        assertEquals(Locator.Resolution.FIND_ELEMENTS, Context.getLocatorResolution(Locator.Type.CSS_SELECTOR));
+        assertEquals(Locator.Resolution.SCRIPT, Context.getLocatorResolution(Locator.Type.XPATH));
+        Context.getInstance().setLocatorResolution(Map.of());
+        assertEquals(Locator.Resolution.FIND_ELEMENTS, Context.getLocatorResolution(Locator.Type.CSS_SELECTOR));
+        assertEquals(Locator.Resolution.FIND_ELEMENTS, Context.getLocatorResolution(Locator.Type.LINK_TEXT));
+    }
+
+    @Test
+    public void findElementsResolutionByDefault() {
+        assertSame(this.displayed, this.target.find(this.driver));
+        Mockito.verify(this.driver, Mockito.never()).executeScript(anyString(), any());
+    }
+
+    private int roundTrips() {
+        return Mockito.mockingDetails(this.driver).getInvocations().size()
+                + this.elements.stream()
+                .mapToInt(it -> Mockito.mockingDetails(it).getInvocations().size())
+                .sum();
+    }
+
+    @Test
+    public void resolutionFromNameWhateverTheDefaultLocale() {
+        final Locale defaultLocale = Locale.getDefault();
+        try {
+            // the Turkish upper case of "i" is a dotted capital I
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            assertEquals(Locator.Resolution.FIND_ELEMENTS, Locator.Resolution.fromName("findElements"));
+            assertEquals(Locator.Resolution.SCRIPT, Locator.Resolution.fromName("script"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
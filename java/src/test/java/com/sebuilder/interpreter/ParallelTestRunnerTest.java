@@ -0,0 +1,185 @@
+package com.sebuilder.interpreter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ParallelTestRunnerTest {
+
+    private final Set<String> executed = ConcurrentHashMap.newKeySet();
+    private final Set<String> executedBySerial = ConcurrentHashMap.newKeySet();
+    private final TestRunner serialRunner = (builder, data, listener) -> {
+        this.executedBySerial.add(data.rowNumber());
+        return TestRunner.STATUS.SUCCESS;
+    };
+    private TestRunListener listener;
+
+    @Before
+    public void setUp() {
+        this.listener = mock(TestRunListener.class);
+        when(this.listener.copy()).thenReturn(this.listener);
+    }
+
+    @Test
+    public void fanOutRowsToIsolatedRunner() {
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        final CountDownLatch bothRunning = new CountDownLatch(2);
+        final ParallelTestRunner target = new ParallelTestRunner(this.serialRunner, (builder, data, listener) -> {
+            threads.add(Thread.currentThread().getName());
+            bothRunning.countDown();
+            await(bothRunning);
+            this.executed.add(data.rowNumber());
+            return TestRunner.STATUS.SUCCESS;
+        }, 2);
+
+        assertTrue(target.executeAll(this.testCase(false), rows(5), this.listener));
+        assertEquals(Set.of("1", "2", "3", "4", "5"), this.executed);
+        assertEquals(2, threads.size());
+        assertTrue(this.executedBySerial.isEmpty());
+        verify(this.listener, times(5)).copy();
+    }
+
+    @Test
+    public void aggregateFailedRows() {
+        final ParallelTestRunner target = new ParallelTestRunner(this.serialRunner, (builder, data, listener) -> {
+            this.executed.add(data.rowNumber());
+            return data.rowNumber().equals("2") ? TestRunner.STATUS.FAILED : TestRunner.STATUS.SUCCESS;
+        }, 3);
+
+        assertFalse(target.executeAll(this.testCase(false), rows(4), this.listener));
+        assertEquals(Set.of("1", "2", "3", "4"), this.executed);
+    }
+
+    @Test
+    public void cancelPendingRowsWhenStopped() {
+        final CountDownLatch release = new CountDownLatch(1);
+        final ParallelTestRunner target = new ParallelTestRunner(this.serialRunner, (builder, data, listener) -> {
+            this.executed.add(data.rowNumber());
+            if (data.rowNumber().equals("1")) {
+                sleep(100);
+                new Thread(() -> {
+                    sleep(300);
+                    release.countDown();
+                }).start();
+                return TestRunner.STATUS.STOPPED;
+            }
+            await(release);
+            return TestRunner.STATUS.SUCCESS;
+        }, 2);
+
+        assertFalse(target.executeAll(this.testCase(false), rows(8), this.listener));
+        assertTrue(this.executed.containsAll(Set.of("1", "2")));
+        assertFalse(this.executed.contains("4"));
+        assertFalse(this.executed.contains("8"));
+    }
+
+    @Test
+    public void readRowsAtMostTwoPerWorkerAhead() {
+        final AtomicInteger read = new AtomicInteger();
+        final AtomicInteger finished = new AtomicInteger();
+        final AtomicInteger maxAhead = new AtomicInteger();
+        final AtomicInteger readWhileBlocked = new AtomicInteger();
+        final CountDownLatch bothRunning = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ParallelTestRunner target = new ParallelTestRunner(this.serialRunner, (builder, data, listener) -> {
+            bothRunning.countDown();
+            await(release);
+            this.executed.add(data.rowNumber());
+            finished.incrementAndGet();
+            return TestRunner.STATUS.SUCCESS;
+        }, 2);
+        final Thread caller = Thread.currentThread();
+        new Thread(() -> {
+            // the caller waits for the oldest result once the window is full
+            await(bothRunning);
+            while (caller.getState() != Thread.State.WAITING) {
+                sleep(10);
+            }
+            readWhileBlocked.set(read.get());
+            release.countDown();
+        }).start();
+
+        assertTrue(target.executeAll(this.testCase(false)
+                , rows(20).peek(it -> maxAhead.accumulateAndGet(read.incrementAndGet() - finished.get(), Math::max))
+                , this.listener));
+        // two rows running, two queued and the one read to decide whether to wait
+        assertEquals(5, readWhileBlocked.get());
+        assertTrue(maxAhead.get() <= 5);
+        assertEquals(20, this.executed.size());
+    }
+
+    @Test
+    public void shareListenerWithoutCopy() {
+        final TestRunListener shared = mock(TestRunListener.class, CALLS_REAL_METHODS);
+        final Set<TestRunListener> listeners = ConcurrentHashMap.newKeySet();
+        final ParallelTestRunner target = new ParallelTestRunner(this.serialRunner, (builder, data, listener) -> {
+            listeners.add(listener);
+            return TestRunner.STATUS.SUCCESS;
+        }, 2);
+
+        assertTrue(target.executeAll(this.testCase(false), rows(3), shared));
+        assertEquals(Set.of(shared), listeners);
+    }
+
+    @Test
+    public void copyDelegateOfWrapper() {
+        final TestRunListener copy = mock(TestRunListener.class);
+        when(this.listener.copy()).thenReturn(copy);
+        final TestRunListener wrapper = new TestRunListenerWrapper(this.listener);
+
+        final TestRunListener result = wrapper.copy();
+
+        assertNotSame(wrapper, result);
+        result.startTest("test");
+        verify(copy).startTest("test");
+        verify(this.listener, never()).startTest("test");
+    }
+
+    @Test
+    public void runSerialWhenStateIsShared() {
+        final ParallelTestRunner target = new ParallelTestRunner(this.serialRunner, (builder, data, listener) -> {
+            throw new AssertionError("isolated runner called");
+        }, 2);
+
+        assertTrue(target.executeAll(this.testCase(true), rows(3), this.listener));
+        assertTrue(target.executeAll(this.testCase(false), rows(1), this.listener));
+        assertEquals(Set.of("1", "2", "3"), this.executedBySerial);
+        verify(this.listener, never()).copy();
+    }
+
+    private TestCase testCase(final boolean shareState) {
+        return new TestCaseBuilder().isShareState(shareState).build();
+    }
+
+    private static Stream<InputData> rows(final int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new InputData(Map.of(InputData.ROW_NUMBER, String.valueOf(i)), i == count));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package com.sebuilder.interpreter;
 
+import com.sebuilder.interpreter.pointcut.SkipFilter;
+import com.sebuilder.interpreter.pointcut.StringParamFilter;
+import com.sebuilder.interpreter.pointcut.TypeFilter;
 import com.sebuilder.interpreter.step.type.SetElementSelected;
 import org.junit.Test;
 
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -33,4 +39,17 @@ public class PointcutTest {
         assertFalse(Pointcut.NONE.and(Pointcut.ANY).isHandle(null, new StepBuilder(new SetElementSelected()).build(), new InputData()));
         assertFalse(Pointcut.NONE.and(Pointcut.NONE).isHandle(null, new StepBuilder(new SetElementSelected()).build(), new InputData()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testJudgeFromStep() {
+        final Step step = new StepBuilder(new SetElementSelected()).build();
+        final Step skipByVar = new StepBuilder(new SetElementSelected()).skip("${skip}").build();
+        final Pointcut dynamic = new StringParamFilter("text", "${text}", "equals");
+        assertEquals(Optional.of(true), new TypeFilter("SetElementSelected").and(new SkipFilter(false)).isHandle(step));
+        assertEquals(Optional.of(false), new TypeFilter("ClickElement").and(dynamic).isHandle(step));
+        assertEquals(Optional.empty(), new TypeFilter("SetElementSelected").and(dynamic).isHandle(step));
+        assertEquals(Optional.of(true), new TypeFilter("SetElementSelected").or(dynamic).isHandle(step));
+        assertEquals(Optional.empty(), new TypeFilter("ClickElement").or(dynamic).isHandle(step));
+        assertEquals(Optional.empty(), new SkipFilter(false).isHandle(skipByVar));
+    }
+}
@@ -0,0 +1,83 @@
+package com.sebuilder.interpreter;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class ShardTest {
+
+    private final TestCase script = new TestCaseBuilder().setName("script.json").build();
+
+    private final List<InputData> rows = IntStream.rangeClosed(1, 20)
+            .mapToObj(i -> new InputData().add(InputData.ROW_NUMBER, String.valueOf(i)))
+            .toList();
+
+    @Test
+    public void parse() {
+        assertEquals(new Shard(2, 4), Shard.parse("2/4"));
+        assertEquals("2/4", Shard.parse("2/4").toString());
+        assertTrue(Shard.parse("1/1").isAll());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseIndexOverTotal() {
+        Shard.parse("5/4");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseNoTotal() {
+        Shard.parse("1");
+    }
+
+    @Test
+    public void selectIsPartition() {
+        final List<InputData> first = new Shard(1, 3).select(this.script, this.rows);
+        final List<InputData> second = new Shard(2, 3).select(this.script, this.rows);
+        final List<InputData> third = new Shard(3, 3).select(this.script, this.rows);
+        assertEquals(this.rows.size(), first.size() + second.size() + third.size());
+        first.forEach(it -> assertFalse(second.contains(it) || third.contains(it)));
+        second.forEach(it -> assertFalse(third.contains(it)));
+        assertEquals(first, new Shard(1, 3).select(this.script, this.rows));
+    }
+
+    @Test
+    public void selectShareStateAsOneUnit() {
+        final TestCase shareState = this.script.map(it -> it.isShareState(true));
+        final long selected = IntStream.rangeClosed(1, 3)
+                .filter(i -> !new Shard(i, 3).select(shareState, this.rows).isEmpty())
+                .count();
+        assertEquals(1, selected);
+    }
+
+    @Test
+    public void selectDelegateToChain() {
+        final TestCase suite = TestCaseBuilder.suite(null)
+                .isShareState(false)
+                .addChain(this.script)
+                .build();
+        IntStream.rangeClosed(1, 3)
+                .forEach(i -> assertEquals(this.rows, new Shard(i, 3).select(suite, this.rows)));
+    }
+
+    @Test
+    public void selectShareStateSuiteAsOneUnit() {
+        for (final boolean takeOverLastRun : new boolean[]{false, true}) {
+            final TestCase suite = TestCaseBuilder.suite(null)
+                    .addChain(this.script)
+                    .isChainTakeOverLastRun(takeOverLastRun)
+                    .build();
+            assertTrue(suite.shareState());
+            final long selected = IntStream.rangeClosed(1, 3)
+                    .filter(i -> {
+                        final Shard shard = new Shard(i, 3);
+                        assertFalse(shard.isDelegateToChain(suite));
+                        return !shard.select(suite, this.rows).isEmpty();
+                    })
+                    .count();
+            assertEquals(1, selected);
+        }
+    }
+}
@@ -9,6 +9,17 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @RunWith(Enclosed.class)
 public class TestCaseTest {
@@ -112,4 +123,44 @@ public class TestCaseTest {
             Assert.assertEquals(0, result.steps().size());
         }
     }
-}
\ No newline at end of file
+
+    public static class RunTest {
+
+        @Test
+        public void reportRowFailingMidStream() throws IOException {
+            final AtomicBoolean closed = new AtomicBoolean();
+            final DataSource dataSource = new DataSource() {
+                @Override
+                public List<InputData> getData(final Map<String, String> config, final File relativeTo, final InputData vars) {
+                    throw new AssertionError("rows read at once");
+                }
+
+                @Override
+                public Stream<InputData> stream(final Map<String, String> config, final File relativeTo, final InputData vars) {
+                    return IntStream.rangeClosed(1, 3)
+                            .mapToObj(i -> {
+                                if (i == 2) {
+                                    throw new UncheckedIOException(new IOException("row 2 unreadable"));
+                                }
+                                return new InputData(Map.of(InputData.ROW_NUMBER, String.valueOf(i)), i == 3);
+                            })
+                            .onClose(() -> closed.set(true));
+                }
+            };
+            final TestCase target = new TestCaseBuilder().setDataSource(dataSource, Map.of()).build();
+            final List<String> executed = new ArrayList<>();
+            final TestRunner runner = (builder, data, listener) -> {
+                executed.add(data.rowNumber());
+                return TestRunner.STATUS.SUCCESS;
+            };
+            final TestRunListener listener = Mockito.mock(TestRunListener.class);
+
+            final AssertionError result = Assert.assertThrows(AssertionError.class, () -> target.run(runner, listener));
+
+            Assert.assertEquals("row 2 unreadable", result.getCause().getMessage());
+            Assert.assertEquals(List.of("1"), executed);
+            Assert.assertTrue(closed.get());
+            Mockito.verify(listener).reportError(Mockito.eq(target.name()), Mockito.argThat(it -> it.getMessage().equals("row 2 unreadable")));
+        }
+    }
+}
@@ -23,6 +23,7 @@ import java.io.File;
 import java.net.URL;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import static org.junit.Assert.*;
@@ -2091,6 +2092,110 @@ public class TestRunTest {
         }
     }
 
+    public static class ParallelChainTest extends AbstractTestRunTest {
+
+        private final Map<String, RemoteWebDriver> driverByMember = new ConcurrentHashMap<>();
+        private WebDriverFactory factory;
+
+        @Before
+        public void setUp() throws Exception {
+            this.factory = Mockito.mock(WebDriverFactory.class);
+            Mockito.doAnswer(it -> Mockito.mock(RemoteWebDriver.class, Mockito.RETURNS_DEEP_STUBS)).when(this.factory).make(Mockito.anyMap());
+            Context.getInstance().setWebDriverFactory(this.factory).setParallel(2).setParallelChain(true);
+            Mockito.doReturn(this.listener).when(this.listener).copy();
+            Mockito.doReturn(true).when(this.listener).openTestSuite(Mockito.any(TestCase.class), Mockito.anyString(), Mockito.any(InputData.class));
+            this.step = Mockito.spy(new StepBuilder(new ClickElement()).name("name").build());
+            Mockito.doReturn(true).when(this.step).run(Mockito.any());
+            this.head = new TestCaseBuilder().addStep(this.step).build();
+        }
+
+        @After
+        public void tearDown() {
+            Context.getInstance().setParallel(1).setParallelChain(false);
+        }
+
+        @Test
+        public void runConcurrent_isolatedMembersGetOwnDriver() throws Exception {
+            this.chains = this.chains.append(this.member("chain1", true)).append(this.member("chain2", true));
+            this.resetTestRun();
+
+            assertTrue(this.target.finish());
+
+            final RemoteWebDriver chain1 = this.driverByMember.get("chain1");
+            final RemoteWebDriver chain2 = this.driverByMember.get("chain2");
+            assertNotSame(this.driver, chain1);
+            assertNotSame(this.driver, chain2);
+            assertNotSame(chain1, chain2);
+            Mockito.verify(chain1).quit();
+            Mockito.verify(chain2).quit();
+            Mockito.verify(this.driver, Mockito.never()).quit();
+            Mockito.verify(this.factory, Mockito.times(2)).make(Mockito.anyMap());
+        }
+
+        @Test
+        public void runConcurrent_dependentMemberKeepsParentDriver() throws Exception {
+            this.chains = this.chains.append(this.member("chain1", true))
+                    .append(this.member("nested", true).map(it -> it.isNestedChain(true)));
+            this.resetTestRun();
+
+            assertTrue(this.target.finish());
+
+            assertNotSame(this.driver, this.driverByMember.get("chain1"));
+            assertSame(this.driver, this.driverByMember.get("nested"));
+            Mockito.verify(this.driver, Mockito.never()).quit();
+            Mockito.verify(this.factory, Mockito.times(1)).make(Mockito.anyMap());
+        }
+
+        @Test
+        public void run_serialMembersKeepParentDriver() throws Exception {
+            Context.getInstance().setParallelChain(false);
+            this.chains = this.chains.append(this.member("chain1", true)).append(this.member("chain2", true));
+            this.resetTestRun();
+
+            assertTrue(this.target.finish());
+
+            assertSame(this.driver, this.driverByMember.get("chain1"));
+            assertSame(this.driver, this.driverByMember.get("chain2"));
+            Mockito.verify(this.driver, Mockito.never()).quit();
+            Mockito.verify(this.factory, Mockito.never()).make(Mockito.anyMap());
+        }
+
+        @Test
+        public void isolatedChainRunner_failedMemberReleasesOwnDriver() {
+            this.resetTestRun();
+            final TestRun.IsolatedChainRunner runner = new TestRun.IsolatedChainRunner(this.target, 3, Shard.ALL);
+
+            assertEquals(TestRunner.STATUS.FAILED, runner.execute(new TestRunBuilder(this.member("chain", false)), new InputData(), this.listener));
+
+            final RemoteWebDriver chain = this.driverByMember.get("chain");
+            assertNotSame(this.driver, chain);
+            Mockito.verify(chain).quit();
+            Mockito.verify(this.listener)
+                    .openTestSuite(Mockito.any(TestCase.class), Mockito.eq(ScriptFile.Type.TEST.getDefaultName() + "_3_chain"), Mockito.any(InputData.class));
+        }
+
+        @Test
+        public void isolatedChainRunner_stopped() throws Exception {
+            this.resetTestRun();
+            this.target.stop();
+            final TestRun.IsolatedChainRunner runner = new TestRun.IsolatedChainRunner(this.target, 0, Shard.ALL);
+
+            assertEquals(TestRunner.STATUS.STOPPED, runner.execute(new TestRunBuilder(this.member("chain", true)), new InputData(), this.listener));
+
+            assertTrue(this.driverByMember.isEmpty());
+            Mockito.verify(this.factory, Mockito.never()).make(Mockito.anyMap());
+        }
+
+        private TestCase member(final String name, final boolean success) {
+            final Step memberStep = Mockito.spy(new StepBuilder(new ClickElement()).name(name).build());
+            Mockito.doAnswer(it -> {
+                this.driverByMember.put(name, it.getArgument(0, TestRun.class).driver());
+                return success;
+            }).when(memberStep).run(Mockito.any());
+            return new TestCaseBuilder().setName(name).addStep(memberStep).build();
+        }
+    }
+
     public static class QuitTest extends AbstractTestRunTest {
         @Test
         public void quit() {
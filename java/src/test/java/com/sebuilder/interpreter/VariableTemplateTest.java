@@ -0,0 +1,35 @@
+package com.sebuilder.interpreter;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class VariableTemplateTest {
+
+    @Test
+    public void parsePlaceholders() {
+        final VariableTemplate result = VariableTemplate.of("${a == '${b}'}!{ENTER}");
+
+        assertTrue(result.hasPlaceholder());
+        assertEquals(List.of(new VariableTemplate.Literal("${a == '")
+                , new VariableTemplate.Variable("b", "${b}")
+                , new VariableTemplate.Literal("'}")
+                , new VariableTemplate.Key("ENTER", "!{ENTER}")), result.segments());
+    }
+
+    @Test
+    public void keepRecentlyUsedTemplates() {
+        final VariableTemplate recent = VariableTemplate.of("recent ${a}");
+        final VariableTemplate old = VariableTemplate.of("old ${a}");
+        for (int i = 0; i < VariableTemplate.CACHE_SIZE - 1; i++) {
+            assertSame(recent, VariableTemplate.of("recent ${a}"));
+            VariableTemplate.of("filler ${a} " + i);
+        }
+
+        assertSame(recent, VariableTemplate.of("recent ${a}"));
+        assertNotSame(old, VariableTemplate.of("old ${a}"));
+        assertEquals(old, VariableTemplate.of("old ${a}"));
+    }
+}
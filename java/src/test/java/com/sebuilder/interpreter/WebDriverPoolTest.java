@@ -0,0 +1,108 @@
+package com.sebuilder.interpreter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class WebDriverPoolTest {
+
+    private WebDriverFactory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        this.factory = mock(WebDriverFactory.class);
+        when(this.factory.targetBrowser()).thenReturn("Chrome");
+        when(this.factory.make(anyMap())).thenAnswer(it -> driver());
+    }
+
+    @After
+    public void tearDown() {
+        Context.getInstance().setBrowserVersion(null);
+    }
+
+    @Test
+    public void leaseNewDriverWhenDisabled() throws Exception {
+        final WebDriverPool target = new WebDriverPool();
+        final RemoteWebDriver first = target.lease(this.factory, Map.of());
+        target.release(first);
+
+        assertNotSame(first, target.lease(this.factory, Map.of()));
+        verify(first).quit();
+    }
+
+    @Test
+    public void reuseResetDriverUpToMaxReuse() throws Exception {
+        final WebDriverPool target = new WebDriverPool(2);
+        final RemoteWebDriver first = target.lease(this.factory, Map.of());
+        target.release(first);
+
+        verify(first.manage()).deleteAllCookies();
+        verify(first).get("about:blank");
+        verify(first, never()).quit();
+        assertSame(first, target.lease(this.factory, Map.of()));
+        target.release(first);
+
+        verify(first).quit();
+        assertNotSame(first, target.lease(this.factory, Map.of()));
+    }
+
+    @Test
+    public void quitDriverFailingResetOrHealthCheck() throws Exception {
+        final WebDriverPool target = new WebDriverPool(5);
+        final RemoteWebDriver unresettable = target.lease(this.factory, Map.of());
+        when(unresettable.getWindowHandles()).thenReturn(Set.of());
+        target.release(unresettable);
+        verify(unresettable).quit();
+
+        final RemoteWebDriver unhealthy = target.lease(this.factory, Map.of());
+        target.release(unhealthy);
+        when(unhealthy.getSessionId()).thenReturn(null);
+
+        assertNotSame(unhealthy, target.lease(this.factory, Map.of()));
+        verify(unhealthy).quit();
+    }
+
+    @Test
+    public void keyByConfigVersionAndBinary() throws Exception {
+        final WebDriverPool target = new WebDriverPool(5);
+        final RemoteWebDriver driver = target.lease(this.factory, Map.of("a", "1"));
+        target.release(driver);
+
+        assertNotSame(driver, target.lease(this.factory, Map.of("a", "2")));
+        Context.getInstance().setBrowserVersion("120");
+        assertNotSame(driver, target.lease(this.factory, Map.of("a", "1")));
+        Context.getInstance().setBrowserVersion(null);
+        when(this.factory.getBinaryPath()).thenReturn("/opt/chrome-beta");
+        assertNotSame(driver, target.lease(this.factory, Map.of("a", "1")));
+        when(this.factory.getBinaryPath()).thenReturn(null);
+        assertSame(driver, target.lease(this.factory, Map.of("a", "1")));
+    }
+
+    @Test
+    public void closeQuitsIdleDrivers() throws Exception {
+        final WebDriverPool target = new WebDriverPool(5);
+        final RemoteWebDriver driver = target.lease(this.factory, Map.of());
+        target.release(driver);
+
+        target.close();
+
+        verify(driver).quit();
+        assertNotSame(driver, target.lease(this.factory, Map.of()));
+    }
+
+    private static RemoteWebDriver driver() {
+        final RemoteWebDriver result = mock(RemoteWebDriver.class, RETURNS_DEEP_STUBS);
+        when(result.getSessionId()).thenReturn(new SessionId("session"));
+        when(result.getWindowHandle()).thenReturn("main");
+        when(result.getWindowHandles()).thenReturn(Set.of("main"));
+        return result;
+    }
+}
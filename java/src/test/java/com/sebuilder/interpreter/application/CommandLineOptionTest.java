@@ -1,16 +1,18 @@
 package com.sebuilder.interpreter.application;
 
 import com.sebuilder.interpreter.Context;
+import com.sebuilder.interpreter.Shard;
 import com.sebuilder.interpreter.report.ReportFormat;
+import com.sebuilder.interpreter.screenshot.FullPageCapture;
 import org.junit.Test;
 
 import java.io.File;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
+import static org.junit.Assert.*;
 
 public class CommandLineOptionTest {
 
@@ -23,6 +25,15 @@ public class CommandLineOptionTest {
                 CommandLineArgument.PAGE_LOAD_TIMEOUT.createArgument("5000"),
                 CommandLineArgument.WAIT_FOR_MAX_MS.createArgument("60000"),
                 CommandLineArgument.WAIT_FOR_INTERVAL_MS.createArgument("100"),
+                CommandLineArgument.WAIT_FOR_ADAPTIVE.createArgument("true"),
+                CommandLineArgument.WAIT_FOR_STATISTICS.createArgument("wait-statistics.json"),
+                CommandLineArgument.LOCATOR_RESOLUTION.createArgument("script"),
+                CommandLineArgument.LOCATOR_RESOLUTION_PREFIX.key() + "link_text=findElements",
+                CommandLineArgument.PARALLEL.createArgument("4"),
+                CommandLineArgument.PARALLEL_CHAIN.createArgument("true"),
+                CommandLineArgument.SHARD.createArgument("2/3"),
+                CommandLineArgument.TRACE_COMMANDS.createArgument("true"),
+                CommandLineArgument.DRIVER_POOL_MAX_REUSE.createArgument("10"),
                 CommandLineArgument.DRIVER.createArgument("Edge"),
                 CommandLineArgument.DRIVER_PATH.createArgument("C:/driver/chromedriver.exe"),
                 CommandLineArgument.DRIVER_CONFIG_PREFIX.key() + "experimental=extension",
@@ -35,6 +46,12 @@ public class CommandLineOptionTest {
                 CommandLineArgument.REPORT_PREFIX.createArgument("timestamp"),
                 CommandLineArgument.DOWNLOAD_OUTPUT.createArgument("file"),
                 CommandLineArgument.ASPECT.createArgument("test.json"),
+                CommandLineArgument.SCREENSHOT_FULL_PAGE.createArgument("cdp"),
+                CommandLineArgument.SCREENSHOT_STABLE_MAX_ATTEMPTS.createArgument("5"),
+                CommandLineArgument.SCREENSHOT_STABLE_MAX_MS.createArgument("10000"),
+                CommandLineArgument.SCREENSHOT_COMPRESSION_LEVEL.createArgument("1"),
+                CommandLineArgument.SCREENSHOT_STORE.createArgument("true"),
+                CommandLineArgument.SCREENSHOT_DISK_RASTER_MIN_HEIGHT.createArgument("20000"),
                 CommandLineArgument.ENVIRONMENT_PROPERTIES.createArgument("some_environment.properties"),
                 CommandLineArgument.ENVIRONMENT_PROPERTIES_PREFIX.key() + "locale=dn",
                 CommandLineArgument.LOCALE.createArgument("ja"),
@@ -46,6 +63,14 @@ public class CommandLineOptionTest {
         assertEquals(Long.valueOf(5000), this.target.getPageLoadTimeout());
         assertEquals(60000, this.target.getWaitForMaxMs());
         assertEquals(100, this.target.getWaitForIntervalMs());
+        assertTrue(this.target.isWaitForAdaptive());
+        assertEquals("wait-statistics.json", this.target.getWaitForStatistics());
+        assertEquals(Map.of("", "script", "link_text", "findElements"), this.target.getLocatorResolution());
+        assertEquals(4, this.target.getParallel());
+        assertTrue(this.target.isParallelChain());
+        assertEquals(new Shard(2, 3), this.target.getShard());
+        assertTrue(this.target.isTraceCommands());
+        assertEquals(10, this.target.getDriverPoolMaxReuse());
         assertEquals("Edge", this.target.getDriver());
         assertEquals("C:/driver/chromedriver.exe", this.target.getDriverPath());
         assertEquals("extension", this.target.getDriverConfig("experimental"));
@@ -58,6 +83,12 @@ public class CommandLineOptionTest {
         assertEquals(Context.ReportPrefix.TIMESTAMP, this.target.getJunitReportPrefix());
         assertEquals("file", this.target.getDownloadoutput());
         assertEquals("test.json", this.target.getAspectFile());
+        assertEquals(FullPageCapture.CDP, this.target.getFullPageCapture());
+        assertEquals(5, this.target.getScreenshotStableMaxAttempts());
+        assertEquals(10000, this.target.getScreenshotStableMaxMs());
+        assertEquals(1, this.target.getScreenshotCompressionLevel());
+        assertTrue(this.target.isScreenshotStore());
+        assertEquals(20000, this.target.getScreenshotDiskRasterMinHeight());
         assertEquals("some_environment.properties", this.target.getEnvironmentProperties());
         assertEquals("dn", this.target.getEnvVar("locale"));
         assertEquals(Locale.JAPANESE, this.target.getLocale());
@@ -153,6 +184,11 @@ public class CommandLineOptionTest {
         this.target.parse(new String[]{});
         assertEquals(Long.valueOf(-1), this.target.getImplicitlyWait());
         assertEquals(Long.valueOf(-1), this.target.getPageLoadTimeout());
+        assertEquals(1, this.target.getParallel());
+        assertFalse(this.target.isParallelChain());
+        assertEquals(Shard.ALL, this.target.getShard());
+        assertEquals(0, this.target.getDriverPoolMaxReuse());
+        assertEquals(FullPageCapture.SCROLL, this.target.getFullPageCapture());
         assertEquals("Chrome", this.target.getDriver());
         assertNull(this.target.getDriverPath());
         assertEquals(0, this.target.getDriverConfig().size());
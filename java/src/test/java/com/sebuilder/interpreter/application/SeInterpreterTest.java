@@ -0,0 +1,42 @@
+package com.sebuilder.interpreter.application;
+
+import com.sebuilder.interpreter.Context;
+import com.sebuilder.interpreter.TestRunListener;
+import org.apache.logging.log4j.Logger;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class SeInterpreterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        Context.getInstance().setWaitStatisticsFile(null);
+    }
+
+    @Test
+    public void aggregateResultWhenWaitStatisticsNotSaved() throws IOException {
+        // the parent of the statistics file is a file, so it can't be written
+        final File notDirectory = this.folder.newFile("notDirectory");
+        Context.getInstance().setWaitStatisticsFile(new File(notDirectory, "statistics.json").getAbsolutePath());
+        final SeInterpreter target = mock(SeInterpreter.class, CALLS_REAL_METHODS);
+        target.preSetUp();
+        target.log = mock(Logger.class);
+        target.testRunListener = mock(TestRunListener.class);
+
+        assertFalse(target.runScripts());
+
+        verify(target.testRunListener).aggregateResult();
+        verify(target.log).warn(eq("wait statistics not saved:"), any(AssertionError.class));
+    }
+}
@@ -0,0 +1,91 @@
+package com.sebuilder.interpreter.application;
+
+import com.sebuilder.interpreter.TestRunListener;
+import org.apache.logging.log4j.Logger;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ShardResultMergerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private final ShardResultMerger target = new ShardResultMerger(mock(Logger.class));
+    private TestRunListener listener;
+    private Path mergeTo;
+
+    @Before
+    public void setUp() throws IOException {
+        this.mergeTo = this.folder.newFolder("merged").toPath();
+        this.listener = mock(TestRunListener.class);
+        when(this.listener.getResultDir()).thenReturn(this.mergeTo.toFile());
+        when(this.listener.getReportFileName()).thenReturn("index.html");
+    }
+
+    @Test
+    public void copyShardRenameTestResults() throws IOException {
+        final Path shard1 = this.shard("shard1", "TEST-SeBuilder-script-result.xml", "first");
+        final Path shard2 = this.shard("shard2", "TEST-SeBuilder-script-result.xml", "second");
+
+        this.target.copyShard(shard1, this.listener, 1);
+        this.target.copyShard(shard2, this.listener, 2);
+
+        assertEquals("first", read(this.mergeTo.resolve("TEST-SeBuilder-script-result.xml")));
+        assertEquals("second", read(this.mergeTo.resolve("TEST-SeBuilder-2.script-result.xml")));
+    }
+
+    @Test
+    public void copyShardSkipAggregatedResultAndReport() throws IOException {
+        final Path shard1 = this.shard("shard1", "TEST-SeBuilder-result.xml", "aggregated");
+        write(shard1.resolve("index.html"), "report");
+
+        this.target.copyShard(shard1, this.listener, 1);
+
+        assertFalse(Files.exists(this.mergeTo.resolve("TEST-SeBuilder-result.xml")));
+        assertFalse(Files.exists(this.mergeTo.resolve("index.html")));
+    }
+
+    @Test
+    public void copyShardMergeSameFileOnce() throws IOException {
+        this.target.copyShard(this.shard("shard1", "screenshot/image.png", "same"), this.listener, 1);
+        this.target.copyShard(this.shard("shard2", "screenshot/image.png", "same"), this.listener, 2);
+
+        assertEquals("same", read(this.mergeTo.resolve("screenshot/image.png")));
+    }
+
+    @Test
+    public void copyShardFailOnCollision() throws IOException {
+        this.target.copyShard(this.shard("shard1", "screenshot/image.png", "first"), this.listener, 1);
+        try {
+            this.target.copyShard(this.shard("shard2", "screenshot/image.png", "second"), this.listener, 2);
+            fail("collision not detected");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage().startsWith("shard 2 collides with a merged file:"));
+        }
+        assertEquals("first", read(this.mergeTo.resolve("screenshot/image.png")));
+    }
+
+    private Path shard(final String name, final String file, final String content) throws IOException {
+        final Path result = this.folder.getRoot().toPath().resolve(name);
+        write(result.resolve(file), content);
+        return result;
+    }
+
+    private static void write(final Path file, final String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private static String read(final Path file) throws IOException {
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sebuilder.interpreter.datasource;
+
+import com.sebuilder.interpreter.Context;
+import com.sebuilder.interpreter.InputData;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class FileDataSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        Context.getInstance()
+                .setDataSourceDirectory(this.folder.getRoot().getAbsolutePath())
+                .setDataSourceEncoding("UTF-8");
+    }
+
+    @Test
+    public void streamCsvWithLastRow() throws IOException {
+        this.write("data.csv", "name,age\nfoo,1\nbar,2\n");
+
+        try (final Stream<InputData> rows = new Csv().stream(Map.of("path", "data.csv"), this.folder.getRoot(), new InputData())) {
+            final Iterator<InputData> iterator = rows.iterator();
+            final InputData first = iterator.next();
+            assertEquals("1", first.rowNumber());
+            assertEquals(Map.of("name", "foo", "age", "1"), first.input());
+            assertFalse(first.isLastRow());
+            final InputData second = iterator.next();
+            assertEquals("2", second.rowNumber());
+            assertTrue(second.isLastRow());
+            assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void getDataOfStream() throws IOException {
+        this.write("data.json", "[{\"name\":\"foo\"}, {\"name\":\"bar\"}]");
+        this.write("data.xml", "<testdata><test name=\"foo\"/><test name=\"bar\"/></testdata>");
+        this.write("empty.json", "[]");
+
+        for (final FileDataSource target : List.of(new Json(), new Xml())) {
+            final List<InputData> rows = target.getData(Map.of("path", "data." + target.name()), this.folder.getRoot(), new InputData());
+            assertEquals(2, rows.size());
+            assertEquals("foo", rows.get(0).get("name"));
+            assertFalse(rows.get(0).isLastRow());
+            assertEquals("2", rows.get(1).rowNumber());
+            assertTrue(rows.get(1).isLastRow());
+        }
+        assertTrue(new Json().getData(Map.of("path", "empty.json"), this.folder.getRoot(), new InputData()).isEmpty());
+    }
+
+    @Test
+    public void streamJsonWithTrailingComma() throws IOException {
+        this.write("data.json", "[{\"name\":\"foo\"}, {\"name\":\"bar\"} , ]");
+        this.write("broken.json", "[{\"name\":\"foo\"} {\"name\":\"bar\"}]");
+
+        final List<InputData> rows = new Json().getData(Map.of("path", "data.json"), this.folder.getRoot(), new InputData());
+        assertEquals(2, rows.size());
+        assertEquals("bar", rows.get(1).get("name"));
+        assertTrue(rows.get(1).isLastRow());
+        assertThrows(IOException.class, () -> new Json().getData(Map.of("path", "broken.json"), this.folder.getRoot(), new InputData()));
+    }
+
+    private void write(final String name, final String content) throws IOException {
+        Files.writeString(new File(this.folder.getRoot(), name).toPath(), content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,111 @@
+package com.sebuilder.interpreter.screenshot;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class DiskRasterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() {
+        DiskRaster.setMinHeight(100);
+        DiskRaster.setTempRoot(this.folder.getRoot().toPath());
+    }
+
+    @After
+    public void tearDown() {
+        DiskRaster.setMinHeight(0);
+        DiskRaster.setTempRoot(Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    @Test
+    public void createOnDiskFromMinHeight() {
+        assertFalse(DiskRaster.isOnDisk(DiskRaster.create(40, 99)));
+        assertTrue(DiskRaster.isOnDisk(DiskRaster.create(40, 100)));
+        DiskRaster.setMinHeight(0);
+        assertFalse(DiskRaster.isOnDisk(DiskRaster.create(40, 100)));
+    }
+
+    @Test
+    public void drawPartsAndReadRows() {
+        final BufferedImage canvas = DiskRaster.create(40, 300);
+        DiskRaster.draw(canvas, image(BufferedImage.TYPE_3BYTE_BGR, 40, 150, Color.RED), 0, 0);
+        DiskRaster.draw(canvas, image(BufferedImage.TYPE_INT_RGB, 50, 200, Color.BLUE), 10, 150);
+
+        assertEquals(Color.RED.getRGB(), canvas.getRGB(39, 149));
+        assertEquals(Color.BLACK.getRGB(), canvas.getRGB(9, 150));
+        assertEquals(Color.BLUE.getRGB(), canvas.getRGB(39, 299));
+        final int[] row = new int[40];
+        new Pixels(canvas).read(0, 200, 40, row);
+        assertEquals(0, row[9]);
+        assertEquals(Color.BLUE.getRGB() & 0xffffff, row[10]);
+        assertEquals(ImageStore.hash(DiskRaster.copyOf(canvas)), ImageStore.hash(canvas));
+    }
+
+    @Test
+    public void readPngOnDisk() throws IOException {
+        final BufferedImage image = image(BufferedImage.TYPE_INT_ARGB, 40, 300, Color.RED);
+        image.setRGB(5, 250, Color.GREEN.getRGB());
+        final File png = this.folder.newFile("tall.png");
+        ImageIO.write(image, "png", png);
+
+        final BufferedImage result = DiskRaster.read(png);
+
+        assertTrue(DiskRaster.isOnDisk(result));
+        assertEquals(ImageStore.hash(ImageIO.read(png)), ImageStore.hash(result));
+        assertEquals(Color.GREEN.getRGB(), result.getRGB(5, 250));
+    }
+
+    @Test
+    public void deleteFilesAndDirectoryOfRun() throws IOException {
+        final BufferedImage image = DiskRaster.create(40, 300);
+        final Path directory = DiskRaster.getDirectory();
+
+        assertTrue(DiskRaster.isOnDisk(image));
+        assertEquals(this.folder.getRoot().toPath().resolve("screenshot-raster-" + ProcessHandle.current().pid()), directory);
+        try (final Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        DiskRaster.deleteTemporaryFiles();
+        assertFalse(Files.exists(directory));
+        assertTrue(DiskRaster.isOnDisk(DiskRaster.create(40, 300)));
+        assertTrue(Files.isDirectory(directory));
+    }
+
+    @Test
+    public void deleteDirectoriesOfProcessesGone() throws IOException {
+        final File gone = this.folder.newFolder("screenshot-raster-" + Long.MAX_VALUE);
+        assertTrue(new File(gone, "screenshot-1.raster").createNewFile());
+        final File other = this.folder.newFolder("screenshot-raster-other");
+
+        DiskRaster.create(40, 300);
+
+        assertFalse(gone.exists());
+        assertTrue(other.exists());
+    }
+
+    private static BufferedImage image(final int type, final int width, final int height, final Color color) {
+        final BufferedImage result = new BufferedImage(width, height, type);
+        final Graphics2D graphics = result.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.WebDriverWrapper;
+import org.junit.Test;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class DomMetricsTest {
+
+    @Test
+    public void discoverCandidatesInOneScript() {
+        final WebDriverWrapper target = mock(WebDriverWrapper.class);
+        final List<WebElement> elements = List.of(mock(WebElement.class), mock(WebElement.class), mock(WebElement.class));
+        when(target.executeScript(anyString(), eq(elements), eq(true))).thenReturn(Map.of(
+                "document", document(false)
+                , "elements", List.of(element(2, "textarea", null))));
+
+        final DomMetrics result = DomMetrics.discover(target, elements);
+
+        verify(target, times(1)).executeScript(anyString(), eq(elements), eq(true));
+        assertEquals(1, result.elements().size());
+        assertEquals(2, result.element(0).index());
+        assertEquals("textarea", result.element(0).tagName());
+    }
+
+    @Test
+    public void surveyInOneScript() {
+        final WebDriverWrapper target = mock(WebDriverWrapper.class);
+        final List<WebElement> elements = List.of(mock(WebElement.class), mock(WebElement.class));
+        final Map<String, Object> frame = document(true);
+        when(target.executeScript(anyString(), eq(elements), eq(false))).thenReturn(Map.of(
+                "document", document(false)
+                , "elements", List.of(element(0, "div", null), element(1, "iframe", frame))));
+
+        final DomMetrics result = DomMetrics.survey(target, elements);
+
+        verify(target, times(1)).executeScript(anyString(), eq(elements), eq(false));
+        assertEquals(3000L, result.document().contentHeight());
+        assertEquals(3000L, result.document().fullHeight(600));
+        assertFalse(result.element(0).isIframe());
+        assertNull(result.element(0).frame());
+        assertEquals(110, ScrollableTag.getHeight(mock(TestRun.class), elements.get(0), result.element(0)).getPointY());
+        assertTrue(result.element(1).isIframe());
+        assertEquals(700L, result.element(1).frame().contentHeight());
+        assertEquals(600L, result.element(1).frame().fullHeight(600));
+    }
+
+    private static Map<String, Object> document(final boolean hidden) {
+        final Map<String, Object> result = new HashMap<>();
+        result.put("innerWidth", 1024L);
+        result.put("innerHeight", 800L);
+        result.put("clientWidth", 1000L);
+        result.put("clientHeight", 700L);
+        result.put("scrollWidth", 1000L);
+        result.put("scrollHeight", 3000L);
+        result.put("hiddenX", false);
+        result.put("hiddenY", hidden);
+        return result;
+    }
+
+    private static Map<String, Object> element(final long index, final String tagName, final Map<String, Object> frame) {
+        final Map<String, Object> result = new HashMap<>();
+        result.put("index", index);
+        result.put("tagName", tagName);
+        result.put("x", 10L);
+        result.put("y", 100L);
+        result.put("clientWidth", 300L);
+        result.put("clientHeight", 200L);
+        result.put("scrollWidth", 300L);
+        result.put("scrollHeight", 900L);
+        result.put("overflow", "auto");
+        result.put("overflowX", "auto");
+        result.put("overflowY", "auto");
+        result.put("paddingTop", 10L);
+        result.put("paddingBottom", 10L);
+        result.put("paddingLeft", 0L);
+        result.put("paddingRight", 0L);
+        result.put("borderTop", 2L);
+        result.put("borderLeft", 2L);
+        result.put("frame", frame);
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.sebuilder.interpreter.TestRun;
+import org.apache.logging.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class FullPageCaptureTest {
+
+    private TestRun ctx;
+    private RemoteWebDriver driver;
+
+    @Before
+    public void setUp() {
+        this.ctx = mock(TestRun.class);
+        this.driver = mock(RemoteWebDriver.class, withSettings().extraInterfaces(HasCdp.class));
+        when(this.ctx.driver()).thenReturn(this.driver);
+        when(this.ctx.log()).thenReturn(mock(Logger.class));
+    }
+
+    @Test
+    public void fromName() {
+        assertEquals(FullPageCapture.SCROLL, FullPageCapture.fromName("scroll"));
+        assertEquals(FullPageCapture.CDP, FullPageCapture.fromName("cdp"));
+    }
+
+    @Test
+    public void captureByCdpInOneCommand() throws IOException {
+        when(this.ctx.executeScript(anyString())).thenReturn(List.of(20L, 40L, 1.0));
+        when(((HasCdp) this.driver).executeCdpCommand(eq("Page.captureScreenshot"), anyMap())).thenReturn(Map.of("data", png(20, 40)));
+
+        final BufferedImage result = FullPageCapture.captureByCdp(this.ctx).orElseThrow();
+
+        assertEquals(20, result.getWidth());
+        assertEquals(40, result.getHeight());
+        verify((HasCdp) this.driver).executeCdpCommand("Page.captureScreenshot", Map.of(
+                "format", "png"
+                , "captureBeyondViewport", true
+                , "clip", Map.of("x", 0, "y", 0, "width", 20, "height", 40, "scale", 1)));
+    }
+
+    @Test
+    public void captureByCdpScaledByDevicePixelRatio() throws IOException {
+        when(this.ctx.executeScript(anyString())).thenReturn(List.of(10L, 20L, 2.0));
+        when(((HasCdp) this.driver).executeCdpCommand(eq("Page.captureScreenshot"), anyMap())).thenReturn(Map.of("data", png(20, 40)));
+
+        assertTrue(FullPageCapture.captureByCdp(this.ctx).isPresent());
+    }
+
+    @Test
+    public void captureByCdpEmptyWhenSizeDiffers() throws IOException {
+        when(this.ctx.executeScript(anyString())).thenReturn(List.of(20L, 4000L, 1.0));
+        when(((HasCdp) this.driver).executeCdpCommand(eq("Page.captureScreenshot"), anyMap())).thenReturn(Map.of("data", png(20, 40)));
+
+        assertTrue(FullPageCapture.captureByCdp(this.ctx).isEmpty());
+    }
+
+    @Test
+    public void captureByCdpEmptyWhenCommandFails() {
+        when(this.ctx.executeScript(anyString())).thenReturn(List.of(20L, 40L, 1.0));
+        when(((HasCdp) this.driver).executeCdpCommand(eq("Page.captureScreenshot"), anyMap())).thenThrow(new WebDriverException("unsupported"));
+
+        assertTrue(FullPageCapture.captureByCdp(this.ctx).isEmpty());
+        verify(this.ctx.log()).info(startsWith("capture by cdp failed"));
+    }
+
+    @Test
+    public void captureByCdpEmptyWithoutData() {
+        when(this.ctx.executeScript(anyString())).thenReturn(List.of(20L, 40L, 1.0));
+        when(((HasCdp) this.driver).executeCdpCommand(eq("Page.captureScreenshot"), anyMap())).thenReturn(Map.of());
+
+        assertTrue(FullPageCapture.captureByCdp(this.ctx).isEmpty());
+        verify(this.ctx.log()).info(startsWith("capture by cdp returned no data"));
+    }
+
+    @Test
+    public void captureByCdpEmptyWithoutCdp() {
+        when(this.ctx.driver()).thenReturn(mock(RemoteWebDriver.class));
+
+        assertTrue(FullPageCapture.captureByCdp(this.ctx).isEmpty());
+        verify(this.ctx, never()).executeScript(anyString());
+    }
+
+    private static String png(final int width, final int height) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+}
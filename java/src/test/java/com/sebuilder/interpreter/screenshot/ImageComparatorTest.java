@@ -0,0 +1,86 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.github.romankh3.image.comparison.model.Rectangle;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ImageComparatorTest {
+
+    @Test
+    public void matchWithoutDiffImage() {
+        final ImageComparator.Result result = new ImageComparator.Builder()
+                .build()
+                .compare(image(300, 200, BufferedImage.TYPE_3BYTE_BGR, null), image(300, 200, BufferedImage.TYPE_INT_RGB, null));
+        assertTrue(result.match());
+        assertEquals(0, result.differentPixels());
+        assertNull(result.diffImage());
+    }
+
+    @Test
+    public void groupDifferencesAcrossTiles() {
+        final ImageComparator.Result result = new ImageComparator.Builder()
+                .build()
+                .compare(image(300, 200, BufferedImage.TYPE_3BYTE_BGR, null)
+                        , image(300, 200, BufferedImage.TYPE_4BYTE_ABGR, new java.awt.Rectangle(120, 120, 20, 10)));
+        assertFalse(result.match());
+        assertEquals(200, result.differentPixels());
+        assertEquals(1, result.rectangles().size());
+        assertEquals(new Point(120, 120), result.rectangles().getFirst().getMinPoint());
+        assertEquals(new Point(139, 129), result.rectangles().getFirst().getMaxPoint());
+        assertNotNull(result.diffImage());
+    }
+
+    @Test
+    public void compareInRegionsOnly() {
+        final BufferedImage expect = image(300, 200, BufferedImage.TYPE_3BYTE_BGR, null);
+        final BufferedImage actual = image(300, 200, BufferedImage.TYPE_3BYTE_BGR, new java.awt.Rectangle(120, 120, 20, 10));
+        final ImageComparator target = new ImageComparator.Builder().build();
+        assertTrue(target.compare(expect, actual, List.of(new java.awt.Rectangle(0, 0, 100, 100))).match());
+        final ImageComparator.Result result = target.compare(expect, actual
+                , List.of(new java.awt.Rectangle(0, 0, 130, 200), new java.awt.Rectangle(130, 0, 170, 200)));
+        assertFalse(result.match());
+        assertEquals(200, result.differentPixels());
+        assertEquals(2, result.rectangles().size());
+        assertEquals(new Point(129, 129), result.rectangles().getFirst().getMaxPoint());
+        assertEquals(new Point(130, 120), result.rectangles().get(1).getMinPoint());
+    }
+
+    @Test
+    public void honorExcludedAreasAndAllowedPercent() {
+        final BufferedImage expect = image(300, 200, BufferedImage.TYPE_3BYTE_BGR, null);
+        final BufferedImage actual = image(300, 200, BufferedImage.TYPE_3BYTE_BGR, new java.awt.Rectangle(10, 10, 20, 10));
+        assertTrue(new ImageComparator.Builder()
+                .setExcludedAreas(List.of(new Rectangle(0, 0, 40, 40)))
+                .build()
+                .compare(expect, actual)
+                .match());
+        assertTrue(new ImageComparator.Builder()
+                .setAllowingPercentOfDifferentPixels(1.0)
+                .build()
+                .compare(expect, actual)
+                .match());
+        assertFalse(new ImageComparator.Builder()
+                .setAllowingPercentOfDifferentPixels(0.1)
+                .build()
+                .compare(expect, actual)
+                .match());
+    }
+
+    private static BufferedImage image(final int width, final int height, final int type, final java.awt.Rectangle black) {
+        final BufferedImage result = new BufferedImage(width, height, type);
+        final Graphics2D graphics = result.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        if (black != null) {
+            graphics.setColor(Color.BLACK);
+            graphics.fill(black);
+        }
+        graphics.dispose();
+        return result;
+    }
+}
@@ -0,0 +1,157 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.sebuilder.interpreter.Context;
+import com.sebuilder.interpreter.report.JunitTestRunListener;
+import org.apache.logging.log4j.Logger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ImageSinkTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private final BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Map<String, String> encodedBy = new ConcurrentHashMap<>();
+
+    @Test
+    public void drainWaitForPendingWrites() throws IOException {
+        final ImageSink target = this.blockingSink();
+        final List<File> files = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            files.add(this.folder.newFile(i + ".png"));
+            target.write(this.image, files.get(i));
+        }
+        new Thread(() -> {
+            sleep(200);
+            this.release.countDown();
+        }).start();
+
+        assertTrue(target.drain().isEmpty());
+
+        files.forEach(it -> assertTrue(this.encodedBy.containsKey(it.getName())));
+    }
+
+    @Test
+    public void drainReportFailedWrites() throws IOException {
+        final ImageSink target = new ImageSink() {
+            @Override
+            protected void encode(final BufferedImage image, final File file, final int level) throws IOException {
+                if (file.getName().startsWith("broken")) {
+                    throw new IOException("disk full");
+                }
+                super.encode(image, file, level);
+            }
+        };
+        final File broken = this.folder.newFile("broken.png");
+        target.write(this.image, this.folder.newFile("fine.png"));
+        target.write(this.image, broken);
+
+        final List<IOException> result = target.drain();
+
+        assertEquals(1, result.size());
+        assertEquals("image not written:" + broken, result.getFirst().getMessage());
+        assertEquals("disk full", result.getFirst().getCause().getMessage());
+        assertTrue(target.drain().isEmpty());
+    }
+
+    @Test
+    public void encodeOnCallerWhenQueueIsFull() throws Exception {
+        final ImageSink target = this.blockingSink();
+        // two workers and a queue of eight
+        for (int i = 0; i < 10; i++) {
+            target.write(this.image, this.folder.newFile(i + ".png"));
+        }
+        final CompletableFuture<File> overflow = target.write(this.image, this.folder.newFile("overflow.png"));
+
+        assertTrue(overflow.isDone());
+        assertEquals(Thread.currentThread().getName(), this.encodedBy.get("overflow.png"));
+        this.release.countDown();
+        assertTrue(target.drain().isEmpty());
+        assertEquals(11, this.encodedBy.size());
+        this.encodedBy.entrySet()
+                .stream()
+                .filter(it -> !it.getKey().equals("overflow.png"))
+                .forEach(it -> assertTrue(it.getValue().startsWith("image-sink-")));
+    }
+
+    @Test
+    public void aggregateResultReportFailedWrites() throws Exception {
+        Context.getInstance()
+                .setBrowser("Chrome")
+                .setDataSourceDirectory(this.folder.getRoot().getAbsolutePath())
+                .setDataSourceEncoding("UTF-8")
+                .setReportPrefix(Context.ReportPrefix.NONE)
+                .setDownloadDirectory("download")
+                .setScreenShotOutputDirectory("screenshot")
+                .setTemplateOutputDirectory("template");
+        final File resultDir = this.folder.newFolder("result");
+        final JunitTestRunListener listener = new JunitTestRunListener(mock(Logger.class));
+        listener.cleanResult(resultDir);
+        final File missing = new File(this.folder.getRoot(), "missing/broken.png");
+        Context.getImageSink().write(this.image, missing);
+
+        listener.aggregateResult();
+
+        final File[] results = resultDir.listFiles((dir, name) -> name.contains("imageSink"));
+        assertNotNull(results);
+        assertEquals(1, results.length);
+        final Element suite = DocumentBuilderFactory.newInstance()
+                .newDocumentBuilder()
+                .parse(results[0])
+                .getDocumentElement();
+        assertEquals("1", suite.getAttribute("errors"));
+        assertEquals("image not written:" + missing
+                , ((Element) suite.getElementsByTagName("testcase").item(0)).getAttribute("name"));
+    }
+
+    /**
+     * @return A sink whose workers wait for the release before they encode.
+     */
+    private ImageSink blockingSink() {
+        return new ImageSink() {
+            @Override
+            protected void encode(final BufferedImage image, final File file, final int level) throws IOException {
+                final String thread = Thread.currentThread().getName();
+                if (thread.startsWith("image-sink-")) {
+                    await(ImageSinkTest.this.release);
+                }
+                super.encode(image, file, level);
+                ImageSinkTest.this.encodedBy.put(file.getName(), thread);
+            }
+        };
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sebuilder.interpreter.screenshot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ImageStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void hashPixelsWhateverTheType() {
+        assertEquals(ImageStore.hash(image(BufferedImage.TYPE_3BYTE_BGR, Color.RED))
+                , ImageStore.hash(image(BufferedImage.TYPE_INT_RGB, Color.RED)));
+        assertNotEquals(ImageStore.hash(image(BufferedImage.TYPE_3BYTE_BGR, Color.RED))
+                , ImageStore.hash(image(BufferedImage.TYPE_3BYTE_BGR, Color.BLUE)));
+    }
+
+    @Test
+    public void encodeOnceAndResolveByManifest() throws IOException {
+        final AtomicInteger encoded = new AtomicInteger();
+        final ImageSink sink = new ImageSink() {
+            @Override
+            protected void encode(final BufferedImage image, final File file, final int level) throws IOException {
+                encoded.incrementAndGet();
+                super.encode(image, file, level);
+            }
+        };
+        final ImageStore target = new ImageStore(this.folder.getRoot(), sink);
+        final BufferedImage image = image(BufferedImage.TYPE_3BYTE_BGR, Color.RED);
+        final String key = ImageStore.hash(image);
+
+        final File blob = target.put(key, image).join();
+        assertEquals(blob, target.put(key, image(BufferedImage.TYPE_INT_RGB, Color.RED)).join());
+        assertEquals(1, encoded.get());
+        assertEquals("blobs/" + key.substring(0, 2) + "/" + key + ".png", target.relativize(blob));
+
+        target.record("run_top.png", key);
+        assertEquals(blob, target.resolve("run_top.png"));
+        assertEquals(new File(this.folder.getRoot(), "run_other.png"), target.resolve("run_other.png"));
+        assertEquals(blob, new ImageStore(this.folder.getRoot(), sink).resolve("run_top.png"));
+    }
+
+    @Test
+    public void ignoreManifestKeyWithoutBlob() throws IOException {
+        final ImageStore target = new ImageStore(this.folder.getRoot(), new ImageSink());
+        final BufferedImage image = image(BufferedImage.TYPE_3BYTE_BGR, Color.RED);
+        final String key = ImageStore.hash(image);
+        final File blob = target.put(key, image).join();
+        target.record("run_top.png", key);
+        assertEquals(Optional.of(key), target.keyOf("run_top.png"));
+
+        assertTrue(blob.delete());
+
+        assertEquals(Optional.empty(), target.keyOf("run_top.png"));
+        assertEquals(new File(this.folder.getRoot(), "run_top.png"), target.resolve("run_top.png"));
+        assertEquals(blob, target.put(key, image).join());
+        assertTrue(blob.exists());
+        assertEquals(Optional.of(key), target.keyOf("run_top.png"));
+    }
+
+    private static BufferedImage image(final int type, final Color color) {
+        final BufferedImage result = new BufferedImage(40, 30, type);
+        final Graphics2D graphics = result.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 40, 30);
+        graphics.dispose();
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sebuilder.interpreter.screenshot;
+
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class PendingImageTest {
+
+    @Test
+    public void sizeIsKnownBeforeDecoding() throws IOException {
+        final byte[] png = png(30, 20, Color.RED);
+        assertEquals(new Dimension(30, 20), PendingImage.sizeOf(png));
+        final PendingImage target = PendingImage.decode(png).getSubimage(0, 5, 30, 10);
+        assertEquals(30, target.getWidth());
+        assertEquals(10, target.getHeight());
+        assertEquals(10, target.get().getHeight());
+    }
+
+    @Test
+    public void drawPartsInOrder() throws IOException {
+        final PendingImage target = PendingImage.blank(10, 20)
+                .draw(PendingImage.decode(png(10, 20, Color.RED)), 0, 0)
+                .draw(PendingImage.decode(png(10, 10, Color.BLUE)), 0, 10);
+        final BufferedImage result = target.get();
+        assertEquals(Color.RED.getRGB(), result.getRGB(5, 5));
+        assertEquals(Color.BLUE.getRGB(), result.getRGB(5, 15));
+    }
+
+    private static byte[] png(final int width, final int height, final Color color) throws IOException {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", result);
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,52 @@
+package com.sebuilder.interpreter.screenshot;
+
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Adler32;
+
+import static org.junit.Assert.assertEquals;
+
+public class PngEncoderTest {
+
+    @Test
+    public void writeStripesAsOneImage() throws IOException {
+        final BufferedImage image = new BufferedImage(301, 517, BufferedImage.TYPE_3BYTE_BGR);
+        final Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.RED, 301, 517, Color.BLUE));
+        graphics.fillRect(0, 0, 301, 517);
+        graphics.setColor(Color.WHITE);
+        graphics.drawString("screenshot", 20, 300);
+        graphics.dispose();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PngEncoder(4).write(image, out);
+        final BufferedImage result = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(301, result.getWidth());
+        assertEquals(517, result.getHeight());
+        for (int y = 0; y < 517; y++) {
+            for (int x = 0; x < 301; x++) {
+                assertEquals(image.getRGB(x, y), result.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void combineAdler32() {
+        final byte[] data = new byte[200_000];
+        new Random(1).nextBytes(data);
+        final Adler32 whole = new Adler32();
+        whole.update(data);
+        final Adler32 first = new Adler32();
+        first.update(data, 0, 70_000);
+        final Adler32 second = new Adler32();
+        second.update(Arrays.copyOfRange(data, 70_000, data.length));
+        assertEquals(whole.getValue(), PngEncoder.combineAdler32(first.getValue(), second.getValue(), data.length - 70_000));
+    }
+}
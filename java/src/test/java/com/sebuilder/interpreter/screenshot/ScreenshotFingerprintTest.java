@@ -0,0 +1,52 @@
+package com.sebuilder.interpreter.screenshot;
+
+import com.github.romankh3.image.comparison.model.Rectangle;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScreenshotFingerprintTest {
+
+    @Test
+    public void sameImage() {
+        final ScreenshotFingerprint target = ScreenshotFingerprint.of(image(40, 40, Color.WHITE, null));
+        assertTrue(target.isSameAs(ScreenshotFingerprint.of(image(40, 40, Color.WHITE, null))));
+        assertFalse(target.isSameAs(ScreenshotFingerprint.of(image(40, 41, Color.WHITE, null))));
+    }
+
+    @Test
+    public void differentPixelBeyondTolerance() {
+        final ScreenshotFingerprint target = ScreenshotFingerprint.of(image(40, 40, Color.WHITE, null));
+        final ScreenshotFingerprint spinner = ScreenshotFingerprint.of(image(40, 40, Color.WHITE, new java.awt.Rectangle(20, 20, 8, 8)));
+        assertFalse(target.isSameAs(spinner));
+        assertTrue(target.hasDifferentPixel(spinner, 0.1, List.of()));
+        assertFalse(target.hasDifferentPixel(spinner, 0.1, List.of(new Rectangle(18, 18, 30, 30))));
+    }
+
+    @Test
+    public void undecidedWhenTheDifferenceIsSmall() {
+        final ScreenshotFingerprint target = ScreenshotFingerprint.of(image(40, 40, Color.WHITE, null));
+        final ScreenshotFingerprint dot = ScreenshotFingerprint.of(image(40, 40, Color.WHITE, new java.awt.Rectangle(5, 5, 1, 1)));
+        assertFalse(target.isSameAs(dot));
+        assertFalse(target.hasDifferentPixel(dot, 0.1, List.of()));
+        assertFalse(target.hasDifferentPixel(ScreenshotFingerprint.of(image(40, 30, Color.BLACK, null)), 0.1, List.of()));
+    }
+
+    private static BufferedImage image(final int width, final int height, final Color background, final java.awt.Rectangle black) {
+        final BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        final Graphics2D graphics = result.createGraphics();
+        graphics.setColor(background);
+        graphics.fillRect(0, 0, width, height);
+        if (black != null) {
+            graphics.setColor(Color.BLACK);
+            graphics.fill(black);
+        }
+        graphics.dispose();
+        return result;
+    }
+}
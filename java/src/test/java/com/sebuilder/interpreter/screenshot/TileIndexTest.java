@@ -0,0 +1,56 @@
+package com.sebuilder.interpreter.screenshot;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TileIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void differentTiles() {
+        final TileIndex expect = TileIndex.of(image(BufferedImage.TYPE_3BYTE_BGR, null));
+        assertTrue(TileIndex.of(image(BufferedImage.TYPE_INT_RGB, null)).getDifferentTiles(expect).isEmpty());
+        assertEquals(List.of(new Rectangle(256, 512, 44, 88))
+                , TileIndex.of(image(BufferedImage.TYPE_3BYTE_BGR, new Rectangle(290, 590, 1, 1))).getDifferentTiles(expect));
+        assertEquals(List.of(new Rectangle(0, 0, 300, 599))
+                , TileIndex.of(new BufferedImage(300, 599, BufferedImage.TYPE_3BYTE_BGR)).getDifferentTiles(expect));
+    }
+
+    @Test
+    public void readOnlyTheIndexOfTheSameBytes() throws IOException {
+        final File png = this.folder.newFile("top.png");
+        ImageIO.write(image(BufferedImage.TYPE_3BYTE_BGR, null), "png", png);
+        final TileIndex index = TileIndex.of(image(BufferedImage.TYPE_3BYTE_BGR, null));
+        index.write(png);
+        assertEquals(new File(this.folder.getRoot(), "top.tiles"), TileIndex.indexOf(png));
+        assertTrue(TileIndex.read(png).orElseThrow().getDifferentTiles(index).isEmpty());
+
+        ImageIO.write(image(BufferedImage.TYPE_3BYTE_BGR, new Rectangle(0, 0, 10, 10)), "png", png);
+        assertFalse(TileIndex.read(png).isPresent());
+    }
+
+    private static BufferedImage image(final int type, final Rectangle black) {
+        final BufferedImage result = new BufferedImage(300, 600, type);
+        final Graphics2D graphics = result.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, 300, 600);
+        if (black != null) {
+            graphics.setColor(Color.BLACK);
+            graphics.fill(black);
+        }
+        graphics.dispose();
+        return result;
+    }
+}
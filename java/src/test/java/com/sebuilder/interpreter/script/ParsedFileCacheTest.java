@@ -0,0 +1,83 @@
+package com.sebuilder.interpreter.script;
+
+import com.sebuilder.interpreter.Pointcut;
+import com.sebuilder.interpreter.pointcut.TypeFilter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class ParsedFileCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final PointcutLoader target = new PointcutLoader(new ImportLoader());
+
+    @Test
+    public void loadSameFileOnce() throws IOException {
+        final File pointcut = this.write("pointcut.json", "ClickElement");
+        final Optional<Pointcut> first = this.target.load(pointcut);
+        assertSame(first, this.target.load(pointcut));
+        assertEquals(Optional.of(new TypeFilter("ClickElement")), first);
+    }
+
+    @Test
+    public void reloadChangedFile() throws IOException {
+        final File pointcut = this.write("pointcut.json", "ClickElement");
+        final Optional<Pointcut> first = this.target.load(pointcut);
+        this.write("pointcut.json", "SetElementText");
+        final Optional<Pointcut> second = this.target.load(pointcut);
+        assertNotSame(first, second);
+        assertEquals(Optional.of(new TypeFilter("SetElementText")), second);
+    }
+
+    @Test
+    public void invalidateWhenDependencyChanged() throws IOException {
+        final File dependency = this.write("dependency.json", "ClickElement");
+        final File parent = this.folder.newFile("parent.json");
+        final Object first = ParsedFileCache.get("test", parent, it -> this.target.load(dependency));
+        assertSame(first, ParsedFileCache.get("test", parent, it -> this.target.load(dependency)));
+        this.write("dependency.json", "SetElementText");
+        assertEquals(Optional.of(new TypeFilter("SetElementText"))
+                , ParsedFileCache.get("test", parent, it -> this.target.load(dependency)));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws IOException {
+        final Map<String, Integer> loads = new HashMap<>();
+        final Function<File, String> loader = it -> {
+            loads.merge(it.getName(), 1, Integer::sum);
+            return it.getName();
+        };
+        final File recent = this.folder.newFile("recent.json");
+        final File old = this.folder.newFile("old.json");
+        ParsedFileCache.get("test", recent, loader);
+        ParsedFileCache.get("test", old, loader);
+        for (int i = 0; i < ParsedFileCache.CACHE_SIZE - 1; i++) {
+            ParsedFileCache.get("test", recent, loader);
+            ParsedFileCache.get("test", this.folder.newFile(i + ".json"), loader);
+        }
+
+        ParsedFileCache.get("test", recent, loader);
+        ParsedFileCache.get("test", old, loader);
+        assertEquals(Integer.valueOf(1), loads.get("recent.json"));
+        assertEquals(Integer.valueOf(2), loads.get("old.json"));
+    }
+
+    private File write(final String fileName, final String type) throws IOException {
+        final File result = new File(this.folder.getRoot(), fileName);
+        Files.writeString(result.toPath(), "{\"pointcut\":[{\"type\":\"" + type + "\"}]}", StandardCharsets.UTF_8);
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+package com.sebuilder.interpreter.step;
+
+import com.sebuilder.interpreter.TestRun;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BrowserWaitTest {
+
+    private final List<Long> timeouts = new CopyOnWriteArrayList<>();
+    private TestRun ctx;
+    private RemoteWebDriver driver;
+    private WebDriver.Timeouts driverTimeouts;
+    private Getter getter;
+
+    @Before
+    public void setUp() {
+        this.ctx = mock(TestRun.class, RETURNS_DEEP_STUBS);
+        this.driver = mock(RemoteWebDriver.class, RETURNS_DEEP_STUBS);
+        this.driverTimeouts = this.driver.manage().timeouts();
+        when(this.ctx.driver()).thenReturn(this.driver);
+        when(this.ctx.containsKey("maxWait")).thenReturn(true);
+        when(this.ctx.string("maxWait")).thenReturn("500");
+        when(this.ctx.containsKey("interval")).thenReturn(true);
+        when(this.ctx.string("interval")).thenReturn("50");
+        // the page waits as long as it is told to, and never matches
+        when(this.driver.executeAsyncScript(anyString(), any(), any(), any())).thenAnswer(it -> {
+            final long timeout = it.getArgument(3, Long.class);
+            this.timeouts.add(timeout);
+            Thread.sleep(timeout);
+            return false;
+        });
+        this.getter = mock(Getter.class);
+        when(this.getter.toBrowserExpression(this.ctx)).thenReturn(Optional.of("false"));
+    }
+
+    @Test
+    public void maxTimeoutLeavesMarginToScriptTimeout() {
+        when(this.driverTimeouts.getScriptTimeout()).thenReturn(Duration.ofSeconds(30));
+        assertEquals(29000, BrowserWait.maxTimeout(this.ctx));
+    }
+
+    @Test
+    public void maxTimeoutZeroForShortScriptTimeout() {
+        when(this.driverTimeouts.getScriptTimeout()).thenReturn(Duration.ofMillis(1000));
+        assertEquals(0, BrowserWait.maxTimeout(this.ctx));
+        when(this.driverTimeouts.getScriptTimeout()).thenReturn(Duration.ofMillis(1050));
+        assertEquals(0, BrowserWait.maxTimeout(this.ctx));
+        when(this.driverTimeouts.getScriptTimeout()).thenReturn(Duration.ofMillis(1000 + BrowserWait.MIN_TIMEOUT_MS));
+        assertEquals(BrowserWait.MIN_TIMEOUT_MS, BrowserWait.maxTimeout(this.ctx));
+    }
+
+    @Test
+    public void awaitRaiseTimeoutToMinimum() {
+        assertEquals(Optional.of(false), BrowserWait.await(this.ctx, "false", null, false, 0));
+        assertEquals(List.of(BrowserWait.MIN_TIMEOUT_MS), this.timeouts);
+    }
+
+    @Test
+    public void waitForReadScriptTimeoutOnce() {
+        when(this.driverTimeouts.getScriptTimeout()).thenReturn(Duration.ofSeconds(30));
+
+        assertFalse(new WaitFor(this.getter).run(this.ctx));
+
+        verify(this.driverTimeouts, times(1)).getScriptTimeout();
+        assertFalse(this.timeouts.isEmpty());
+        // every wait in the page takes at least the minimum, so 500ms can't take more than a few
+        assertTrue(this.timeouts.size() <= 500 / BrowserWait.MIN_TIMEOUT_MS + 1);
+        this.timeouts.forEach(it -> assertTrue(it >= BrowserWait.MIN_TIMEOUT_MS));
+    }
+
+    @Test
+    public void waitForPollWithShortScriptTimeout() {
+        when(this.driverTimeouts.getScriptTimeout()).thenReturn(Duration.ofMillis(1000));
+        final long start = System.currentTimeMillis();
+
+        assertFalse(new WaitFor(this.getter).run(this.ctx));
+
+        assertTrue(System.currentTimeMillis() - start >= 500);
+        verify(this.driverTimeouts, times(1)).getScriptTimeout();
+        assertTrue(this.timeouts.isEmpty());
+        verify(this.getter, atMost(500 / 50 + 3)).test(this.ctx);
+    }
+}
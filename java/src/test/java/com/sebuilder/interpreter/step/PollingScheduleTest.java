@@ -0,0 +1,47 @@
+package com.sebuilder.interpreter.step;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PollingScheduleTest {
+
+    @Test
+    public void fixedReturnsInterval() {
+        final PollingSchedule target = PollingSchedule.fixed(500);
+        assertEquals(500, target.nextDelay());
+        assertEquals(500, target.nextDelay());
+    }
+
+    @Test
+    public void adaptiveStartsWithTypicalAndBacksOffToInterval() {
+        final PollingSchedule target = PollingSchedule.adaptive(100, 500);
+        assertInRange(80, 120, target.nextDelay());
+        assertInRange(160, 240, target.nextDelay());
+        assertInRange(320, 480, target.nextDelay());
+        assertInRange(400, 500, target.nextDelay());
+        assertInRange(400, 500, target.nextDelay());
+    }
+
+    @Test
+    public void adaptiveKeepsFirstDelayInBounds() {
+        assertInRange(PollingSchedule.MIN_DELAY_MS, 60, PollingSchedule.adaptive(0, 500).nextDelay());
+        assertInRange(400, 500, PollingSchedule.adaptive(10000, 500).nextDelay());
+    }
+
+    @Test
+    public void statisticsConvergeToObservedTime() {
+        final WaitStatistics target = new WaitStatistics();
+        assertTrue(target.typicalMs("key").isEmpty());
+        target.record("key", 1000);
+        assertEquals(Long.valueOf(1000), target.typicalMs("key").orElseThrow());
+        for (int i = 0; i < 20; i++) {
+            target.record("key", 200);
+        }
+        assertInRange(200, 210, target.typicalMs("key").orElseThrow());
+    }
+
+    private static void assertInRange(final long min, final long max, final long actual) {
+        assertTrue(actual + " not in [" + min + ", " + max + "]", min <= actual && actual <= max);
+    }
+}
@@ -0,0 +1,88 @@
+package com.sebuilder.interpreter.step.getter;
+
+import com.sebuilder.interpreter.Context;
+import com.sebuilder.interpreter.Locator;
+import com.sebuilder.interpreter.Step;
+import com.sebuilder.interpreter.TestRun;
+import com.sebuilder.interpreter.TestRunListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ComplexConditionTest {
+
+    private final ComplexCondition target = ComplexCondition.builder()
+            .addCondition(new Title())
+            .addCondition(new ElementVisible())
+            .addCondition(new ElementEnable())
+            .build();
+    private TestRun ctx;
+    private RemoteWebDriver driver;
+    private WebElement element;
+
+    @Before
+    public void setUp() {
+        Context.getInstance().setLocatorResolution(Map.of("", "script"));
+        this.ctx = mock(TestRun.class);
+        this.driver = mock(RemoteWebDriver.class);
+        this.element = mock(WebElement.class);
+        when(this.element.isDisplayed()).thenReturn(true);
+        when(this.element.isEnabled()).thenReturn(true);
+        when(this.driver.getTitle()).thenReturn("top");
+        when(this.driver.findElements(By.cssSelector(".row"))).thenReturn(List.of(this.element));
+        when(this.ctx.driver()).thenReturn(this.driver);
+        when(this.ctx.currentStep()).thenReturn(new Step(this.target.toWaitFor()));
+        when(this.ctx.locator()).thenReturn(new Locator("css selector", ".row"));
+        when(this.ctx.string("title")).thenReturn("top");
+        when(this.ctx.getListener()).thenReturn(mock(TestRunListener.class));
+    }
+
+    @After
+    public void tearDown() {
+        Context.getInstance().setLocatorResolution(Map.of());
+    }
+
+    @Test
+    public void evaluateAllConditionsInOneScript() {
+        when(this.driver.executeScript(anyString())).thenReturn(List.of(List.of("top"), List.of("true"), List.of("true")));
+        assertEquals("true", this.target.get(this.ctx));
+        assertEquals(1, Mockito.mockingDetails(this.driver).getInvocations().size());
+        assertEquals(0, Mockito.mockingDetails(this.element).getInvocations().size());
+    }
+
+    @Test
+    public void compareBatchValueWithExpected() {
+        when(this.driver.executeScript(anyString())).thenReturn(List.of(List.of("other"), List.of("true"), List.of("true")));
+        assertEquals("false", this.target.get(this.ctx));
+        assertEquals(1, Mockito.mockingDetails(this.driver).getInvocations().size());
+    }
+
+    @Test
+    public void askGetterWhenPageCanNotDecide() {
+        when(this.driver.executeScript(anyString())).thenReturn(Arrays.asList(List.of("top"), null, List.of("true")));
+        assertEquals("true", this.target.get(this.ctx));
+        assertEquals(2, Mockito.mockingDetails(this.driver).getInvocations().size());
+        assertEquals(1, Mockito.mockingDetails(this.element).getInvocations().size());
+    }
+
+    @Test
+    public void askGettersWhenScriptFails() {
+        when(this.driver.executeScript(anyString())).thenThrow(new JavascriptException("failed"));
+        assertEquals("true", this.target.get(this.ctx));
+        assertEquals(1 + 1 + 2, Mockito.mockingDetails(this.driver).getInvocations().size());
+    }
+}